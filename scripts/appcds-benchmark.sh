@@ -0,0 +1,25 @@
+#!/usr/bin/env bash
+#
+# Compares the startup of the JVM image without and with the AppCDS archive (see appcds-training.sh):
+# the median time until the first successful request and the RSS of the JVM.
+# The database must be running, the containers use the network of the host.
+#
+# Usage: scripts/appcds-benchmark.sh [image] [runs]
+#
+set -euo pipefail
+
+image="${1:-quarkus/nobel-jvm}"
+runs="${2:-5}"
+directory="$(dirname "$0")"
+container="nobel-appcds-benchmark"
+
+environment=()
+for variable in $(compgen -e | grep -E '^(QUARKUS|NOBEL)_' || true); do
+  environment+=(-e "${variable}")
+done
+
+for tag in "${image}" "${image}-appcds"; do
+  docker rm --force "${container}" > /dev/null 2>&1 || true
+  "${directory}/startup-benchmark.sh" -n "${runs}" -l "${tag}" -c "${container}" -- \
+    docker run --rm --name "${container}" --network host "${environment[@]}" "${tag}"
+done
@@ -0,0 +1,83 @@
+#!/usr/bin/env bash
+#
+# Creates an AppCDS archive with a training run of the JVM image and bakes it into a new image.
+# The training run starts the image, sends requests to the REST resources, GraphQL and the metrics
+# (so classes of Quarkus, jOOQ, Jackson and the resources are loaded), and stops the application:
+# at exit, the JVM archives all loaded classes (-XX:ArchiveClassesAtExit).
+# The archive is only used by the same JVM with the same class path, so the training runs in the image itself
+# and the new image (src/main/docker/Dockerfile.jvm-appcds) extends it.
+#
+# The database must be running, the container uses the network of the host.
+# Datasource settings can be supplied as environment variables, like QUARKUS_DATASOURCE_JDBC_URL.
+#
+# Usage: scripts/appcds-training.sh [image] [dockerfile]
+# Defaults: quarkus/nobel-jvm and src/main/docker/Dockerfile.jvm, use src/main/docker/Dockerfile.legacy-jar
+# for the legacy jar. The image with the archive is tagged <image>-appcds.
+#
+set -euo pipefail
+
+image="${1:-quarkus/nobel-jvm}"
+dockerfile="${2:-src/main/docker/Dockerfile.jvm}"
+container="nobel-appcds-training"
+url="http://localhost:8080"
+archive="/tmp/app-cds.jsa"
+
+docker build -f "${dockerfile}" -t "${image}" .
+
+environment=()
+for variable in $(compgen -e | grep -E '^(QUARKUS|NOBEL)_' || true); do
+  environment+=(-e "${variable}")
+done
+
+docker rm --force "${container}" > /dev/null 2>&1 || true
+docker run --detach --name "${container}" --network host "${environment[@]}" \
+  -e JAVA_OPTS_APPEND="-Dquarkus.http.host=0.0.0.0 -Djava.util.logging.manager=org.jboss.logmanager.LogManager \
+-XX:ArchiveClassesAtExit=${archive}" \
+  "${image}" > /dev/null
+trap 'docker rm --force "${container}" > /dev/null 2>&1 || true' EXIT
+
+until curl --silent --fail --output /dev/null "${url}/nobelprizecategories"; do
+  if [[ "$(docker inspect --format '{{.State.Running}}' "${container}")" != "true" ]]; then
+    docker logs "${container}" >&2
+    echo "Training run stopped" >&2
+    exit 1
+  fi
+  sleep 0.1
+done
+
+# Every request a few times, so lazily initialized paths (like caches and the error path) are loaded as well
+for round in 1 2 3; do
+  for path in \
+      "/nobelprizecategories" \
+      "/nobelprizecategories/P" \
+      "/nobelprizes" \
+      "/nobelprizes?expand=identifiers" \
+      "/persons" \
+      "/persons?limit=10&count=true&fields=name,birthDate" \
+      "/persons?yearOfBirthFrom=1900&yearOfBirthTo=1950&living=false" \
+      "/persons/batch?ids=unknown1,unknown2" \
+      "/persons/unknown-${round}" \
+      "/organizations" \
+      "/organizations?limit=10&count=true" \
+      "/organizations/unknown-${round}" \
+      "/countries" \
+      "/statistics/categories" \
+      "/statistics/countries" \
+      "/analytics/laureates?groupBy=category" \
+      "/export/persons" \
+      "/snapshot" \
+      "/q/metrics"; do
+    curl --silent --output /dev/null "${url}${path}" || true
+  done
+  curl --silent --output /dev/null --header "Content-Type: application/json" \
+    --data '{"query": "{ nobelPrizes { year } }"}' "${url}/graphql" || true
+done
+
+# A graceful stop, so the JVM exits normally and writes the archive
+docker stop --time 60 "${container}" > /dev/null
+mkdir -p target
+docker cp "${container}:${archive}" target/app-cds.jsa
+echo "Archive: target/app-cds.jsa ($(du -h target/app-cds.jsa | cut -f1))"
+
+docker build -f src/main/docker/Dockerfile.jvm-appcds --build-arg BASE_IMAGE="${image}" -t "${image}-appcds" .
+echo "Image with archive: ${image}-appcds"
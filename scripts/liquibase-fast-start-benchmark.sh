@@ -0,0 +1,32 @@
+#!/usr/bin/env bash
+#
+# Compares the startup of the JVM and native packages, with Liquibase always migrating at startup
+# and with nobel.liquibase.fast-start (Liquibase skipped when the schema is current).
+# Build the packages first: mvn package and mvn package -Dnative.
+# The database must be running and current, so every run measures a start without anything to migrate.
+#
+# Usage: scripts/liquibase-fast-start-benchmark.sh [runs]
+#
+set -euo pipefail
+
+runs="${1:-5}"
+directory="$(dirname "$0")"
+jar="target/quarkus-app/quarkus-run.jar"
+native="$(ls target/*-runner 2> /dev/null | head -n 1 || true)"
+
+liquibase="-Dquarkus.liquibase.migrate-at-start=true -Dnobel.liquibase.fast-start=false"
+fast_start="-Dquarkus.liquibase.migrate-at-start=false -Dnobel.liquibase.fast-start=true"
+
+# shellcheck disable=SC2086
+"${directory}/startup-benchmark.sh" -n "${runs}" -l "jvm, liquibase" -- java ${liquibase} -jar "${jar}"
+# shellcheck disable=SC2086
+"${directory}/startup-benchmark.sh" -n "${runs}" -l "jvm, fast-start" -- java ${fast_start} -jar "${jar}"
+
+if [[ -n "${native}" ]]; then
+  # shellcheck disable=SC2086
+  "${directory}/startup-benchmark.sh" -n "${runs}" -l "native, liquibase" -- "${native}" ${liquibase}
+  # shellcheck disable=SC2086
+  "${directory}/startup-benchmark.sh" -n "${runs}" -l "native, fast-start" -- "${native}" ${fast_start}
+else
+  echo "No native executable in target, skipping the native package"
+fi
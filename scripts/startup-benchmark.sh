@@ -0,0 +1,80 @@
+#!/usr/bin/env bash
+#
+# Measures the startup of the application: the time until the first successful request and the resident set size
+# (RSS) right after it.
+# The application is started, measured and stopped the supplied number of times, the median is reported.
+# When the command starts a container, supply its name (-c), so the RSS of the process in the container is measured.
+#
+# Usage: scripts/startup-benchmark.sh [-n runs] [-u url] [-l label] [-c container] -- command [arguments]
+# Example: scripts/startup-benchmark.sh -n 10 -l jvm -- java -jar target/quarkus-app/quarkus-run.jar
+# Example: scripts/startup-benchmark.sh -l image -c nobel -- docker run --rm --name nobel --network host quarkus/nobel-jvm
+#
+set -euo pipefail
+
+runs=5
+url="http://localhost:8080/nobelprizecategories"
+label="application"
+container=""
+usage="Usage: $0 [-n runs] [-u url] [-l label] [-c container] -- command [arguments]"
+
+while getopts "n:u:l:c:" option; do
+  case "${option}" in
+    n) runs="${OPTARG}" ;;
+    u) url="${OPTARG}" ;;
+    l) label="${OPTARG}" ;;
+    c) container="${OPTARG}" ;;
+    *) echo "${usage}" >&2; exit 1 ;;
+  esac
+done
+shift $((OPTIND - 1))
+[[ "${1:-}" == "--" ]] && shift
+if [[ $# -eq 0 ]]; then
+  echo "${usage}" >&2
+  exit 1
+fi
+
+# Resident set size in MB of the application
+resident_set_size() {
+  if [[ -n "${container}" ]]; then
+    docker exec "${container}" cat /proc/1/status | awk '/^VmRSS:/ { print int($2 / 1024) }'
+  else
+    echo $(($(ps -o rss= -p "$1") / 1024))
+  fi
+}
+
+stop() {
+  if [[ -n "${container}" ]]; then
+    docker rm --force "${container}" > /dev/null
+  fi
+  kill "$1" 2> /dev/null || true
+  wait "$1" 2> /dev/null || true
+}
+
+median() {
+  sort -n | awk '{ values[NR] = $1 } END { print (NR % 2) ? values[(NR + 1) / 2] : int((values[NR / 2] + values[NR / 2 + 1]) / 2) }'
+}
+
+times=()
+rss=()
+for ((run = 1; run <= runs; run++)); do
+  start=$(date +%s%N)
+  "$@" > "/tmp/startup-benchmark-${run}.log" 2>&1 &
+  pid=$!
+
+  until curl --silent --fail --output /dev/null "${url}"; do
+    if ! kill -0 "${pid}" 2> /dev/null; then
+      echo "Application stopped, see /tmp/startup-benchmark-${run}.log" >&2
+      exit 1
+    fi
+    sleep 0.01
+  done
+  end=$(date +%s%N)
+
+  times+=($(((end - start) / 1000000)))
+  rss+=($(resident_set_size "${pid}"))
+  stop "${pid}"
+  echo "${label} run ${run}: ${times[-1]} ms until first request, RSS ${rss[-1]} MB"
+done
+
+echo "${label}: median ${runs} runs: $(printf '%s\n' "${times[@]}" | median) ms until first request," \
+  "RSS $(printf '%s\n' "${rss[@]}" | median) MB"
@@ -0,0 +1,56 @@
+package com.schotanus.nobel.api;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.schotanus.nobel.model.LaureateAggregate;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.common.mapper.TypeRef;
+import org.junit.jupiter.api.Test;
+
+import java.net.HttpURLConnection;
+import java.util.List;
+
+
+/**
+ * Tests {@link AnalyticsApiImpl}.
+ */
+@QuarkusTest
+@TestHTTPEndpoint(AnalyticsApiImpl.class)
+class AnalyticsApiImplIT {
+
+    /**
+     * Tests {@link AnalyticsApiImpl#getLaureateAggregates(String, String, Integer, Integer, String, Integer, Integer,
+     * Boolean)}.
+     */
+    @Test
+    void getLaureateAggregatesShouldPass() {
+        List<LaureateAggregate> aggregates = given()
+            .queryParam("groupBy", "decade")
+            .queryParam("category", "P")
+            .when()
+            .get("laureates")
+            .then()
+            .statusCode(HttpURLConnection.HTTP_OK)
+            .extract().as(new TypeRef<>() {});
+
+        assertTrue(aggregates.stream().anyMatch(aggregate -> aggregate.getKey().equals("1900")));
+    }
+
+    /**
+     * Tests {@link AnalyticsApiImpl#getLaureateAggregates(String, String, Integer, Integer, String, Integer, Integer,
+     * Boolean)} with an unknown country.
+     */
+    @Test
+    void getLaureateAggregatesWithUnknownCountryShouldFail() {
+        given()
+            .queryParam("groupBy", "country")
+            .queryParam("countryCode", "QQ")
+            .when()
+            .get("laureates")
+            .then()
+            .statusCode(HttpURLConnection.HTTP_BAD_REQUEST);
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.schotanus.nobel.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.schotanus.nobel.DataHelper;
+import com.schotanus.nobel.model.Person;
+import com.schotanus.nobel.service.ChangeFeedService;
+import com.schotanus.nobel.service.PersonService;
+import com.schotanus.nobel.util.PersonBuilder;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+
+/**
+ * Tests {@link ChangeFeedResource}.
+ */
+@QuarkusTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ChangeFeedResourceIT {
+
+    @TestHTTPResource("/changes")
+    URI changesUri;
+
+    private final ChangeFeedService changeFeedService;
+    private final PersonService personService;
+    private final DataHelper dataHelper;
+
+    ChangeFeedResourceIT(ChangeFeedService changeFeedService, PersonService personService, DataHelper dataHelper) {
+        this.changeFeedService = changeFeedService;
+        this.personService = personService;
+        this.dataHelper = dataHelper;
+    }
+
+    @AfterAll
+    void cleanUp() {
+        dataHelper.deletePersonsWithTestIdentifiers();
+    }
+
+    /**
+     * Tests {@link ChangeFeedResource#getChanges}.
+     */
+    @Test
+    void createdPersonShouldBeSentToSubscriber() throws Exception {
+        final int subscribers = changeFeedService.getNumberOfSubscribers();
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            final HttpResponse<Stream<String>> response = client.send(
+                HttpRequest.newBuilder(changesUri).header("Accept", "text/event-stream").build(),
+                HttpResponse.BodyHandlers.ofLines());
+            assertEquals(HttpURLConnection.HTTP_OK, response.statusCode());
+            for (int attempt = 0; attempt < 100 && changeFeedService.getNumberOfSubscribers() == subscribers; attempt++) {
+                Thread.sleep(100);
+            }
+
+            final Person person = new PersonBuilder().build();
+            personService.createPerson(person);
+
+            final CompletableFuture<Boolean> received = CompletableFuture.supplyAsync(() -> response.body()
+                .anyMatch(line -> line.startsWith("data:") && line.contains(person.getPersonIdentifier())));
+            assertTrue(received.get(10, TimeUnit.SECONDS));
+        }
+    }
+
+}
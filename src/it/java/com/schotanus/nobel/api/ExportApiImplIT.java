@@ -0,0 +1,76 @@
+package com.schotanus.nobel.api;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import java.net.HttpURLConnection;
+
+
+/**
+ * Tests {@link ExportApiImpl}.
+ */
+@QuarkusTest
+@TestHTTPEndpoint(ExportApiImpl.class)
+class ExportApiImplIT {
+
+    /**
+     * Tests {@link ExportApiImpl#exportPersons(String, Boolean)}.
+     */
+    @Test
+    void exportPersonsAsCsvShouldPass() {
+        given()
+            .when()
+            .get("persons")
+            .then()
+            .statusCode(HttpURLConnection.HTTP_OK)
+            .contentType(startsWith("text/csv"))
+            .body(startsWith("personIdentifier,name,displayName"));
+    }
+
+    /**
+     * Tests {@link ExportApiImpl#exportPersons(String, Boolean)}.
+     */
+    @Test
+    void exportPersonsAsNdjsonInSnapshotShouldPass() {
+        given()
+            .when()
+            .queryParam("format", "ndjson")
+            .queryParam("snapshot", true)
+            .get("persons")
+            .then()
+            .statusCode(HttpURLConnection.HTTP_OK)
+            .body(startsWith("{\"personIdentifier\":"));
+    }
+
+    /**
+     * Tests {@link ExportApiImpl#exportLaureates(String, Boolean)}.
+     */
+    @Test
+    void exportLaureatesShouldPass() {
+        given()
+            .when()
+            .get("laureates")
+            .then()
+            .statusCode(HttpURLConnection.HTTP_OK)
+            .body(containsString("Röntgen"));
+    }
+
+    /**
+     * Tests {@link ExportApiImpl#exportOrganizations(String, Boolean)} using an unknown format.
+     */
+    @Test
+    void exportInUnknownFormatShouldFail() {
+        given()
+            .when()
+            .queryParam("format", "xml")
+            .get("organizations")
+            .then()
+            .statusCode(HttpURLConnection.HTTP_BAD_REQUEST);
+    }
+
+}
@@ -3,12 +3,14 @@ package com.schotanus.nobel.api;
 import static io.restassured.RestAssured.given;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.schotanus.nobel.DataHelper;
 import com.schotanus.nobel.model.NobelPrize;
 import com.schotanus.nobel.model.NobelPrizeCategoryEnum;
 import com.schotanus.nobel.model.NobelPrizeCreate;
+import com.schotanus.nobel.model.NobelPrizeLaureate;
 import com.schotanus.nobel.model.NobelPrizeLaureateCreate;
 import com.schotanus.nobel.model.NobelPrizeLaureateCreateType;
 import com.schotanus.nobel.model.Person;
@@ -55,7 +57,7 @@ class NobelPrizeApiImplIT {
     }
 
     /**
-     * Tests {@link NobelPrizeApiImpl#createNobelPrize(NobelPrizeCreate)}.
+     * Tests {@link NobelPrizeApiImpl#createNobelPrize(NobelPrizeCreate, String)}.
      */
     @Test
     void createNobelPrizeWithValidDataShouldPass() {
@@ -78,7 +80,7 @@ class NobelPrizeApiImplIT {
     }
 
     /**
-     * Tests {@link NobelPrizeApiImpl#createNobelPrize(NobelPrizeCreate)}.
+     * Tests {@link NobelPrizeApiImpl#createNobelPrize(NobelPrizeCreate, String)}.
      */
     @Test
     void createNobelPrizeThatAlreadyExistsShouldFail() {
@@ -95,7 +97,7 @@ class NobelPrizeApiImplIT {
     }
 
     /**
-     * Tests {@link NobelPrizeApiImpl#createNobelPrize(NobelPrizeCreate)}.
+     * Tests {@link NobelPrizeApiImpl#createNobelPrize(NobelPrizeCreate, String)}.
      */
     @Test
     void createNobelPrizeWithInvalidDataShouldFail() {
@@ -109,7 +111,7 @@ class NobelPrizeApiImplIT {
     }
 
     /**
-     * Tests {@link NobelPrizeApiImpl#getNobelPrizes(Integer, String)} without using any parameters.
+     * Tests {@link NobelPrizeApiImpl#getNobelPrizes(Integer, String, String)} without using any parameters.
      */
     @Test
     void getNobelPrizesWithoutQueryParametersShouldPass() {
@@ -129,7 +131,7 @@ class NobelPrizeApiImplIT {
     }
 
     /**
-     * Tests {@link NobelPrizeApiImpl#getNobelPrizes(Integer, String)} filtered by year.
+     * Tests {@link NobelPrizeApiImpl#getNobelPrizes(Integer, String, String)} filtered by year.
      */
     @Test
     void getNobelPrizesByYearShouldPass() {
@@ -150,7 +152,7 @@ class NobelPrizeApiImplIT {
     }
 
     /**
-     * Tests {@link NobelPrizeApiImpl#getNobelPrizes(Integer, String)} filtered by year and category.
+     * Tests {@link NobelPrizeApiImpl#getNobelPrizes(Integer, String, String)} filtered by year and category.
      */
     @Test
     void getNobelPrizesByYearAndCategoryShouldPass() {
@@ -174,6 +176,68 @@ class NobelPrizeApiImplIT {
         assertEquals(NobelPrizeCategoryEnum.E, foundNobelPrize.getCategory());
     }
 
+    /**
+     * Tests {@link NobelPrizeApiImpl#getNobelPrizes(Integer, String, String)}, expanding laureates to identifiers.
+     */
+    @Test
+    void getNobelPrizesWithLaureateIdentifiersShouldPass() {
+        Integer year = 1906;
+        final NobelPrizeCreate nobelPrize = this.createTestNobelPrize(year);
+
+        List<NobelPrize> foundNobelPrizes = given()
+            .when()
+            .queryParam("year", year)
+            .queryParam("category", NobelPrizeCategoryEnum.E)
+            .queryParam("expand", "identifiers")
+            .get()
+            .then()
+            .statusCode(HttpURLConnection.HTTP_OK)
+            .extract().as(new TypeRef<>() {});
+
+        assertEquals(1, foundNobelPrizes.size());
+        final NobelPrizeLaureate laureate = foundNobelPrizes.getFirst().getLaureates().getFirst();
+        assertEquals(nobelPrize.getLaureates().getFirst().getType().getPersonIdentifier(),
+            laureate.getPerson().getPersonIdentifier());
+        assertNull(laureate.getPerson().getName());
+        assertNull(laureate.getOrganization());
+    }
+
+    /**
+     * Tests {@link NobelPrizeApiImpl#getNobelPrizes(Integer, String, String)}, without laureates.
+     */
+    @Test
+    void getNobelPrizesWithoutLaureatesShouldPass() {
+        Integer year = 1907;
+        this.createTestNobelPrize(year);
+
+        List<NobelPrize> foundNobelPrizes = given()
+            .when()
+            .queryParam("year", year)
+            .queryParam("category", NobelPrizeCategoryEnum.E)
+            .queryParam("expand", "none")
+            .get()
+            .then()
+            .statusCode(HttpURLConnection.HTTP_OK)
+            .extract().as(new TypeRef<>() {});
+
+        assertEquals(1, foundNobelPrizes.size());
+        final List<NobelPrizeLaureate> laureates = foundNobelPrizes.getFirst().getLaureates();
+        assertTrue(laureates == null || laureates.isEmpty());
+    }
+
+    /**
+     * Tests {@link NobelPrizeApiImpl#getNobelPrizes(Integer, String, String)}, using an unsupported expansion.
+     */
+    @Test
+    void getNobelPrizesWithUnsupportedExpansionShouldFail() {
+        given()
+            .when()
+            .queryParam("expand", "everything")
+            .get()
+            .then()
+            .statusCode(HttpURLConnection.HTTP_BAD_REQUEST);
+    }
+
     /**
      * Creates a Nobel Prize (in the category "Economics"), in the database.
      * @param year Year the Nobel Prize was awarded.
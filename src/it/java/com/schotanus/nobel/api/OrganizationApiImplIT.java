@@ -2,11 +2,15 @@ package com.schotanus.nobel.api;
 
 import static io.restassured.RestAssured.given;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.schotanus.nobel.DataHelper;
+import com.schotanus.nobel.model.NobelPrize;
 import com.schotanus.nobel.model.Organization;
+import com.schotanus.nobel.model.OrganizationBatchResult;
 import com.schotanus.nobel.service.OrganizationService;
 import com.schotanus.nobel.util.OrganizationBuilder;
 import io.quarkus.test.common.http.TestHTTPEndpoint;
@@ -43,7 +47,7 @@ class OrganizationApiImplIT {
     }
 
     /**
-     * Tests {@link OrganizationApiImpl#createOrganization(Organization)}.
+     * Tests {@link OrganizationApiImpl#createOrganization(Organization, String)}.
      */
     @Test
     void createValidOrganizationShouldPass() {
@@ -57,7 +61,7 @@ class OrganizationApiImplIT {
     }
 
     /**
-     * Tests {@link OrganizationApiImpl#createOrganization(Organization)}.
+     * Tests {@link OrganizationApiImpl#createOrganization(Organization, String)}.
      */
     @Test
     void createInvalidOrganizationShouldFail() {
@@ -71,7 +75,7 @@ class OrganizationApiImplIT {
     }
 
     /**
-     * Tests {@link OrganizationApiImpl#createOrganization(Organization)}.
+     * Tests {@link OrganizationApiImpl#createOrganization(Organization, String)}.
      */
     @Test
     void createExistingOrganizationShouldFail() {
@@ -128,7 +132,39 @@ class OrganizationApiImplIT {
     }
 
     /**
-     * Tests {@link OrganizationApiImpl#getOrganizations(String)} without specifying a name.
+     * Tests {@link OrganizationApiImpl#getNobelPrizesOfOrganization(String)}.
+     */
+    @Test
+    void getNobelPrizesOfOrganizationWithoutNobelPrizesShouldPass() {
+        final Organization organization = new OrganizationBuilder().build();
+        service.createOrganization(organization);
+
+        List<NobelPrize> nobelPrizes = given()
+            .when()
+            .pathParam("id", organization.getOrganizationIdentifier())
+            .get("{id}/nobelprizes")
+            .then()
+            .statusCode(HttpURLConnection.HTTP_OK)
+            .extract().as(new TypeRef<>() {});
+
+        assertTrue(nobelPrizes.isEmpty());
+    }
+
+    /**
+     * Tests {@link OrganizationApiImpl#getNobelPrizesOfOrganization(String)}.
+     */
+    @Test
+    void getNobelPrizesOfNonExistingOrganizationShouldFail() {
+        given()
+            .when()
+            .pathParam("id", "Unknown")
+            .get("{id}/nobelprizes")
+            .then()
+            .statusCode(HttpURLConnection.HTTP_NOT_FOUND);
+    }
+
+    /**
+     * Tests {@link OrganizationApiImpl#getOrganizations(String, String, Integer, Boolean, Boolean)} without specifying a name.
      */
     @Test()
     void gettingAllOrganizationsShouldPass() {
@@ -148,7 +184,7 @@ class OrganizationApiImplIT {
     }
 
     /**
-     * Tests {@link OrganizationApiImpl#getOrganizations(String)} with an existing name.
+     * Tests {@link OrganizationApiImpl#getOrganizations(String, String, Integer, Boolean, Boolean)} with an existing name.
      */
     @Test()
     void gettingAllOrganizationsWithExistingNameShouldPass() {
@@ -180,7 +216,7 @@ class OrganizationApiImplIT {
     }
 
     /**
-     * Tests {@link OrganizationApiImpl#getOrganizations(String)} with a non-existing name.
+     * Tests {@link OrganizationApiImpl#getOrganizations(String, String, Integer, Boolean, Boolean)} with a non-existing name.
      */
     @Test()
     void gettingAllOrganizationsWithNonExistingNameShouldPass() {
@@ -199,4 +235,57 @@ class OrganizationApiImplIT {
         assertNotNull(foundOrganizations);
         assertEquals(0, foundOrganizations.size());
     }
+
+    /**
+     * Tests {@link OrganizationApiImpl#getOrganizations(String, String, Integer, Boolean, Boolean)}, selecting some of the fields.
+     */
+    @Test()
+    void gettingOrganizationsWithFieldsShouldPass() {
+        int randomInt = new Random().nextInt(10000);
+        final Organization organization = new OrganizationBuilder("testIdentifier" + randomInt, "name" + randomInt)
+                .description("description" + randomInt)
+                .url("url" + randomInt)
+                .build();
+        service.createOrganization(organization);
+
+        List<Organization> foundOrganizations = given()
+                .when()
+                .queryParam("name", organization.getName())
+                .queryParam("fields", "name")
+                .get()
+                .then()
+                .statusCode(HttpURLConnection.HTTP_OK)
+                .extract().as(new TypeRef<>() {});
+
+        assertEquals(1, foundOrganizations.size());
+        final Organization foundOrganisation = foundOrganizations.getFirst();
+        assertEquals(organization.getOrganizationIdentifier(), foundOrganisation.getOrganizationIdentifier());
+        assertEquals(organization.getName(), foundOrganisation.getName());
+        assertNull(foundOrganisation.getDescription());
+        assertNull(foundOrganisation.getUrl());
+    }
+
+    /**
+     * Tests {@link OrganizationApiImpl#getOrganizationsByIdentifiers(String)}, with an existing and a non-existing organization.
+     */
+    @Test()
+    void gettingOrganizationsByIdentifiersShouldPass() {
+        final Organization organization = new OrganizationBuilder().build();
+        service.createOrganization(organization);
+
+        List<OrganizationBatchResult> results = given()
+                .when()
+                .queryParam("ids", organization.getOrganizationIdentifier() + ",Unknown")
+                .get("batch")
+                .then()
+                .statusCode(HttpURLConnection.HTTP_OK)
+                .extract().as(new TypeRef<>() {});
+
+        assertEquals(2, results.size());
+        assertEquals(organization.getOrganizationIdentifier(), results.get(0).getId());
+        assertTrue(results.get(0).getFound());
+        assertEquals(organization.getName(), results.get(0).getOrganization().getName());
+        assertEquals("Unknown", results.get(1).getId());
+        assertFalse(results.get(1).getFound());
+    }
 }
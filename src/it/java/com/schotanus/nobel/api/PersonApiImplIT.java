@@ -2,12 +2,20 @@ package com.schotanus.nobel.api;
 
 
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.schotanus.nobel.DataHelper;
+import com.schotanus.nobel.model.NobelPrize;
+import com.schotanus.nobel.model.NobelPrizeCategoryEnum;
 import com.schotanus.nobel.model.Person;
+import com.schotanus.nobel.model.PersonBatchResult;
 import com.schotanus.nobel.service.PersonService;
 import com.schotanus.nobel.util.PersonBuilder;
 import io.quarkus.test.common.http.TestHTTPEndpoint;
@@ -22,6 +30,7 @@ import java.time.LocalDate;
 import java.time.Month;
 import java.util.List;
 import java.util.Random;
+import java.util.UUID;
 
 
 /**
@@ -46,7 +55,7 @@ class PersonApiImplIT {
     }
 
     /**
-     * Tests {@link PersonApiImpl#createPerson(Person)}.
+     * Tests {@link PersonApiImpl#createPerson(Person, String)}.
      */
     @Test
     void createValidPersonShouldPass() {
@@ -60,7 +69,7 @@ class PersonApiImplIT {
     }
 
     /**
-     * Tests {@link PersonApiImpl#createPerson(Person)}.
+     * Tests {@link PersonApiImpl#createPerson(Person, String)}.
      */
     @Test
     void createInvalidPersonShouldFail() {
@@ -74,7 +83,7 @@ class PersonApiImplIT {
     }
 
     /**
-     * Tests {@link PersonApiImpl#createPerson(Person)}.
+     * Tests {@link PersonApiImpl#createPerson(Person, String)}.
      */
     @Test
     void createExistingPersonShouldFail() {
@@ -98,6 +107,46 @@ class PersonApiImplIT {
             .statusCode(HttpURLConnection.HTTP_CONFLICT);
     }
 
+    /**
+     * Tests {@link PersonApiImpl#createPerson(Person, String)}, retrying with the same idempotency key.
+     */
+    @Test
+    void createPersonRetriedWithIdempotencyKeyShouldPass() {
+        final Person person = new PersonBuilder().build();
+        final String idempotencyKey = UUID.randomUUID().toString();
+        final String location = given()
+            .contentType("application/json")
+            .header("Idempotency-Key", idempotencyKey)
+            .body(person)
+            .when()
+            .post()
+            .then()
+            .statusCode(HttpURLConnection.HTTP_CREATED)
+            .extract().header("Location");
+
+        // The retry gets the original response, instead of a conflict
+        final String retriedLocation = given()
+            .contentType("application/json")
+            .header("Idempotency-Key", idempotencyKey)
+            .body(person)
+            .when()
+            .post()
+            .then()
+            .statusCode(HttpURLConnection.HTTP_CREATED)
+            .extract().header("Location");
+        assertEquals(location, retriedLocation);
+
+        // The same key can not be used for a different request
+        given()
+            .contentType("application/json")
+            .header("Idempotency-Key", idempotencyKey)
+            .body(new PersonBuilder().build())
+            .when()
+            .post()
+            .then()
+            .statusCode(422);
+    }
+
     /**
      * Tests {@link PersonApiImpl#getPerson(String)}.
      */
@@ -127,11 +176,47 @@ class PersonApiImplIT {
             .pathParam("id", "Unknown")
             .get("{id}")
             .then()
+            .statusCode(HttpURLConnection.HTTP_NOT_FOUND)
+            .contentType("application/problem+json")
+            .body("status", is(HttpURLConnection.HTTP_NOT_FOUND))
+            .body("title", is("Not Found"))
+            .body("instance", containsString("Unknown"));
+    }
+
+    /**
+     * Tests {@link PersonApiImpl#getNobelPrizesOfPerson(String)}.
+     */
+    @Test
+    void getNobelPrizesOfExistingPersonShouldPass() {
+        List<NobelPrize> nobelPrizes = given()
+            .when()
+            .pathParam("id", "Lorentz")
+            .get("{id}/nobelprizes")
+            .then()
+            .statusCode(HttpURLConnection.HTTP_OK)
+            .extract().as(new TypeRef<>() {});
+
+        assertEquals(1, nobelPrizes.size());
+        assertEquals(1902, nobelPrizes.getFirst().getYear());
+        assertEquals(NobelPrizeCategoryEnum.P, nobelPrizes.getFirst().getCategory());
+    }
+
+    /**
+     * Tests {@link PersonApiImpl#getNobelPrizesOfPerson(String)}.
+     */
+    @Test
+    void getNobelPrizesOfNonExistingPersonShouldFail() {
+        given()
+            .when()
+            .pathParam("id", "Unknown")
+            .get("{id}/nobelprizes")
+            .then()
             .statusCode(HttpURLConnection.HTTP_NOT_FOUND);
     }
 
     /**
-     * Tests {@link PersonApiImpl#getPersons(String, String, Integer, Integer)} without using any of the selection criteria.
+     * Tests {@link PersonApiImpl#getPersons(String, String, Integer, Integer, Integer, Integer, Integer, Integer, Boolean, String,
+     * Integer, Boolean, Boolean)} without using any of the selection criteria.
      */
     @Test()
     void gettingAllPersonsShouldPass() {
@@ -151,7 +236,8 @@ class PersonApiImplIT {
     }
 
     /**
-     * Tests {@link PersonApiImpl#getPersons(String, String, Integer, Integer)}, filtering on name.
+     * Tests {@link PersonApiImpl#getPersons(String, String, Integer, Integer, Integer, Integer, Integer, Integer, Boolean, String,
+     * Integer, Boolean, Boolean)}, filtering on name.
      */
     @Test()
     void gettingAllPersonsByNameShouldPass() {
@@ -175,7 +261,8 @@ class PersonApiImplIT {
     }
 
     /**
-     * Tests {@link PersonApiImpl#getPersons(String, String, Integer, Integer)}, using all parameters.
+     * Tests {@link PersonApiImpl#getPersons(String, String, Integer, Integer, Integer, Integer, Integer, Integer, Boolean, String,
+     * Integer, Boolean, Boolean)}, using all parameters.
      */
     @Test()
     void gettingAllPersonsByAllQueryParametersShouldPass() {
@@ -218,7 +305,8 @@ class PersonApiImplIT {
     }
 
     /**
-     * Tests {@link PersonApiImpl#getPersons(String, String, Integer, Integer)}, where the person does not exist.
+     * Tests {@link PersonApiImpl#getPersons(String, String, Integer, Integer, Integer, Integer, Integer, Integer, Boolean, String,
+     * Integer, Boolean, Boolean)}, where the person does not exist.
      */
     @Test()
     void gettingAllPersonsWherePersonDoesNotExistShouldPass() {
@@ -239,6 +327,85 @@ class PersonApiImplIT {
         assertEquals(0, foundPersons.size());
     }
 
+    /**
+     * Tests {@link PersonApiImpl#getPersons(String, String, Integer, Integer, Integer, Integer, Integer, Integer, Boolean, String,
+     * Integer, Boolean, Boolean)}, selecting some of the fields.
+     */
+    @Test()
+    void gettingPersonsWithFieldsShouldPass() {
+        final Person person = new PersonBuilder().description("Description").build();
+        service.createPerson(person);
+
+        List<Person> foundPersons = given()
+            .when()
+            .queryParam("name", person.getDisplayName())
+            .queryParam("fields", "displayName,birthCountryCode")
+            .get()
+            .then()
+            .statusCode(HttpURLConnection.HTTP_OK)
+            .extract().as(new TypeRef<>() {});
+
+        assertEquals(1, foundPersons.size());
+        final Person foundPerson = foundPersons.getFirst();
+        assertEquals(person.getPersonIdentifier(), foundPerson.getPersonIdentifier());
+        assertEquals(person.getDisplayName(), foundPerson.getDisplayName());
+        assertEquals(person.getBirthCountryCode(), foundPerson.getBirthCountryCode());
+        assertNull(foundPerson.getDescription());
+        assertNull(foundPerson.getBirthDate());
+    }
+
+    /**
+     * Tests {@link PersonApiImpl#getPersons(String, String, Integer, Integer, Integer, Integer, Integer, Integer, Boolean, String,
+     * Integer, Boolean, Boolean)}, selecting an unknown field.
+     */
+    @Test()
+    void gettingPersonsWithUnknownFieldShouldFail() {
+        given()
+            .when()
+            .queryParam("fields", "displayName,unknown")
+            .get()
+            .then()
+            .statusCode(HttpURLConnection.HTTP_BAD_REQUEST);
+    }
+
+    /**
+     * Tests {@link PersonApiImpl#getPersonsByIdentifiers(String)}, with an existing and a non-existing person.
+     */
+    @Test()
+    void gettingPersonsByIdentifiersShouldPass() {
+        final Person person = new PersonBuilder().build();
+        service.createPerson(person);
+
+        List<PersonBatchResult> results = given()
+            .when()
+            .queryParam("ids", "Unknown," + person.getPersonIdentifier())
+            .get("batch")
+            .then()
+            .statusCode(HttpURLConnection.HTTP_OK)
+            .extract().as(new TypeRef<>() {});
+
+        assertEquals(2, results.size());
+        assertEquals("Unknown", results.get(0).getId());
+        assertFalse(results.get(0).getFound());
+        assertNull(results.get(0).getPerson());
+        assertEquals(person.getPersonIdentifier(), results.get(1).getId());
+        assertTrue(results.get(1).getFound());
+        assertEquals(person.getName(), results.get(1).getPerson().getName());
+    }
+
+    /**
+     * Tests {@link PersonApiImpl#getPersonsByIdentifiers(String)}, without identifiers.
+     */
+    @Test()
+    void gettingPersonsByNoIdentifiersShouldFail() {
+        given()
+            .when()
+            .queryParam("ids", " ,")
+            .get("batch")
+            .then()
+            .statusCode(HttpURLConnection.HTTP_BAD_REQUEST);
+    }
+
     /**
      * Tests {@link PersonApiImpl#updatePerson(Person)}.
      */
@@ -277,4 +444,157 @@ class PersonApiImplIT {
             .statusCode(HttpURLConnection.HTTP_NOT_FOUND);
     }
 
+    /**
+     * Tests {@link PersonApiImpl#getPersons(String, String, Integer, Integer, Integer, Integer, Integer, Integer, Boolean, String,
+     * Integer, Boolean, Boolean)},
+     * limiting and counting the persons matching the selection criteria.
+     */
+    @Test
+    void countingLimitedPersonsShouldReturnTotalCount() {
+        final String displayName = "testCount" + UUID.randomUUID();
+        service.createPerson(new PersonBuilder().displayName(displayName + "a").build());
+        service.createPerson(new PersonBuilder().displayName(displayName + "b").build());
+
+        List<Person> foundPersons = given()
+            .when()
+            .queryParam("name", displayName)
+            .queryParam("limit", 1)
+            .queryParam("count", true)
+            .get()
+            .then()
+            .statusCode(HttpURLConnection.HTTP_OK)
+            .header(TotalCountHeaders.TOTAL_COUNT, "2")
+            .header(TotalCountHeaders.TOTAL_COUNT_ESTIMATED, "false")
+            .extract().as(new TypeRef<>() {});
+
+        assertEquals(1, foundPersons.size());
+        assertEquals(displayName + "a", foundPersons.getFirst().getDisplayName());
+    }
+
+    /**
+     * Tests {@link PersonApiImpl#getPersons(String, String, Integer, Integer, Integer, Integer, Integer, Integer, Boolean, String,
+     * Integer, Boolean, Boolean)},
+     * counting all persons exactly, without returning any of them.
+     */
+    @Test
+    void countingAllPersonsExactlyShouldPass() {
+        service.createPerson(new PersonBuilder().build());
+
+        final String totalCount = given()
+            .when()
+            .queryParam("limit", 0)
+            .queryParam("count", true)
+            .queryParam("exact", true)
+            .get()
+            .then()
+            .statusCode(HttpURLConnection.HTTP_OK)
+            .header(TotalCountHeaders.TOTAL_COUNT_ESTIMATED, "false")
+            .body("size()", is(0))
+            .extract().header(TotalCountHeaders.TOTAL_COUNT);
+
+        assertTrue(Long.parseLong(totalCount) >= 1);
+    }
+
+    /**
+     * Tests {@link PersonApiImpl#getPersons(String, String, Integer, Integer, Integer, Integer, Integer, Integer, Boolean, String,
+     * Integer, Boolean, Boolean)}
+     * without counting.
+     */
+    @Test
+    void notCountingPersonsShouldNotReturnTotalCount() {
+        given()
+            .when()
+            .queryParam("limit", 1)
+            .get()
+            .then()
+            .statusCode(HttpURLConnection.HTTP_OK)
+            .header(TotalCountHeaders.TOTAL_COUNT, nullValue());
+    }
+
+    /**
+     * Tests {@link PersonApiImpl#getPersons(String, String, Integer, Integer, Integer, Integer, Integer, Integer, Boolean, String,
+     * Integer, Boolean, Boolean)}, selecting living persons born within a range of years.
+     */
+    @Test
+    void gettingLivingPersonsByYearOfBirthRangeShouldPass() {
+        final String displayName = "testRange" + UUID.randomUUID();
+        final Person living = new PersonBuilder(
+                "test" + UUID.randomUUID(), "living", LocalDate.of(1900, Month.JANUARY, 1), "NL")
+            .displayName(displayName + "a")
+            .build();
+        final Person deceased = new PersonBuilder(
+                "test" + UUID.randomUUID(), "deceased", LocalDate.of(1901, Month.DECEMBER, 31), "NL")
+            .displayName(displayName + "b")
+            .deathDate(LocalDate.of(1950, Month.JUNE, 1))
+            .build();
+        final Person tooYoung = new PersonBuilder(
+                "test" + UUID.randomUUID(), "tooYoung", LocalDate.of(1902, Month.JANUARY, 1), "NL")
+            .displayName(displayName + "c")
+            .build();
+        service.createPerson(living);
+        service.createPerson(deceased);
+        service.createPerson(tooYoung);
+
+        assertEquals(List.of(living.getPersonIdentifier(), deceased.getPersonIdentifier()),
+            getPersonIdentifiers(displayName, "yearOfBirthFrom", 1900, "yearOfBirthTo", 1901));
+        assertEquals(List.of(living.getPersonIdentifier()),
+            getPersonIdentifiers(displayName, "yearOfBirthTo", 1901, "living", true));
+        assertEquals(List.of(deceased.getPersonIdentifier()),
+            getPersonIdentifiers(displayName, "yearOfDeathFrom", 1950, "yearOfDeathTo", 1950));
+    }
+
+    /**
+     * Tests {@link PersonApiImpl#getPersons(String, String, Integer, Integer, Integer, Integer, Integer, Integer, Boolean, String,
+     * Integer, Boolean, Boolean)}, with a range of years that ends before it starts.
+     */
+    @Test
+    void gettingPersonsByInvalidYearRangeShouldFail() {
+        given()
+            .when()
+            .queryParam("yearOfBirthFrom", 1950)
+            .queryParam("yearOfBirthTo", 1900)
+            .get()
+            .then()
+            .statusCode(HttpURLConnection.HTTP_BAD_REQUEST);
+    }
+
+    /**
+     * Tests {@link PersonApiImpl#getPersons(String, String, Integer, Integer, Integer, Integer, Integer, Integer, Boolean, String,
+     * Integer, Boolean, Boolean)}, with years that can not be converted into a date.
+     */
+    @Test
+    void gettingPersonsByOutOfRangeYearShouldFail() {
+        given()
+            .when()
+            .queryParam("yearOfBirthTo", Integer.MAX_VALUE)
+            .get()
+            .then()
+            .statusCode(HttpURLConnection.HTTP_BAD_REQUEST);
+        given()
+            .when()
+            .queryParam("yearOfDeathFrom", -1_000_000_000)
+            .get()
+            .then()
+            .statusCode(HttpURLConnection.HTTP_BAD_REQUEST);
+    }
+
+    private static List<String> getPersonIdentifiers(
+            final String name,
+            final String parameter1,
+            final Object value1,
+            final String parameter2,
+            final Object value2) {
+        final List<Person> persons = given()
+            .when()
+            .queryParam("name", name)
+            .queryParam(parameter1, value1)
+            .queryParam(parameter2, value2)
+            .get()
+            .then()
+            .statusCode(HttpURLConnection.HTTP_OK)
+            .extract().as(new TypeRef<>() {});
+
+        return persons.stream().map(Person::getPersonIdentifier).toList();
+    }
+
 }
@@ -0,0 +1,163 @@
+package com.schotanus.nobel.api;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import com.schotanus.nobel.service.SnapshotService;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.RestAssured;
+import io.restassured.config.DecoderConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.HttpURLConnection;
+
+
+/**
+ * Tests {@link SnapshotApiImpl}.
+ */
+@QuarkusTest
+@TestHTTPEndpoint(SnapshotApiImpl.class)
+class SnapshotApiImplIT {
+
+    private final SnapshotService service;
+
+    SnapshotApiImplIT(SnapshotService service) {
+        this.service = service;
+    }
+
+    /**
+     * The snapshot is generated in the background at startup, so wait for it.
+     */
+    @BeforeEach
+    void waitForSnapshot() throws InterruptedException {
+        for (int attempt = 0; attempt < 100 && service.getSnapshot() == null; attempt++) {
+            Thread.sleep(100);
+        }
+        assertNotNull(service.getSnapshot());
+    }
+
+    /**
+     * Tests {@link SnapshotApiImpl#getSnapshot(String, String, String, String)}.
+     */
+    @Test
+    void getSnapshotShouldPass() {
+        given()
+            .when()
+            .get()
+            .then()
+            .statusCode(HttpURLConnection.HTTP_OK)
+            .header("ETag", "\"" + service.getSnapshot().eTag() + "\"");
+    }
+
+    /**
+     * Tests {@link SnapshotApiImpl#getSnapshot(String, String, String, String)} with a matching ETag.
+     */
+    @Test
+    void getUnmodifiedSnapshotShouldReturnNotModified() {
+        given()
+            .when()
+            .header("If-None-Match", "\"" + service.getSnapshot().eTag() + "\"")
+            .get()
+            .then()
+            .statusCode(HttpURLConnection.HTTP_NOT_MODIFIED);
+    }
+
+    /**
+     * Tests {@link SnapshotApiImpl#getSnapshot(String, String, String, String)} with a byte range.
+     */
+    @Test
+    void getRangeOfSnapshotShouldReturnPartialContent() {
+        final byte[] content = given()
+            .config(RestAssured.config().decoderConfig(DecoderConfig.decoderConfig().noContentDecoders()))
+            .when()
+            .header("Range", "bytes=0-9")
+            .get()
+            .then()
+            .statusCode(HttpURLConnection.HTTP_PARTIAL)
+            .extract().asByteArray();
+
+        assertEquals(10, content.length);
+    }
+
+    /**
+     * Tests {@link SnapshotApiImpl#getSnapshot(String, String, String, String)}
+     * with a range beyond the end of the snapshot.
+     */
+    @Test
+    void getUnsatisfiableRangeShouldFail() {
+        given()
+            .when()
+            .header("Range", "bytes=" + service.getSnapshot().length() + "-")
+            .get()
+            .then()
+            .statusCode(416);
+    }
+
+    /**
+     * Tests {@link SnapshotApiImpl#getSnapshot(String, String, String, String)} with a range that is not valid.
+     */
+    @Test
+    void getInvalidRangeShouldReturnCompleteSnapshot() {
+        given()
+            .when()
+            .header("Range", "bytes=9-0")
+            .get()
+            .then()
+            .statusCode(HttpURLConnection.HTTP_OK)
+            .header("Content-Range", nullValue());
+    }
+
+    /**
+     * Tests {@link SnapshotApiImpl#getSnapshot(String, String, String, String)} with a byte range
+     * and the ETag of the snapshot in If-Range.
+     */
+    @Test
+    void getRangeOfUnchangedSnapshotShouldReturnPartialContent() {
+        given()
+            .when()
+            .header("Range", "bytes=0-9")
+            .header("If-Range", "\"" + service.getSnapshot().eTag() + "\"")
+            .get()
+            .then()
+            .statusCode(HttpURLConnection.HTTP_PARTIAL);
+    }
+
+    /**
+     * Tests {@link SnapshotApiImpl#getSnapshot(String, String, String, String)} with a byte range
+     * and the ETag of another snapshot in If-Range.
+     */
+    @Test
+    void getRangeOfChangedSnapshotShouldReturnCompleteSnapshot() {
+        given()
+            .when()
+            .header("Range", "bytes=0-9")
+            .header("If-Range", "\"changed\"")
+            .get()
+            .then()
+            .statusCode(HttpURLConnection.HTTP_OK)
+            .header("Content-Range", nullValue());
+    }
+
+    /**
+     * Tests {@link SnapshotApiImpl#getSnapshot(String, String, String, String)}
+     * for a client that does not accept the gzip content encoding.
+     */
+    @Test
+    void getSnapshotWithoutGzipEncodingShouldReturnGzipFile() {
+        given()
+            .config(RestAssured.config().decoderConfig(DecoderConfig.decoderConfig().noContentDecoders()))
+            .when()
+            .header("Accept-Encoding", "identity")
+            .get()
+            .then()
+            .statusCode(HttpURLConnection.HTTP_OK)
+            .contentType(equalTo("application/gzip"))
+            .header("Content-Encoding", nullValue());
+    }
+
+}
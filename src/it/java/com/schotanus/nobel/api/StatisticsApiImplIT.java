@@ -0,0 +1,57 @@
+package com.schotanus.nobel.api;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.schotanus.nobel.model.CategoryStatistic;
+import com.schotanus.nobel.model.CountryStatistic;
+import com.schotanus.nobel.model.NobelPrizeCategoryEnum;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.common.mapper.TypeRef;
+import org.junit.jupiter.api.Test;
+
+import java.net.HttpURLConnection;
+import java.util.List;
+
+
+/**
+ * Tests {@link StatisticsApiImpl}.
+ */
+@QuarkusTest
+@TestHTTPEndpoint(StatisticsApiImpl.class)
+class StatisticsApiImplIT {
+
+    /**
+     * Tests {@link StatisticsApiImpl#getCategoryStatistics()}.
+     */
+    @Test
+    void getCategoryStatisticsShouldPass() {
+        List<CategoryStatistic> statistics = given()
+            .when()
+            .get("categories")
+            .then()
+            .statusCode(HttpURLConnection.HTTP_OK)
+            .extract().as(new TypeRef<>() {});
+
+        assertTrue(statistics.stream().anyMatch(statistic ->
+            statistic.getCategory() == NobelPrizeCategoryEnum.P && statistic.getDecade() == 1900));
+    }
+
+    /**
+     * Tests {@link StatisticsApiImpl#getCountryStatistics()}.
+     */
+    @Test
+    void getCountryStatisticsShouldPass() {
+        List<CountryStatistic> statistics = given()
+            .when()
+            .get("countries")
+            .then()
+            .statusCode(HttpURLConnection.HTTP_OK)
+            .extract().as(new TypeRef<>() {});
+
+        assertFalse(statistics.isEmpty());
+    }
+
+}
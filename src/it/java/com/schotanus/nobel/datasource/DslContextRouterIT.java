@@ -0,0 +1,39 @@
+package com.schotanus.nobel.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * Tests {@link DslContextRouter}.
+ */
+@QuarkusTest
+class DslContextRouterIT {
+
+    private final DslContextRouter router;
+
+    DslContextRouterIT(DslContextRouter router) {
+        this.router = router;
+    }
+
+    /**
+     * Tests {@link DslContextRouter#replica()}.
+     */
+    @Test
+    void replicaShouldBeAvailable() {
+        assertNotNull(router.replica());
+    }
+
+    /**
+     * Tests {@link DslContextRouter#replica()} within a transaction.
+     */
+    @Test
+    void replicaWithinTransactionShouldBePrimary() {
+        QuarkusTransaction.requiringNew().run(() -> assertSame(router.primary(), router.replica()));
+    }
+
+}
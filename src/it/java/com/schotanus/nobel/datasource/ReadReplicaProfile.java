@@ -0,0 +1,25 @@
+package com.schotanus.nobel.datasource;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+
+import java.util.Map;
+
+
+/**
+ * Configures a read-only datasource (connecting to the same database as the primary)
+ * and a read-your-writes window of {@value #WINDOW_SECONDS} seconds.
+ */
+public class ReadReplicaProfile implements QuarkusTestProfile {
+
+    static final int WINDOW_SECONDS = 5;
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        return Map.of(
+            "quarkus.datasource.read.db-kind", "postgresql",
+            "quarkus.datasource.read.jdbc.url", "${quarkus.datasource.jdbc.url}",
+            "quarkus.datasource.read.username", "${quarkus.datasource.username}",
+            "quarkus.datasource.read.password", "${quarkus.datasource.password}",
+            "nobel.datasource.read-your-writes-window", WINDOW_SECONDS + "s");
+    }
+}
@@ -0,0 +1,110 @@
+package com.schotanus.nobel.datasource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.Cookie;
+import org.junit.jupiter.api.Test;
+
+import java.net.HttpURLConnection;
+import java.time.Duration;
+
+
+/**
+ * Tests the routing of reads by {@link DslContextRouter} and {@link ReadYourWritesFilter},
+ * with a read-only datasource configured.
+ */
+@QuarkusTest
+@TestProfile(ReadReplicaProfile.class)
+class ReadRoutingIT {
+
+    private final DslContextRouter router;
+
+    ReadRoutingIT(DslContextRouter router) {
+        this.router = router;
+    }
+
+    /**
+     * Tests {@link DslContextRouter#replica()} outside a request.
+     */
+    @Test
+    void replicaShouldBeTheReadDatasource() {
+        assertNotSame(router.primary(), router.replica());
+        assertEquals(1, router.replica().selectOne().fetchOne(0, Integer.class));
+    }
+
+    /**
+     * Tests that reads of a request without a write cookie go to the replica.
+     */
+    @Test
+    void readsShouldGoToTheReplicaByDefault() {
+        given()
+            .when()
+            .get(RoutingProbeResource.PATH)
+            .then()
+            .statusCode(HttpURLConnection.HTTP_OK)
+            .body(is(RoutingProbeResource.REPLICA));
+    }
+
+    /**
+     * Tests that a write sets the cookie, and that reads with that cookie go to the primary.
+     */
+    @Test
+    void readsAfterAWriteShouldGoToThePrimary() {
+        final Cookie cookie = given()
+            .when()
+            .post(RoutingProbeResource.PATH)
+            .then()
+            .statusCode(HttpURLConnection.HTTP_NO_CONTENT)
+            .extract().detailedCookie(ReadYourWritesFilter.COOKIE_NAME);
+
+        assertNotNull(cookie);
+        assertEquals(ReadReplicaProfile.WINDOW_SECONDS + 1, cookie.getMaxAge());
+        assertEquals("/", cookie.getPath());
+
+        given()
+            .when()
+            .cookie(ReadYourWritesFilter.COOKIE_NAME, cookie.getValue())
+            .get(RoutingProbeResource.PATH)
+            .then()
+            .statusCode(HttpURLConnection.HTTP_OK)
+            .body(is(RoutingProbeResource.PRIMARY));
+    }
+
+    /**
+     * Tests that reads with a cookie of a write outside the window go to the replica again.
+     */
+    @Test
+    void readsAfterTheWindowShouldGoToTheReplica() {
+        final long expiredWrite = System.currentTimeMillis()
+            - Duration.ofSeconds(ReadReplicaProfile.WINDOW_SECONDS + 1).toMillis();
+
+        given()
+            .when()
+            .cookie(ReadYourWritesFilter.COOKIE_NAME, String.valueOf(expiredWrite))
+            .get(RoutingProbeResource.PATH)
+            .then()
+            .statusCode(HttpURLConnection.HTTP_OK)
+            .body(is(RoutingProbeResource.REPLICA));
+    }
+
+    /**
+     * Tests that a cookie with an invalid value is ignored.
+     */
+    @Test
+    void readsWithAnInvalidCookieShouldGoToTheReplica() {
+        given()
+            .when()
+            .cookie(ReadYourWritesFilter.COOKIE_NAME, "invalid")
+            .get(RoutingProbeResource.PATH)
+            .then()
+            .statusCode(HttpURLConnection.HTTP_OK)
+            .body(is(RoutingProbeResource.REPLICA));
+    }
+
+}
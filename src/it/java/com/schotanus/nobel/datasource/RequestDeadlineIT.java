@@ -0,0 +1,156 @@
+package com.schotanus.nobel.datasource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.schotanus.nobel.exception.Problem;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.RestAssured;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Tests {@link RequestDeadline}, {@link DeadlineListener} and {@link RequestDeadlineFilter}.
+ * Statements that run over HTTP are executed by {@link SleepProbeResource}.
+ */
+@QuarkusTest
+class RequestDeadlineIT {
+
+    private final DslContextRouter router;
+    private final RequestDeadline deadline;
+
+    RequestDeadlineIT(DslContextRouter router, RequestDeadline deadline) {
+        this.router = router;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Tests that a statement running beyond the deadline is cancelled.
+     */
+    @Test
+    void statementBeyondDeadlineShouldBeCancelled() {
+        runInRequest(() -> {
+            deadline.start(Duration.ofSeconds(1));
+            final DataAccessException exception = assertThrows(DataAccessException.class,
+                () -> router.replica().select(DSL.field("pg_sleep(3)")).execute());
+            assertEquals(RequestDeadline.QUERY_CANCELED, exception.sqlState());
+        });
+    }
+
+    /**
+     * Tests that a statement is not started after the deadline passed.
+     */
+    @Test
+    void statementAfterDeadlineShouldNotStart() {
+        runInRequest(() -> {
+            deadline.start(Duration.ZERO);
+            final DataAccessException exception = assertThrows(DataAccessException.class,
+                () -> router.replica().selectOne().execute());
+            assertEquals(RequestDeadline.QUERY_CANCELED, exception.sqlState());
+        });
+    }
+
+    /**
+     * Tests {@link RequestDeadlineFilter} with a valid and an invalid timeout header.
+     */
+    @Test
+    void timeoutHeaderShouldBeValidated() {
+        given()
+            .header(RequestDeadlineFilter.TIMEOUT_HEADER, "5000")
+            .when()
+            .get("/nobelprizecategories")
+            .then()
+            .statusCode(HttpURLConnection.HTTP_OK);
+
+        given()
+            .header(RequestDeadlineFilter.TIMEOUT_HEADER, "soon")
+            .when()
+            .get("/nobelprizecategories")
+            .then()
+            .statusCode(HttpURLConnection.HTTP_BAD_REQUEST);
+    }
+
+    /**
+     * Tests that a request beyond its deadline results in a 504 (Gateway Timeout).
+     */
+    @Test
+    void requestBeyondDeadlineShouldReturnGatewayTimeout() {
+        SleepProbeResource.reset();
+        given()
+            .header(RequestDeadlineFilter.TIMEOUT_HEADER, "500")
+            .when()
+            .get(SleepProbeResource.PATH + "/5")
+            .then()
+            .statusCode(HttpURLConnection.HTTP_GATEWAY_TIMEOUT)
+            .contentType(Problem.MEDIA_TYPE.toString());
+
+        assertEquals(RequestDeadline.QUERY_CANCELED, SleepProbeResource.OUTCOME.get());
+    }
+
+    /**
+     * Tests that a deadline below a second is not rounded up to a whole second.
+     */
+    @Test
+    void subSecondDeadlineShouldNotBeRoundedUp() {
+        given()
+            .header(RequestDeadlineFilter.TIMEOUT_HEADER, "200")
+            .when()
+            .get(SleepProbeResource.PATH + "/5")
+            .then()
+            .statusCode(HttpURLConnection.HTTP_GATEWAY_TIMEOUT)
+            .time(lessThan(900L), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Tests that the statement of a request is cancelled when the client disconnects.
+     */
+    @Test
+    void statementShouldBeCancelledWhenClientDisconnects() throws IOException, InterruptedException {
+        SleepProbeResource.reset();
+        try (Socket socket = new Socket("localhost", RestAssured.port)) {
+            final OutputStream outputStream = socket.getOutputStream();
+            outputStream.write(("GET " + SleepProbeResource.PATH + "/30 HTTP/1.1\r\n"
+                + "Host: localhost\r\n"
+                + RequestDeadlineFilter.TIMEOUT_HEADER + ": 60000\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            outputStream.flush();
+            assertTrue(SleepProbeResource.STARTED.get().await(10, TimeUnit.SECONDS));
+            // Give the statement some time to start
+            Thread.sleep(500);
+        }
+
+        // Far within both the sleep and the deadline
+        assertTrue(SleepProbeResource.ENDED.get().await(10, TimeUnit.SECONDS));
+        assertEquals(RequestDeadline.QUERY_CANCELED, SleepProbeResource.OUTCOME.get());
+    }
+
+    private static void runInRequest(final Runnable test) {
+        final ManagedContext requestContext = Arc.container().requestContext();
+        final boolean activated = !requestContext.isActive();
+        if (activated) {
+            requestContext.activate();
+        }
+        try {
+            test.run();
+        } finally {
+            if (activated) {
+                requestContext.terminate();
+            }
+        }
+    }
+
+}
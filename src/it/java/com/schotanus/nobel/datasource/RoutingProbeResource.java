@@ -0,0 +1,48 @@
+package com.schotanus.nobel.datasource;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import org.jooq.DSLContext;
+
+
+/**
+ * Reports which datasource the reads of a request are routed to, so the routing can be tested over HTTP.
+ */
+@Path(RoutingProbeResource.PATH)
+public class RoutingProbeResource {
+
+    static final String PATH = "/test/routing";
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+
+    private final DslContextRouter router;
+
+    RoutingProbeResource(DslContextRouter router) {
+        this.router = router;
+    }
+
+    /**
+     * Gets the datasource reads are routed to.
+     *
+     * @return {@value #PRIMARY} or {@value #REPLICA}.
+     */
+    @GET
+    @Produces(MediaType.TEXT_PLAIN)
+    public String getRoute() {
+        // Get the replica first, since getting the primary routes the remaining reads to the primary
+        final DSLContext replica = router.replica();
+        replica.selectOne().fetch();
+        return replica == router.primary() ? PRIMARY : REPLICA;
+    }
+
+    /**
+     * A write that does not change any data.
+     */
+    @POST
+    public void write() {
+        router.primary().selectOne().fetch();
+    }
+}
@@ -0,0 +1,67 @@
+package com.schotanus.nobel.datasource;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+
+/**
+ * Executes a statement that sleeps in the database, so deadlines and cancellation can be tested over HTTP.
+ * The outcome of the last statement is kept, since a client that disconnected never receives it.
+ */
+@Path(SleepProbeResource.PATH)
+public class SleepProbeResource {
+
+    static final String PATH = "/test/sleep";
+    static final String COMPLETED = "completed";
+
+    static final AtomicReference<CountDownLatch> STARTED = new AtomicReference<>(new CountDownLatch(1));
+    static final AtomicReference<CountDownLatch> ENDED = new AtomicReference<>(new CountDownLatch(1));
+    static final AtomicReference<String> OUTCOME = new AtomicReference<>();
+
+    private final DslContextRouter router;
+
+    SleepProbeResource(DslContextRouter router) {
+        this.router = router;
+    }
+
+    /**
+     * Resets the outcome, before a new statement is executed.
+     */
+    static void reset() {
+        STARTED.set(new CountDownLatch(1));
+        ENDED.set(new CountDownLatch(1));
+        OUTCOME.set(null);
+    }
+
+    /**
+     * Sleeps in the database.
+     *
+     * @param seconds Number of seconds to sleep.
+     * @return {@value #COMPLETED}, when the statement was not cancelled.
+     */
+    @GET
+    @Path("{seconds}")
+    @Produces(MediaType.TEXT_PLAIN)
+    public String sleep(@PathParam("seconds") int seconds) {
+        STARTED.get().countDown();
+        try {
+            router.replica().select(DSL.field("pg_sleep({0})", DSL.val(seconds))).execute();
+            OUTCOME.set(COMPLETED);
+            return COMPLETED;
+        } catch (DataAccessException exception) {
+            OUTCOME.set(exception.sqlState());
+            throw exception;
+        } finally {
+            ENDED.get().countDown();
+        }
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.schotanus.nobel.graphql;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.schotanus.nobel.DataHelper;
+import com.schotanus.nobel.model.NobelPrizeCategoryEnum;
+import com.schotanus.nobel.model.NobelPrizeCreate;
+import com.schotanus.nobel.model.NobelPrizeLaureateCreate;
+import com.schotanus.nobel.model.NobelPrizeLaureateCreateType;
+import com.schotanus.nobel.model.Person;
+import com.schotanus.nobel.repository.GraphRepository;
+import com.schotanus.nobel.service.NobelPrizeService;
+import com.schotanus.nobel.service.PersonService;
+import com.schotanus.nobel.util.NobelPrizeCreateBuilder;
+import com.schotanus.nobel.util.NobelPrizeLaureateCreateBuilder;
+import com.schotanus.nobel.util.PersonBuilder;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.net.HttpURLConnection;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Tests {@link NobelGraphQlApi}.
+ * This class uses the "Economics" category and years before 1969, since actual Nobel Prizes in this category were not
+ * awarded before 1969.
+ */
+@QuarkusTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class NobelGraphQlApiIT {
+
+    private final DataHelper dataHelper;
+    private final NobelPrizeService nobelPrizeService;
+    private final PersonService personService;
+
+    NobelGraphQlApiIT(DataHelper dataHelper, NobelPrizeService nobelPrizeService, PersonService personService) {
+        this.dataHelper = dataHelper;
+        this.nobelPrizeService = nobelPrizeService;
+        this.personService = personService;
+    }
+
+    @BeforeAll
+    void createTestData() {
+        createTestNobelPrize(1908);
+        createTestNobelPrize(1909);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        dataHelper.deleteNobelPrizeTestData();
+    }
+
+    /**
+     * Tests {@link NobelGraphQlApi#getNobelPrizes(Integer, NobelPrizeCategoryEnum)} with nested laureates,
+     * where every level of the query must cost a single select, regardless of the number of Nobel Prizes.
+     */
+    @Test
+    void deepQueryShouldSelectOncePerLevel() {
+        final Response response = post("""
+            {
+              nobelPrizes(category: E) {
+                year
+                category { description }
+                laureates {
+                  fractionNominator
+                  person { name birthCountry { code name } }
+                  organization { name }
+                }
+              }
+            }""");
+
+        // Nobel Prizes, laureates, persons and countries; all laureates are persons, so no organizations
+        assertEquals("4", response.header(GraphRepository.STATEMENTS_HEADER));
+        final JsonPath json = response.jsonPath();
+        final List<Integer> years = json.getList("data.nobelPrizes.year", Integer.class);
+        assertTrue(years.containsAll(List.of(1908, 1909)));
+        assertEquals("NL", json.getString("data.nobelPrizes.find { it.year == 1908 }.laureates[0].person.birthCountry.code"));
+        assertNull(json.get("data.nobelPrizes.find { it.year == 1908 }.laureates[0].organization"));
+    }
+
+    /**
+     * Tests that the depth of queries is limited.
+     */
+    @Test
+    void tooDeepQueryShouldFail() {
+        final JsonPath response = query("""
+            {
+              persons {
+                nobelPrizes { laureates { person { nobelPrizes { laureates { person {
+                  nobelPrizes { laureates { person { name } } }
+                } } } } } }
+              }
+            }""");
+
+        assertFalse(response.getList("errors").isEmpty());
+        assertNull(response.get("data.persons"));
+    }
+
+    private static JsonPath query(final String query) {
+        return post(query).jsonPath();
+    }
+
+    private static Response post(final String query) {
+        return given()
+            .contentType("application/json")
+            .body(Map.of("query", query))
+            .when()
+            .post("/graphql")
+            .then()
+            .statusCode(HttpURLConnection.HTTP_OK)
+            .extract().response();
+    }
+
+    private void createTestNobelPrize(final int year) {
+        final Person person = new PersonBuilder().build();
+        personService.createPerson(person);
+
+        NobelPrizeLaureateCreateType laureateType = NobelPrizeLaureateCreateBuilder.createLaureatePerson(person.getPersonIdentifier());
+        NobelPrizeLaureateCreate laureate = new NobelPrizeLaureateCreateBuilder(laureateType, 1, 1).build();
+
+        NobelPrizeCreate nobelPrize = new NobelPrizeCreateBuilder(NobelPrizeCategoryEnum.E, year, List.of(laureate)).build();
+        nobelPrizeService.createNobelPrize(nobelPrize);
+    }
+
+}
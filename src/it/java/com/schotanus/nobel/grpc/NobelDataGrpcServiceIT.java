@@ -0,0 +1,78 @@
+package com.schotanus.nobel.grpc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.schotanus.nobel.DataHelper;
+import com.schotanus.nobel.util.PersonBuilder;
+import io.quarkus.grpc.GrpcClient;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Multi;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+
+/**
+ * Tests {@link NobelDataGrpcService}, using a gRPC client on the gRPC server of the test instance.
+ */
+@QuarkusTest
+class NobelDataGrpcServiceIT {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @GrpcClient("nobel")
+    NobelData client;
+
+    private final DataHelper dataHelper;
+
+    NobelDataGrpcServiceIT(DataHelper dataHelper) {
+        this.dataHelper = dataHelper;
+    }
+
+    @AfterEach
+    void cleanUp() {
+        dataHelper.deletePersonsWithTestIdentifiers();
+    }
+
+    /**
+     * Tests {@link NobelDataGrpcService#createPersons(io.grpc.stub.StreamObserver)}
+     * and {@link NobelDataGrpcService#listPersons(ListPersonsRequest, io.grpc.stub.StreamObserver)}.
+     */
+    @Test
+    void createdPersonsShouldBeStreamed() {
+        final Person person = GrpcMapper.toMessage(new PersonBuilder().build());
+        final Person duplicate = person.toBuilder().setName("duplicate").build();
+        final Person invalid = GrpcMapper.toMessage(new PersonBuilder().build()).toBuilder().setBirthCountryCode("").build();
+
+        final CreateResult result = client.createPersons(Multi.createFrom().items(person, duplicate, invalid))
+            .await().atMost(TIMEOUT);
+
+        assertEquals(1, result.getCreated());
+        assertEquals(List.of(1, 2), result.getFailuresList().stream().map(CreateFailure::getIndex).toList());
+
+        final List<Person> persons = client.listPersons(ListPersonsRequest.newBuilder().setName(person.getName()).build())
+            .collect().asList().await().atMost(TIMEOUT);
+        assertEquals(1, persons.size());
+        assertEquals(person.getPersonIdentifier(), persons.getFirst().getPersonIdentifier());
+        assertEquals(person.getBirthDate(), persons.getFirst().getBirthDate());
+    }
+
+    /**
+     * Tests {@link NobelDataGrpcService#listNobelPrizes(ListNobelPrizesRequest, io.grpc.stub.StreamObserver)}.
+     */
+    @Test
+    void nobelPrizesShouldBeStreamed() {
+        final List<NobelPrize> nobelPrizes = client.listNobelPrizes(ListNobelPrizesRequest.newBuilder()
+                .setYear(1901)
+                .setCategory(NobelPrizeCategory.P)
+                .build())
+            .collect().asList().await().atMost(TIMEOUT);
+
+        assertEquals(1, nobelPrizes.size());
+        assertTrue(nobelPrizes.getFirst().getLaureatesList().getFirst().hasPerson());
+    }
+
+}
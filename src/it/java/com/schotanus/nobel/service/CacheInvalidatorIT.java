@@ -0,0 +1,60 @@
+package com.schotanus.nobel.service;
+
+import static com.schotanus.nobel.Tables.PERSON;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.schotanus.nobel.DataHelper;
+import com.schotanus.nobel.model.Person;
+import com.schotanus.nobel.util.PersonBuilder;
+import io.quarkus.test.junit.QuarkusTest;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+
+/**
+ * Tests {@link CacheInvalidator}.
+ */
+@QuarkusTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CacheInvalidatorIT {
+
+    private final PersonService personService;
+    private final DSLContext dsl;
+    private final DataHelper dataHelper;
+
+    CacheInvalidatorIT(PersonService personService, DSLContext dsl, DataHelper dataHelper) {
+        this.personService = personService;
+        this.dsl = dsl;
+        this.dataHelper = dataHelper;
+    }
+
+    @AfterAll
+    void cleanUp() {
+        dataHelper.deletePersonsWithTestIdentifiers();
+    }
+
+    /**
+     * A change made outside this instance (here: directly in the database) must evict the cached person.
+     */
+    @Test
+    void changeNotificationShouldEvictCachedPerson() throws InterruptedException {
+        final Person person = new PersonBuilder().build();
+        personService.createPerson(person);
+        assertEquals(person.getDisplayName(), personService.getPerson(person.getPersonIdentifier()).getDisplayName());
+
+        dsl.update(PERSON)
+            .set(PERSON.DISPLAYNAME, "Changed elsewhere")
+            .where(PERSON.PERSONIDENTIFIER.eq(person.getPersonIdentifier()))
+            .execute();
+
+        String displayName = null;
+        for (int attempt = 0; attempt < 100 && !"Changed elsewhere".equals(displayName); attempt++) {
+            Thread.sleep(100);
+            displayName = personService.getPerson(person.getPersonIdentifier()).getDisplayName();
+        }
+        assertEquals("Changed elsewhere", displayName);
+    }
+
+}
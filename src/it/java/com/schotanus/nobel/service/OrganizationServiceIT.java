@@ -1,5 +1,6 @@
 package com.schotanus.nobel.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -39,6 +40,8 @@ class OrganizationServiceIT {
      */
     @Test
     void getPrimaryKeyOfNonExistingShouldFail() {
-        assertThrows(NotFoundException.class, () -> service.getPrimaryKey("unknown primary key"));
+        final NotFoundException exception =
+            assertThrows(NotFoundException.class, () -> service.getPrimaryKey("unknown primary key"));
+        assertEquals("Organization not found: unknown primary key", exception.getMessage());
     }
 }
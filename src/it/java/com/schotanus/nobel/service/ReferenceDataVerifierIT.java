@@ -0,0 +1,47 @@
+package com.schotanus.nobel.service;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.schotanus.nobel.model.NobelPrizeCategoryEnum;
+import com.schotanus.nobel.reference.ReferenceData;
+import com.schotanus.nobel.repository.CountryRepository;
+import com.schotanus.nobel.repository.NobelPrizeCategoryRepository;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+
+/**
+ * Tests {@link ReferenceDataVerifier}.
+ */
+@QuarkusTest
+class ReferenceDataVerifierIT {
+
+    private final CountryRepository countryRepository;
+    private final NobelPrizeCategoryRepository categoryRepository;
+
+    ReferenceDataVerifierIT(CountryRepository countryRepository, NobelPrizeCategoryRepository categoryRepository) {
+        this.countryRepository = countryRepository;
+        this.categoryRepository = categoryRepository;
+    }
+
+    @Test
+    void everyCountryIdShouldEqualTheDatabaseId() {
+        final Map<String, Integer> countryIds = countryRepository.getPrimaryKeysOfCountries();
+        assertEquals(countryIds.size(), ReferenceData.getNumberOfCountries());
+        countryIds.forEach((code, id) -> {
+            assertEquals(id, ReferenceData.getCountryId(code), code);
+            assertEquals(code, ReferenceData.getCountryCode(id), code);
+        });
+    }
+
+    @Test
+    void everyCategoryIdShouldEqualTheDatabaseId() {
+        final Map<String, Integer> categoryIds = categoryRepository.getPrimaryKeys();
+        assertEquals(NobelPrizeCategoryEnum.values().length, categoryIds.size());
+        categoryIds.forEach((code, id) ->
+            assertEquals(id, ReferenceData.getCategoryId(NobelPrizeCategoryEnum.valueOf(code)), code));
+    }
+}
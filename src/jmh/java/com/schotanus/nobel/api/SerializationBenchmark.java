@@ -0,0 +1,117 @@
+package com.schotanus.nobel.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.schotanus.nobel.model.NobelPrize;
+import com.schotanus.nobel.model.NobelPrizeCategoryEnum;
+import com.schotanus.nobel.model.NobelPrizeLaureate;
+import com.schotanus.nobel.util.PersonBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Compares serializing a list of Nobel Prizes, like the response of GET /nobelprizes, with the default object mapper
+ * and with the object mapper customized by {@link JacksonCustomizer}.
+ * The time per serialization is reported as ns/op and the allocated bytes as gc.alloc.rate.norm (bytes/op).
+ * <p>
+ * Run with: <code>mvn -Pjmh test-compile exec:exec</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    /**
+     * Roughly the number of Nobel Prizes awarded so far.
+     */
+    @Param("650")
+    private int numberOfNobelPrizes;
+
+    private List<NobelPrize> nobelPrizes;
+    private ObjectWriter defaultWriter;
+    private ObjectWriter customizedWriter;
+
+    @Setup
+    public void setUp() {
+        nobelPrizes = new ArrayList<>(numberOfNobelPrizes);
+        for (int i = 0; i < numberOfNobelPrizes; i++) {
+            nobelPrizes.add(createNobelPrize(1901 + i / 6, NobelPrizeCategoryEnum.values()[i % 6]));
+        }
+
+        defaultWriter = createObjectMapper().writer();
+        final ObjectMapper customizedMapper = createObjectMapper();
+        new JacksonCustomizer().customize(customizedMapper);
+        customizedWriter = customizedMapper.writer();
+    }
+
+    @Benchmark
+    public byte[] defaultMapper() throws JsonProcessingException {
+        return defaultWriter.writeValueAsBytes(nobelPrizes);
+    }
+
+    @Benchmark
+    public byte[] customizedMapper() throws JsonProcessingException {
+        return customizedWriter.writeValueAsBytes(nobelPrizes);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(SerializationBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+
+    /**
+     * Creates an object mapper with the settings Quarkus uses by default.
+     */
+    private static ObjectMapper createObjectMapper() {
+        return new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static NobelPrize createNobelPrize(final int year, final NobelPrizeCategoryEnum category) {
+        final List<NobelPrizeLaureate> laureates = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            final NobelPrizeLaureate laureate = new NobelPrizeLaureate();
+            laureate.setPerson(new PersonBuilder().description("Laureate of " + year).url("https://example.com").build());
+            laureate.setDescription("For services rendered");
+            laureate.setFractionNominator(1);
+            laureate.setFractionDenominator(2);
+            laureates.add(laureate);
+        }
+
+        final NobelPrize nobelPrize = new NobelPrize();
+        nobelPrize.setYear(year);
+        nobelPrize.setCategory(category);
+        nobelPrize.setUrl("https://www.nobelprize.org/prizes/" + year);
+        nobelPrize.setLaureates(laureates);
+
+        return nobelPrize;
+    }
+
+}
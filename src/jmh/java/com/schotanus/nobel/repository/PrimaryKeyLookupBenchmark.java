@@ -0,0 +1,102 @@
+package com.schotanus.nobel.repository;
+
+import static com.schotanus.nobel.tables.Person.PERSON;
+import static org.jooq.impl.DSL.param;
+import static org.jooq.impl.DSL.select;
+
+import org.jooq.DSLContext;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.jooq.Record1;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultExecuteListenerProvider;
+import org.jooq.impl.SQLDataType;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Compares looking up the primary key of a person by building and rendering a jOOQ query for every call,
+ * with the lookup by {@link PrimaryKeyLookup}, that renders the SQL only once.
+ * Both are executed by a {@link DSLContext} with an ExecuteListener, like the ones of the application,
+ * against a mocked connection, so only the work done by jOOQ is measured.
+ * The time per lookup is reported as ns/op and the allocated bytes as gc.alloc.rate.norm (bytes/op).
+ * <p>
+ * Run with: <code>mvn -Pjmh test-compile exec:exec -Dbenchmark=com.schotanus.nobel.repository.PrimaryKeyLookupBenchmark</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimaryKeyLookupBenchmark {
+
+    private static final String PERSON_IDENTIFIER = "AlbertEinstein";
+
+    private DSLContext dsl;
+    private PrimaryKeyLookup primaryKeyLookup;
+
+    @Setup
+    public void setup() {
+        final DSLContext mock = DSL.using(SQLDialect.POSTGRES);
+        final Record1<Integer> primaryKey = mock.newRecord(DSL.field("id", SQLDataType.INTEGER));
+        primaryKey.value1(1);
+        final MockResult result = new MockResult(primaryKey);
+
+        dsl = DSL.using(new MockConnection(context -> new MockResult[] {result}), SQLDialect.POSTGRES);
+        dsl.configuration().set(new DefaultExecuteListenerProvider(new CountingListener()));
+        primaryKeyLookup = new PrimaryKeyLookup(
+            select(PERSON.ID).from(PERSON).where(PERSON.PERSONIDENTIFIER.eq(param("personIdentifier", String.class))));
+    }
+
+    @Benchmark
+    public Integer renderedPerCall() {
+        return dsl.select(PERSON.ID).from(PERSON).where(PERSON.PERSONIDENTIFIER.eq(PERSON_IDENTIFIER))
+            .fetchOne(PERSON.ID);
+    }
+
+    @Benchmark
+    public Integer renderedOnce() {
+        return primaryKeyLookup.fetch(dsl, PERSON_IDENTIFIER);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(PrimaryKeyLookupBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+
+    /**
+     * Listener that is called for every execution, so calling the listeners is part of the measured work.
+     */
+    private static final class CountingListener implements ExecuteListener {
+
+        private long executions;
+
+        @Override
+        public void executeStart(final ExecuteContext context) {
+            executions++;
+        }
+
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.schotanus.nobel.analytics;
+
+
+/**
+ * Properties laureates can be grouped by.
+ */
+public enum GroupBy {
+    CATEGORY,
+    YEAR,
+    DECADE,
+    COUNTRY,
+    AGE,
+    SHARED
+}
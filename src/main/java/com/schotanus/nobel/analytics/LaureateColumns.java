@@ -0,0 +1,287 @@
+package com.schotanus.nobel.analytics;
+
+import com.schotanus.nobel.model.LaureateAggregate;
+import com.schotanus.nobel.model.NobelPrizeCategoryEnum;
+import com.schotanus.nobel.reference.ReferenceData;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+
+/**
+ * In memory, column oriented store of all laureates, for fast ad-hoc aggregations.
+ * Every property of a laureate is stored in its own array of primitives, so a filter on a single property
+ * only has to scan a single, compact array.
+ * Filters are evaluated into a bitset (a bit per laureate) and large stores are scanned in parallel.
+ * <p>
+ * Appending is done under a lock, selecting is lock free:
+ * an append writes beyond the size of the current {@link Columns} and then publishes new columns.
+ */
+public final class LaureateColumns {
+
+    /**
+     * Stores with fewer laureates are scanned sequentially, since parallelism costs more than it gains.
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NO_COUNTRY = 0;
+    private static final int NO_BIRTH_DATE = Integer.MIN_VALUE;
+    private static final byte NO_AGE = -1;
+    private static final MonthDay AWARD_DAY = MonthDay.of(12, 10);
+    private static final NobelPrizeCategoryEnum[] CATEGORIES = NobelPrizeCategoryEnum.values();
+
+    /**
+     * Columns containing the first size laureates.
+     */
+    private record Columns(
+            int size,
+            int[] year,
+            byte[] category,
+            short[] countryId,
+            int[] birthEpochDay,
+            byte[] age,
+            byte[] fractionNominator,
+            byte[] fractionDenominator) {
+
+        Columns grow(final int capacity) {
+            return new Columns(size,
+                Arrays.copyOf(year, capacity),
+                Arrays.copyOf(category, capacity),
+                Arrays.copyOf(countryId, capacity),
+                Arrays.copyOf(birthEpochDay, capacity),
+                Arrays.copyOf(age, capacity),
+                Arrays.copyOf(fractionNominator, capacity),
+                Arrays.copyOf(fractionDenominator, capacity));
+        }
+
+        Columns withSize(final int newSize) {
+            return new Columns(newSize, year, category, countryId, birthEpochDay, age, fractionNominator,
+                fractionDenominator);
+        }
+    }
+
+    private volatile Columns columns = new Columns(0, new int[INITIAL_CAPACITY], new byte[INITIAL_CAPACITY],
+        new short[INITIAL_CAPACITY], new int[INITIAL_CAPACITY], new byte[INITIAL_CAPACITY], new byte[INITIAL_CAPACITY],
+        new byte[INITIAL_CAPACITY]);
+
+    /**
+     * Appends a single laureate.
+     *
+     * @param year Year the Nobel Prize was awarded.
+     * @param category Category of the Nobel Prize.
+     * @param countryId Primary key of the country the laureate was born in, or null for organizations.
+     * @param birthDate Birth date of the laureate, or null for organizations.
+     * @param fractionNominator Nominator of the fraction of the Nobel Prize awarded to the laureate.
+     * @param fractionDenominator Denominator of the fraction of the Nobel Prize awarded to the laureate.
+     */
+    public synchronized void append(
+            final int year,
+            @Nonnull final NobelPrizeCategoryEnum category,
+            @Nullable final Integer countryId,
+            @Nullable final LocalDate birthDate,
+            final int fractionNominator,
+            final int fractionDenominator) {
+        Columns current = columns;
+        final int row = current.size();
+        if (row == current.year().length) {
+            current = current.grow(row * 2);
+        }
+
+        current.year()[row] = year;
+        current.category()[row] = (byte) category.ordinal();
+        current.countryId()[row] = countryId == null ? NO_COUNTRY : countryId.shortValue();
+        current.birthEpochDay()[row] = birthDate == null ? NO_BIRTH_DATE : (int) birthDate.toEpochDay();
+        current.age()[row] = birthDate == null ? NO_AGE : (byte) ageAtAward(year, birthDate);
+        current.fractionNominator()[row] = (byte) fractionNominator;
+        current.fractionDenominator()[row] = (byte) fractionDenominator;
+
+        columns = current.withSize(row + 1);
+    }
+
+    /**
+     * Gets the number of laureates.
+     *
+     * @return The number of laureates.
+     */
+    public int size() {
+        return columns.size();
+    }
+
+    /**
+     * Aggregates all laureates matching the supplied filter.
+     *
+     * @param filter Selection criteria.
+     * @param groupBy Property to group the laureates by.
+     * @return Number of laureates and their share of Nobel Prizes per group, ordered by group.
+     */
+    @Nonnull
+    public List<LaureateAggregate> aggregate(@Nonnull final LaureateFilter filter, @Nonnull final GroupBy groupBy) {
+        final Columns snapshot = columns;
+        final long[] bits = filter(snapshot, filter);
+        final int keys = numberOfKeys(groupBy);
+
+        final Accumulator total = words(bits.length, snapshot.size()).collect(
+            () -> new Accumulator(keys),
+            (accumulator, word) -> accumulator.add(snapshot, groupBy, bits, word),
+            Accumulator::merge);
+
+        final List<LaureateAggregate> result = new ArrayList<>();
+        for (int key = 0; key < keys; key++) {
+            if (total.counts[key] > 0) {
+                final LaureateAggregate aggregate = new LaureateAggregate();
+                aggregate.setKey(keyToString(groupBy, key));
+                aggregate.setLaureateCount((int) total.counts[key]);
+                aggregate.setPrizeShare(total.shares[key]);
+                result.add(aggregate);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Evaluates the filter into a bitset, a predicate at a time.
+     */
+    private static long[] filter(final Columns columns, final LaureateFilter filter) {
+        final int size = columns.size();
+        final long[] bits = new long[(size + 63) >>> 6];
+        Arrays.fill(bits, -1L);
+        if (size % 64 != 0) {
+            bits[bits.length - 1] = (1L << size) - 1;
+        }
+
+        if (filter.category() != null) {
+            final byte category = (byte) filter.category().ordinal();
+            and(bits, size, row -> columns.category()[row] == category);
+        }
+        if (filter.yearFrom() != null || filter.yearTo() != null) {
+            final int from = filter.yearFrom() == null ? Integer.MIN_VALUE : filter.yearFrom();
+            final int to = filter.yearTo() == null ? Integer.MAX_VALUE : filter.yearTo();
+            and(bits, size, row -> columns.year()[row] >= from && columns.year()[row] <= to);
+        }
+        if (filter.countryId() != null) {
+            final short countryId = filter.countryId().shortValue();
+            and(bits, size, row -> columns.countryId()[row] == countryId);
+        }
+        if (filter.ageFrom() != null || filter.ageTo() != null) {
+            final int from = filter.ageFrom() == null ? 0 : filter.ageFrom();
+            final int to = filter.ageTo() == null ? Integer.MAX_VALUE : filter.ageTo();
+            and(bits, size, row -> columns.age()[row] != NO_AGE && columns.age()[row] >= from
+                && columns.age()[row] <= to);
+        }
+        if (filter.shared() != null) {
+            final boolean shared = filter.shared();
+            and(bits, size, row -> (columns.fractionNominator()[row] != columns.fractionDenominator()[row]) == shared);
+        }
+
+        return bits;
+    }
+
+    /**
+     * Clears the bits of all rows that do not match the supplied predicate.
+     */
+    private static void and(final long[] bits, final int size, final IntPredicate predicate) {
+        words(bits.length, size).forEach(word -> {
+            long mask = 0;
+            final int first = word << 6;
+            final int last = Math.min(first + 64, size);
+            for (int row = first; row < last; row++) {
+                if (predicate.test(row)) {
+                    mask |= 1L << (row - first);
+                }
+            }
+            bits[word] &= mask;
+        });
+    }
+
+    private static IntStream words(final int numberOfWords, final int size) {
+        final IntStream words = IntStream.range(0, numberOfWords);
+        return size >= PARALLEL_THRESHOLD ? words.parallel() : words;
+    }
+
+    /**
+     * Number of laureates and their share of Nobel Prizes, per key.
+     */
+    private static final class Accumulator {
+        private final long[] counts;
+        private final double[] shares;
+
+        Accumulator(final int keys) {
+            counts = new long[keys];
+            shares = new double[keys];
+        }
+
+        void add(final Columns columns, final GroupBy groupBy, final long[] bits, final int word) {
+            long remaining = bits[word];
+            while (remaining != 0) {
+                final int row = (word << 6) + Long.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+
+                final int key = key(columns, groupBy, row);
+                if (key >= 0 && key < counts.length) {
+                    counts[key]++;
+                    shares[key] += (double) columns.fractionNominator()[row] / columns.fractionDenominator()[row];
+                }
+            }
+        }
+
+        void merge(final Accumulator other) {
+            for (int key = 0; key < counts.length; key++) {
+                counts[key] += other.counts[key];
+                shares[key] += other.shares[key];
+            }
+        }
+    }
+
+    private static int numberOfKeys(final GroupBy groupBy) {
+        return switch (groupBy) {
+            case CATEGORY -> CATEGORIES.length;
+            case YEAR -> 3000;
+            case DECADE -> 300;
+            case COUNTRY -> ReferenceData.getMaxCountryId() + 1;
+            case AGE -> Byte.MAX_VALUE + 1;
+            case SHARED -> 2;
+        };
+    }
+
+    /**
+     * Gets the key of the group the supplied row belongs to, or -1 when the row does not belong to any group.
+     */
+    private static int key(final Columns columns, final GroupBy groupBy, final int row) {
+        return switch (groupBy) {
+            case CATEGORY -> columns.category()[row];
+            case YEAR -> columns.year()[row];
+            case DECADE -> columns.year()[row] / 10;
+            case COUNTRY -> columns.countryId()[row] == NO_COUNTRY ? -1 : columns.countryId()[row];
+            case AGE -> columns.age()[row];
+            case SHARED -> columns.fractionNominator()[row] != columns.fractionDenominator()[row] ? 1 : 0;
+        };
+    }
+
+    private static String keyToString(final GroupBy groupBy, final int key) {
+        return switch (groupBy) {
+            case CATEGORY -> CATEGORIES[key].name();
+            case YEAR, AGE -> String.valueOf(key);
+            case DECADE -> String.valueOf(key * 10);
+            case COUNTRY -> ReferenceData.getCountryCode(key);
+            case SHARED -> key == 1 ? "shared" : "solo";
+        };
+    }
+
+    /**
+     * Calculates the age of a laureate on the day Nobel Prizes are traditionally awarded (December 10th).
+     */
+    private static int ageAtAward(final int year, final LocalDate birthDate) {
+        final int age = year - birthDate.getYear();
+        return MonthDay.from(birthDate).isAfter(AWARD_DAY) ? age - 1 : age;
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.schotanus.nobel.analytics;
+
+import com.schotanus.nobel.model.NobelPrizeCategoryEnum;
+import jakarta.annotation.Nullable;
+
+
+/**
+ * Selection criteria for laureates. Null means: do not filter on this property.
+ *
+ * @param category Category of the Nobel Prize.
+ * @param yearFrom First year the Nobel Prize was awarded (inclusive).
+ * @param yearTo Last year the Nobel Prize was awarded (inclusive).
+ * @param countryId Primary key of the country the laureate was born in.
+ * @param ageFrom Minimum age of the laureate, at the time the Nobel Prize was awarded.
+ * @param ageTo Maximum age of the laureate, at the time the Nobel Prize was awarded.
+ * @param shared True for shared Nobel Prizes, false for Nobel Prizes awarded to a single laureate.
+ */
+public record LaureateFilter(
+        @Nullable NobelPrizeCategoryEnum category,
+        @Nullable Integer yearFrom,
+        @Nullable Integer yearTo,
+        @Nullable Integer countryId,
+        @Nullable Integer ageFrom,
+        @Nullable Integer ageTo,
+        @Nullable Boolean shared) {
+
+    /**
+     * A filter that selects all laureates.
+     */
+    public static final LaureateFilter ALL = new LaureateFilter(null, null, null, null, null, null, null);
+}
@@ -0,0 +1,32 @@
+package com.schotanus.nobel.api;
+
+import com.schotanus.nobel.service.AnalyticsService;
+import jakarta.ws.rs.core.Response;
+
+
+/**
+ * Implements the generated {@link AnalyticsApi}.
+ */
+public class AnalyticsApiImpl implements AnalyticsApi {
+
+    private final AnalyticsService service;
+
+    AnalyticsApiImpl(AnalyticsService service) {
+        this.service = service;
+    }
+
+    @Override
+    public Response getLaureateAggregates(
+            String groupBy,
+            String category,
+            Integer yearFrom,
+            Integer yearTo,
+            String countryCode,
+            Integer ageFrom,
+            Integer ageTo,
+            Boolean shared) {
+        return Response.ok(service.getLaureateAggregates(
+            groupBy, category, yearFrom, yearTo, countryCode, ageFrom, ageTo, shared)).build();
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.schotanus.nobel.api;
+
+import com.schotanus.nobel.service.ChangeFeedService;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+
+
+/**
+ * Server-sent events feed of all changes to persons, organizations and Nobel Prizes.
+ * This resource is not generated from nobel.yml, since the generator does not support server-sent events.
+ * <p>
+ * Every event has an id, name "change" and JSON data: {"id", "type", "identifier", "version"}.
+ * A client that reconnects with a Last-Event-ID header (or lastEventId query parameter) receives the events it missed.
+ * When these events are no longer available, the client receives a "reset" event and should reload all data.
+ */
+@Path("/changes")
+public class ChangeFeedResource {
+
+    private final ChangeFeedService service;
+
+    ChangeFeedResource(ChangeFeedService service) {
+        this.service = service;
+    }
+
+    /**
+     * Subscribes to the change feed.
+     *
+     * @param sink Sink to send the events to.
+     * @param sse Factory for the events.
+     * @param lastEventIdHeader Id of the last received event, as sent by browsers when reconnecting.
+     * @param lastEventId Id of the last received event, for clients that can not send headers.
+     */
+    @GET
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    public void getChanges(
+            @Context SseEventSink sink,
+            @Context Sse sse,
+            @HeaderParam(HttpHeaders.LAST_EVENT_ID_HEADER) String lastEventIdHeader,
+            @QueryParam("lastEventId") String lastEventId) {
+        service.subscribe(sink, sse, lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.schotanus.nobel.api;
+
+import com.schotanus.nobel.datasource.DefaultDeadline;
+import com.schotanus.nobel.repository.ExportFormat;
+import com.schotanus.nobel.service.ExportService;
+import jakarta.annotation.Nullable;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import java.util.Locale;
+
+
+/**
+ * Implements the generated {@link ExportApi}.
+ * The exports are streamed, so memory usage does not depend on the size of the export.
+ * Exporting takes a while, so the default deadline is longer than that of other requests.
+ */
+@DefaultDeadline(seconds = 300)
+public class ExportApiImpl implements ExportApi {
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+
+    private final ExportService service;
+
+    ExportApiImpl(ExportService service) {
+        this.service = service;
+    }
+
+    @Override
+    public Response exportPersons(@Nullable String format, @Nullable Boolean snapshot) {
+        final ExportFormat exportFormat = service.getFormat(format);
+        return export("persons", exportFormat,
+            outputStream -> service.exportPersons(exportFormat, Boolean.TRUE.equals(snapshot), outputStream));
+    }
+
+    @Override
+    public Response exportOrganizations(@Nullable String format, @Nullable Boolean snapshot) {
+        final ExportFormat exportFormat = service.getFormat(format);
+        return export("organizations", exportFormat,
+            outputStream -> service.exportOrganizations(exportFormat, Boolean.TRUE.equals(snapshot), outputStream));
+    }
+
+    @Override
+    public Response exportLaureates(@Nullable String format, @Nullable Boolean snapshot) {
+        final ExportFormat exportFormat = service.getFormat(format);
+        return export("laureates", exportFormat,
+            outputStream -> service.exportLaureates(exportFormat, Boolean.TRUE.equals(snapshot), outputStream));
+    }
+
+    private static Response export(final String name, final ExportFormat format, final StreamingOutput output) {
+        final String extension = format.name().toLowerCase(Locale.ROOT);
+        return Response.ok(output)
+            .type(format == ExportFormat.NDJSON ? NDJSON : CSV)
+            .header("Content-Disposition", "attachment; filename=\"" + name + "." + extension + "\"")
+            .build();
+    }
+
+}
@@ -1,6 +1,8 @@
 package com.schotanus.nobel.api;
 
+import com.schotanus.nobel.concurrent.ConcurrencyLimited;
 import com.schotanus.nobel.model.NobelPrizeCreate;
+import com.schotanus.nobel.service.IdempotencyService;
 import com.schotanus.nobel.service.NobelPrizeService;
 import jakarta.annotation.Nullable;
 import jakarta.validation.Valid;
@@ -13,22 +15,28 @@ import java.net.URI;
 /**
  * Implements the generated {@link NobelprizesApi}.
  */
+@ConcurrencyLimited
 public class NobelPrizeApiImpl implements NobelprizesApi {
 
     private final NobelPrizeService service;
+    private final IdempotencyService idempotencyService;
 
-    NobelPrizeApiImpl(NobelPrizeService service) {
+    NobelPrizeApiImpl(NobelPrizeService service, IdempotencyService idempotencyService) {
         this.service = service;
+        this.idempotencyService = idempotencyService;
     }
 
     @Override
-    public Response createNobelPrize(@NotNull @Valid NobelPrizeCreate nobelPrize) {
-        return Response.created(URI.create(service.createNobelPrize(nobelPrize))).build();
+    public Response createNobelPrize(
+            @NotNull @Valid NobelPrizeCreate nobelPrize,
+            @Nullable final String idempotencyKey) {
+        return Response.created(URI.create(idempotencyService.create(
+            idempotencyKey, "createNobelPrize", nobelPrize, () -> service.createNobelPrize(nobelPrize)))).build();
     }
 
     @Override
-    public Response getNobelPrizes(@Nullable Integer year, @Nullable String category) {
-        return Response.ok(service.getNobelPrizes(year, category)).build();
+    public Response getNobelPrizes(@Nullable Integer year, @Nullable String category, @Nullable String expand) {
+        return Response.ok(service.getNobelPrizes(year, category, expand)).build();
     }
 
 }
@@ -1,11 +1,13 @@
 package com.schotanus.nobel.api;
 
+import com.schotanus.nobel.concurrent.ConcurrencyLimited;
 import com.schotanus.nobel.service.NobelPrizeCategoryService;
 import jakarta.ws.rs.core.Response;
 
 /**
  * Implements the generated {@link NobelprizecategoriesApi}.
  */
+@ConcurrencyLimited
 public class NobelPrizeCategoryApiImpl implements NobelprizecategoriesApi {
 
     private final NobelPrizeCategoryService service;
@@ -1,6 +1,9 @@
 package com.schotanus.nobel.api;
 
+import com.schotanus.nobel.concurrent.ConcurrencyLimited;
 import com.schotanus.nobel.model.Organization;
+import com.schotanus.nobel.service.IdempotencyService;
+import com.schotanus.nobel.service.NobelPrizeService;
 import com.schotanus.nobel.service.OrganizationService;
 import jakarta.annotation.Nullable;
 import jakarta.validation.Valid;
@@ -13,17 +16,28 @@ import java.net.URI;
 /**
  * Implements the generated {@link OrganizationsApi}
  */
+@ConcurrencyLimited
 public class OrganizationApiImpl implements OrganizationsApi {
 
     private final OrganizationService service;
+    private final NobelPrizeService nobelPrizeService;
+    private final IdempotencyService idempotencyService;
 
-    OrganizationApiImpl(OrganizationService service) {
+    OrganizationApiImpl(
+            OrganizationService service,
+            NobelPrizeService nobelPrizeService,
+            IdempotencyService idempotencyService) {
         this.service = service;
+        this.nobelPrizeService = nobelPrizeService;
+        this.idempotencyService = idempotencyService;
     }
 
     @Override
-    public Response createOrganization(@NotNull @Valid final Organization organization) {
-        return Response.created(URI.create(service.createOrganization(organization))).build();
+    public Response createOrganization(
+            @NotNull @Valid final Organization organization,
+            @Nullable final String idempotencyKey) {
+        return Response.created(URI.create(idempotencyService.create(
+            idempotencyKey, "createOrganization", organization, () -> service.createOrganization(organization)))).build();
     }
 
     @Override
@@ -32,8 +46,20 @@ public class OrganizationApiImpl implements OrganizationsApi {
     }
 
     @Override
-    public Response getOrganizations(@Nullable String name) {
-        return Response.ok(service.getOrganizations(name)).build();
+    public Response getNobelPrizesOfOrganization(final String id) {
+        return Response.ok(nobelPrizeService.getNobelPrizesOfOrganization(id)).build();
+    }
+
+    @Override
+    public Response getOrganizations(@Nullable String name, @Nullable String fields, @Nullable Integer limit,
+            @Nullable Boolean count, @Nullable Boolean exact) {
+        return TotalCountHeaders.ok(service.getOrganizations(name, fields, limit, Boolean.TRUE.equals(count),
+            Boolean.TRUE.equals(exact)));
+    }
+
+    @Override
+    public Response getOrganizationsByIdentifiers(final String ids) {
+        return Response.ok(service.getOrganizationsByIdentifiers(ids)).build();
     }
 
 }
@@ -1,7 +1,12 @@
 package com.schotanus.nobel.api;
 
+import com.schotanus.nobel.concurrent.ConcurrencyLimited;
 import com.schotanus.nobel.model.Person;
+import com.schotanus.nobel.repository.PersonCriteria;
+import com.schotanus.nobel.service.IdempotencyService;
+import com.schotanus.nobel.service.NobelPrizeService;
 import com.schotanus.nobel.service.PersonService;
+import jakarta.annotation.Nullable;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.core.Response;
@@ -13,17 +18,26 @@ import java.net.URI;
 /**
  * Implements the generated {@link PersonsApi}
  */
+@ConcurrencyLimited
 public class PersonApiImpl implements PersonsApi {
 
     private final PersonService service;
+    private final NobelPrizeService nobelPrizeService;
+    private final IdempotencyService idempotencyService;
 
-    PersonApiImpl(PersonService service) {
+    PersonApiImpl(
+            PersonService service,
+            NobelPrizeService nobelPrizeService,
+            IdempotencyService idempotencyService) {
         this.service = service;
+        this.nobelPrizeService = nobelPrizeService;
+        this.idempotencyService = idempotencyService;
     }
 
     @Override
-    public Response createPerson(@NotNull @Valid final Person person) {
-        return Response.created(URI.create(service.createPerson(person))).build();
+    public Response createPerson(@NotNull @Valid final Person person, @Nullable final String idempotencyKey) {
+        return Response.created(URI.create(idempotencyService.create(
+            idempotencyKey, "createPerson", person, () -> service.createPerson(person)))).build();
     }
 
     @Override
@@ -32,12 +46,40 @@ public class PersonApiImpl implements PersonsApi {
     }
 
     @Override
-    public Response getPersons(String name, String countryCode, Integer yearOfBirth, Integer yearOfDeath) {
-        return Response.ok(service.getPersons(name, countryCode, yearOfBirth, yearOfDeath)).build();
+    public Response getNobelPrizesOfPerson(final String id) {
+        return Response.ok(nobelPrizeService.getNobelPrizesOfPerson(id)).build();
+    }
+
+    @Override
+    public Response getPersons(String name, String countryCode, Integer yearOfBirth, Integer yearOfDeath,
+            Integer yearOfBirthFrom, Integer yearOfBirthTo, Integer yearOfDeathFrom, Integer yearOfDeathTo,
+            Boolean living, String fields, Integer limit, Boolean count, Boolean exact) {
+        // A single year is a range of one year, when combined with a range only the overlap is selected
+        final PersonCriteria criteria = new PersonCriteria(name, countryCode,
+            max(yearOfBirth, yearOfBirthFrom), min(yearOfBirth, yearOfBirthTo),
+            max(yearOfDeath, yearOfDeathFrom), min(yearOfDeath, yearOfDeathTo),
+            living);
+        return TotalCountHeaders.ok(service.getPersons(criteria, fields, limit, Boolean.TRUE.equals(count),
+            Boolean.TRUE.equals(exact)));
+    }
+
+    @Override
+    public Response getPersonsByIdentifiers(final String ids) {
+        return Response.ok(service.getPersonsByIdentifiers(ids)).build();
     }
 
     @Override
     public Response updatePerson(@NotNull @Valid Person person) {
         return Response.ok(service.updatePerson(person)).build();
     }
+
+    @Nullable
+    private static Integer max(@Nullable final Integer first, @Nullable final Integer second) {
+        return first == null ? second : second == null ? first : Integer.valueOf(Math.max(first, second));
+    }
+
+    @Nullable
+    private static Integer min(@Nullable final Integer first, @Nullable final Integer second) {
+        return first == null ? second : second == null ? first : Integer.valueOf(Math.min(first, second));
+    }
 }
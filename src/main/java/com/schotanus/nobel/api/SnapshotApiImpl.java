@@ -0,0 +1,179 @@
+package com.schotanus.nobel.api;
+
+import com.schotanus.nobel.service.SnapshotService;
+import com.schotanus.nobel.service.SnapshotService.GeneratedSnapshot;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.jboss.resteasy.reactive.PathPart;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+/**
+ * Implements the generated {@link SnapshotApi}.
+ * The snapshot file is sent as is (using sendfile when possible), with a gzip content encoding.
+ * Clients that do not accept the gzip content encoding get the file as application/gzip.
+ */
+public class SnapshotApiImpl implements SnapshotApi {
+
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+    private static final Pattern GZIP_NOT_ACCEPTED = Pattern.compile(";\\s*q=0(\\.0{0,3})?\\s*$");
+    private static final MediaType APPLICATION_GZIP_TYPE = new MediaType("application", "gzip");
+    private static final String RETRY_AFTER_SECONDS = "10";
+
+    private final SnapshotService service;
+
+    /**
+     * A single byte range, with inclusive bounds.
+     */
+    private record ByteRange(long first, long last) {
+    }
+
+    /**
+     * Returned by {@link #parseRange(String, long)} for a valid range that does not overlap the snapshot.
+     */
+    private static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+    SnapshotApiImpl(SnapshotService service) {
+        this.service = service;
+    }
+
+    @Override
+    public Response getSnapshot(
+            @Nullable String range,
+            @Nullable String ifNoneMatch,
+            @Nullable String ifRange,
+            @Nullable String acceptEncoding) {
+        final GeneratedSnapshot snapshot = service.getSnapshot();
+        if (snapshot == null) {
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .build();
+        }
+
+        final EntityTag eTag = new EntityTag(snapshot.eTag());
+        if (ifNoneMatch != null && (ifNoneMatch.equals("*") || ifNoneMatch.contains(eTag.toString()))) {
+            return Response.notModified(eTag).build();
+        }
+
+        final long length = snapshot.length();
+        final ByteRange byteRange = range == null || !isCurrent(ifRange, eTag, snapshot)
+            ? null : parseRange(range, length);
+        if (byteRange == UNSATISFIABLE) {
+            return Response.status(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE)
+                .header("Content-Range", "bytes */" + length)
+                .build();
+        }
+
+        final long first = byteRange == null ? 0 : byteRange.first();
+        final long last = byteRange == null ? length - 1 : byteRange.last();
+        final Response.ResponseBuilder builder = Response
+            .status(byteRange == null ? Response.Status.OK : Response.Status.PARTIAL_CONTENT)
+            .entity(new PathPart(snapshot.file(), first, last - first + 1))
+            .tag(eTag)
+            .lastModified(Date.from(snapshot.generatedAt()))
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+            .header("Accept-Ranges", "bytes");
+        if (acceptsGzip(acceptEncoding)) {
+            builder.type(MediaType.APPLICATION_JSON_TYPE).header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        } else {
+            builder.type(APPLICATION_GZIP_TYPE);
+        }
+        if (byteRange != null) {
+            builder.header("Content-Range", "bytes " + first + "-" + last + "/" + length);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Determines whether the snapshot still is the one identified by the If-Range header.
+     * An entity tag must match exactly; a date must be equal to the Last-Modified date of the snapshot.
+     *
+     * @param ifRange Value of the If-Range header.
+     * @param eTag Entity tag of the snapshot.
+     * @param snapshot The snapshot.
+     * @return True when there is no If-Range header or it identifies the snapshot.
+     */
+    private static boolean isCurrent(
+            @Nullable final String ifRange, @Nonnull final EntityTag eTag, @Nonnull final GeneratedSnapshot snapshot) {
+        if (ifRange == null) {
+            return true;
+        }
+        final String value = ifRange.trim();
+        if (value.startsWith("\"") || value.startsWith("W/")) {
+            // Weak entity tags never match
+            return value.equals(eTag.toString());
+        }
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant()
+                .equals(snapshot.generatedAt().truncatedTo(ChronoUnit.SECONDS));
+        } catch (DateTimeParseException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Parses a Range header.
+     *
+     * @param range Value of the Range header.
+     * @param length Length of the snapshot.
+     * @return The requested range, {@link #UNSATISFIABLE} when it lies beyond the snapshot,
+     *  or null when it is not a valid single byte range, in which case it must be ignored.
+     */
+    @Nullable
+    private static ByteRange parseRange(@Nonnull final String range, final long length) {
+        final Matcher matcher = RANGE.matcher(range.trim());
+        if (!matcher.matches() || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+            return null;
+        }
+        try {
+            if (matcher.group(1).isEmpty()) {
+                // Suffix range: the last n bytes
+                final long suffixLength = Long.parseLong(matcher.group(2));
+                return suffixLength == 0 || length == 0
+                    ? UNSATISFIABLE : new ByteRange(Math.max(0, length - suffixLength), length - 1);
+            }
+            final long first = Long.parseLong(matcher.group(1));
+            final long last = matcher.group(2).isEmpty() ? length - 1 : Long.parseLong(matcher.group(2));
+            if (last < first) {
+                return null;
+            }
+            return first >= length ? UNSATISFIABLE : new ByteRange(first, Math.min(last, length - 1));
+        } catch (NumberFormatException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Determines whether the client accepts the gzip content encoding.
+     *
+     * @param acceptEncoding Value of the Accept-Encoding header.
+     * @return True when gzip (or any encoding) is accepted with a quality above zero.
+     */
+    private static boolean acceptsGzip(@Nullable final String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            final String name = coding.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+            if ((name.equals("gzip") || name.equals("x-gzip") || name.equals("*"))
+                    && !GZIP_NOT_ACCEPTED.matcher(coding).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
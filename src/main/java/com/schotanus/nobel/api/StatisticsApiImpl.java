@@ -0,0 +1,30 @@
+package com.schotanus.nobel.api;
+
+import com.schotanus.nobel.concurrent.ConcurrencyLimited;
+import com.schotanus.nobel.service.StatisticsService;
+import jakarta.ws.rs.core.Response;
+
+
+/**
+ * Implements the generated {@link StatisticsApi}.
+ */
+@ConcurrencyLimited
+public class StatisticsApiImpl implements StatisticsApi {
+
+    private final StatisticsService service;
+
+    StatisticsApiImpl(StatisticsService service) {
+        this.service = service;
+    }
+
+    @Override
+    public Response getCategoryStatistics() {
+        return Response.ok(service.getCategoryStatistics()).build();
+    }
+
+    @Override
+    public Response getCountryStatistics() {
+        return Response.ok(service.getCountryStatistics()).build();
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.schotanus.nobel.api;
+
+import com.schotanus.nobel.repository.CountedList;
+import jakarta.annotation.Nonnull;
+import jakarta.ws.rs.core.Response;
+
+
+/**
+ * Creates the responses of list endpoints, with the X-Total-Count headers when the results were counted.
+ */
+final class TotalCountHeaders {
+
+    static final String TOTAL_COUNT = "X-Total-Count";
+    static final String TOTAL_COUNT_ESTIMATED = "X-Total-Count-Estimated";
+
+    private TotalCountHeaders() {
+    }
+
+    @Nonnull
+    static Response ok(@Nonnull final CountedList<?> list) {
+        final Response.ResponseBuilder builder = Response.ok(list.items());
+        if (list.totalCount() != null) {
+            builder.header(TOTAL_COUNT, list.totalCount());
+            builder.header(TOTAL_COUNT_ESTIMATED, list.estimated());
+        }
+
+        return builder.build();
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.schotanus.nobel.concurrent;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Concurrency limit that adapts to the observed latency, based on the gradient algorithm of Netflix'
+ * concurrency-limits.
+ * The latency of every call is compared with the long term average latency:
+ * while calls are as fast as usual the limit grows, when they slow down (the database queues work)
+ * the limit shrinks proportionally, so excess calls are rejected fast instead of waiting for a database connection.
+ * A dropped call (one that failed due to overload, like a timeout) shrinks the limit multiplicatively.
+ * <p>
+ * Acquiring is lock free, releasing (updating the limit) is synchronized.
+ */
+public final class AdaptiveLimit {
+
+    /**
+     * Weight of the latest sample in the long term average latency, an exponential moving average of about 600 samples.
+     */
+    private static final double LONG_RTT_WEIGHT = 2.0 / 601;
+    /**
+     * Latency may be this much higher than the long term average, before the limit shrinks.
+     */
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private double longRtt;
+
+    /**
+     * Constructor.
+     *
+     * @param initialLimit The limit to start with.
+     * @param minLimit The limit never shrinks below this value.
+     * @param maxLimit The limit never grows beyond this value.
+     */
+    public AdaptiveLimit(final int initialLimit, final int minLimit, final int maxLimit) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException(
+                "Limits must satisfy: 1 <= min <= initial <= max, got: " + minLimit + ", " + initialLimit + ", " + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Tries to start a call.
+     *
+     * @return True when the call may start, in which case {@link #release(long, boolean)} must be called
+     *  when it completes, false when the limit has been reached.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            final int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Completes a call, started by a successful {@link #tryAcquire()}, and updates the limit.
+     *
+     * @param rttNanos Duration of the call in nanoseconds.
+     * @param dropped True when the call failed due to overload.
+     */
+    public synchronized void release(final long rttNanos, final boolean dropped) {
+        final int inFlightBefore = inFlight.getAndDecrement();
+        if (dropped) {
+            estimatedLimit = Math.max(minLimit, estimatedLimit * BACKOFF_RATIO);
+        } else if (rttNanos > 0) {
+            longRtt = longRtt == 0 ? rttNanos : longRtt + (rttNanos - longRtt) * LONG_RTT_WEIGHT;
+            if (longRtt / rttNanos > 2) {
+                // Latency dropped a lot (the database recovered), so let the long term average catch up faster
+                longRtt *= 0.95;
+            }
+
+            // Only adapt when the limit is actually used, an idle service tells nothing about the right limit
+            if (inFlightBefore >= estimatedLimit / 2) {
+                final double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / rttNanos));
+                final double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+                estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+            }
+        }
+        limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Gets the current limit.
+     *
+     * @return The current limit.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Gets the number of calls in flight.
+     *
+     * @return The number of calls in flight.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+}
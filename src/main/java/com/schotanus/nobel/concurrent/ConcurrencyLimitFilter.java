@@ -0,0 +1,108 @@
+package com.schotanus.nobel.concurrent;
+
+import com.schotanus.nobel.datasource.RequestDeadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+
+/**
+ * Limits the number of concurrent requests on resources marked with {@link ConcurrencyLimited}.
+ * Reads and writes have their own {@link AdaptiveLimit}, so slow writes do not block reads and vice versa.
+ * A request beyond the limit is rejected immediately with a 503 (Service Unavailable) and a Retry-After header,
+ * instead of waiting for a worker thread and a database connection until it times out.
+ * A 503 response of the resource itself counts as a dropped call, just like a 504 caused by a deadline of the server.
+ * A 504 caused by a deadline the client supplied (X-Request-Timeout) does not,
+ * since a short deadline of a client says nothing about the capacity of the server.
+ * <p>
+ * The limits, requests in flight and rejected requests are published as nobel.concurrency.limit,
+ * nobel.concurrency.in.flight and nobel.concurrency.rejected, with tag type (read or write).
+ */
+@Provider
+@ConcurrencyLimited
+public class ConcurrencyLimitFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String START_PROPERTY = ConcurrencyLimitFilter.class.getName() + ".start";
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final boolean enabled;
+    private final AdaptiveLimit readLimit;
+    private final AdaptiveLimit writeLimit;
+    private final Counter readRejected;
+    private final Counter writeRejected;
+    private final RequestDeadline deadline;
+
+    ConcurrencyLimitFilter(
+            MeterRegistry registry,
+            RequestDeadline deadline,
+            @ConfigProperty(name = "nobel.concurrency-limit.enabled", defaultValue = "true") boolean enabled,
+            @ConfigProperty(name = "nobel.concurrency-limit.min", defaultValue = "4") int minLimit,
+            @ConfigProperty(name = "nobel.concurrency-limit.read-max", defaultValue = "200") int readMaxLimit,
+            @ConfigProperty(name = "nobel.concurrency-limit.write-max", defaultValue = "50") int writeMaxLimit) {
+        this.enabled = enabled;
+        this.deadline = deadline;
+        this.readLimit = new AdaptiveLimit(Math.max(minLimit, readMaxLimit / 4), minLimit, readMaxLimit);
+        this.writeLimit = new AdaptiveLimit(Math.max(minLimit, writeMaxLimit / 4), minLimit, writeMaxLimit);
+        this.readRejected = register(registry, "read", readLimit);
+        this.writeRejected = register(registry, "write", writeLimit);
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext requestContext) {
+        if (!enabled) {
+            return;
+        }
+
+        final boolean read = isRead(requestContext);
+        if ((read ? readLimit : writeLimit).tryAcquire()) {
+            requestContext.setProperty(START_PROPERTY, System.nanoTime());
+        } else {
+            (read ? readRejected : writeRejected).increment();
+            requestContext.abortWith(Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .build());
+        }
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext requestContext, final ContainerResponseContext responseContext) {
+        // Rejected requests also pass this filter, but have no start time
+        if (requestContext.getProperty(START_PROPERTY) instanceof Long start) {
+            requestContext.removeProperty(START_PROPERTY);
+            final int status = responseContext.getStatus();
+            final boolean dropped = status == Response.Status.SERVICE_UNAVAILABLE.getStatusCode()
+                || (status == Response.Status.GATEWAY_TIMEOUT.getStatusCode() && !deadline.isClientSupplied());
+            (isRead(requestContext) ? readLimit : writeLimit).release(System.nanoTime() - start, dropped);
+        }
+    }
+
+    private static boolean isRead(final ContainerRequestContext requestContext) {
+        final String method = requestContext.getMethod();
+        return HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method);
+    }
+
+    private static Counter register(final MeterRegistry registry, final String type, final AdaptiveLimit limit) {
+        Gauge.builder("nobel.concurrency.limit", limit, AdaptiveLimit::getLimit)
+            .description("Current adaptive concurrency limit")
+            .tag("type", type)
+            .register(registry);
+        Gauge.builder("nobel.concurrency.in.flight", limit, AdaptiveLimit::getInFlight)
+            .description("Number of requests in flight")
+            .tag("type", type)
+            .register(registry);
+        return Counter.builder("nobel.concurrency.rejected")
+            .description("Number of requests rejected, since the concurrency limit was reached")
+            .tag("type", type)
+            .register(registry);
+    }
+
+}
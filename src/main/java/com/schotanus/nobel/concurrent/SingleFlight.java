@@ -0,0 +1,172 @@
+package com.schotanus.nobel.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+
+/**
+ * Coalesces identical concurrent calls into a single execution.
+ * The first caller for a key executes the call, callers arriving with the same key while it is in flight
+ * wait for it and get the same result (or exception).
+ * Once the call has completed, the next caller for the key executes the call again, so results are never cached.
+ * A caller waits at most its own maximum wait (like the remaining time of its request) for the call in flight,
+ * after that it executes the call itself.
+ * A failure that is specific to the caller that executed the call (like its own deadline passing) is not shared:
+ * the waiting callers execute the call again, one of them on behalf of the others.
+ * <p>
+ * Since a single result is shared between callers, the call should return an unmodifiable result.
+ * The key must contain everything that determines the result, including the datasource the call reads from.
+ * The number of executed and coalesced calls is counted per operation,
+ * in the counter nobel.single.flight.calls with tags operation and type (executed or coalesced).
+ *
+ * @param <K> Type of the key, which must implement equals and hashCode.
+ * @param <V> Type of the result.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+    private final Predicate<Throwable> callerSpecific;
+
+    /**
+     * Creates a single flight for one operation, that shares all failures.
+     *
+     * @param operation Name of the operation, used as a tag of the counters.
+     * @param registry Registry to register the counters in.
+     */
+    public SingleFlight(@Nonnull final String operation, @Nonnull final MeterRegistry registry) {
+        this(operation, registry, exception -> false);
+    }
+
+    /**
+     * Creates a single flight for one operation.
+     *
+     * @param operation Name of the operation, used as a tag of the counters.
+     * @param registry Registry to register the counters in.
+     * @param callerSpecific Determines whether a failure is specific to the caller that executed the call,
+     *  in which case it is not shared with the callers waiting for it.
+     */
+    public SingleFlight(
+            @Nonnull final String operation,
+            @Nonnull final MeterRegistry registry,
+            @Nonnull final Predicate<Throwable> callerSpecific) {
+        this.executed = counter(registry, operation, "executed");
+        this.coalesced = counter(registry, operation, "coalesced");
+        this.callerSpecific = callerSpecific;
+    }
+
+    /**
+     * Executes the supplied call, unless a call with the same key is in flight, in which case its result is returned.
+     * A caller waits for the call in flight without a time limit.
+     *
+     * @param key Key of the call, containing all (normalized) parameters of the call.
+     * @param call The call to execute.
+     * @return Result of the call.
+     */
+    public V execute(@Nonnull final K key, @Nonnull final Supplier<V> call) {
+        return execute(key, null, call);
+    }
+
+    /**
+     * Executes the supplied call, unless a call with the same key is in flight, in which case its result is returned.
+     * When the call in flight does not complete within the maximum wait, the supplied call is executed instead.
+     *
+     * @param key Key of the call, containing all (normalized) parameters of the call.
+     * @param maxWait Maximum time to wait for a call in flight, or null to wait without a time limit.
+     * @param call The call to execute.
+     * @return Result of the call.
+     */
+    public V execute(@Nonnull final K key, @Nullable final Duration maxWait, @Nonnull final Supplier<V> call) {
+        final long waitUntil = maxWait == null ? 0 : System.nanoTime() + maxWait.toNanos();
+        while (true) {
+            final CompletableFuture<V> future = new CompletableFuture<>();
+            final CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+            if (existing == null) {
+                return lead(key, future, call);
+            }
+
+            coalesced.increment();
+            try {
+                return await(existing, maxWait == null ? null : Duration.ofNanos(waitUntil - System.nanoTime()));
+            } catch (TimeoutException exception) {
+                // Do not wait beyond the deadline of the caller, the call fails on that deadline instead
+                executed.increment();
+                return call.get();
+            } catch (RuntimeException | Error exception) {
+                if (!callerSpecific.test(exception)) {
+                    throw exception;
+                }
+                // The call failed for the caller that executed it only, so execute it again (or wait for it)
+            }
+        }
+    }
+
+    /**
+     * Gets the number of calls that are in flight.
+     *
+     * @return The number of calls that are in flight.
+     */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private V lead(final K key, final CompletableFuture<V> future, final Supplier<V> call) {
+        executed.increment();
+        final V result;
+        try {
+            result = call.get();
+        } catch (RuntimeException | Error exception) {
+            // Remove the call first, so callers that execute it again do not find the failed call
+            inFlight.remove(key, future);
+            future.completeExceptionally(exception);
+            throw exception;
+        }
+        inFlight.remove(key, future);
+        future.complete(result);
+        return result;
+    }
+
+    private static <V> V await(final CompletableFuture<V> future, @Nullable final Duration maxWait)
+            throws TimeoutException {
+        try {
+            if (maxWait == null) {
+                return future.get();
+            }
+            return future.get(Math.max(0, maxWait.toNanos()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for a call in flight");
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (exception.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(exception.getCause());
+        }
+    }
+
+    private static Counter counter(final MeterRegistry registry, final String operation, final String type) {
+        return Counter.builder("nobel.single.flight.calls")
+            .description("Number of calls, executed or coalesced with a call in flight")
+            .tag("operation", operation)
+            .tag("type", type)
+            .register(registry);
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.schotanus.nobel.datasource;
+
+import io.quarkus.arc.Arc;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+
+
+/**
+ * Applies the {@link RequestDeadline} of the current request to every statement executed by jOOQ.
+ * The statement is cancelled when the deadline passes, which PostgreSQL reports with SQL state
+ * {@value RequestDeadline#QUERY_CANCELED}.
+ * A statement is not even started when the deadline already passed or the client disconnected,
+ * which results in the same SQL state.
+ */
+class DeadlineListener implements ExecuteListener {
+
+    private final RequestDeadline deadline;
+
+    DeadlineListener(final RequestDeadline deadline) {
+        this.deadline = deadline;
+    }
+
+    @Override
+    public void executeStart(final ExecuteContext ctx) {
+        if (!Arc.container().requestContext().isActive()) {
+            return;
+        }
+
+        deadline.check();
+        if (ctx.statement() != null) {
+            deadline.running(ctx.statement()::cancel);
+        }
+    }
+
+    @Override
+    public void executeEnd(final ExecuteContext ctx) {
+        if (Arc.container().requestContext().isActive()) {
+            deadline.running(null);
+        }
+    }
+
+    @Override
+    public void exception(final ExecuteContext ctx) {
+        executeEnd(ctx);
+    }
+
+}
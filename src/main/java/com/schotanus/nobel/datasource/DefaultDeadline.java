@@ -0,0 +1,25 @@
+package com.schotanus.nobel.datasource;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+
+/**
+ * Overrides the default deadline (nobel.deadline.default) for a resource (class) or a single resource method.
+ * Clients can still request a shorter deadline.
+ * @see RequestDeadlineFilter
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface DefaultDeadline {
+
+    /**
+     * Gets the default deadline of the resource.
+     *
+     * @return The default deadline in seconds.
+     */
+    int seconds();
+
+}
@@ -0,0 +1,170 @@
+package com.schotanus.nobel.datasource;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.arc.Arc;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import org.jooq.ConnectionRunnable;
+import org.jooq.DSLContext;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+import org.postgresql.PGConnection;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+
+/**
+ * Routes repository calls to either the primary datasource or the (optional) read-only datasource.
+ * Repositories decide per method: statements that modify data use {@link #primary()},
+ * statements that only select data use {@link #replica()}.
+ * When no datasource named {@value #READ_DATASOURCE} is configured, the replica is the primary.
+ * Both apply the {@link RequestDeadline} of the current request to all their statements.
+ * Statements that are not executed by jOOQ, like COPY, must be executed through {@link #connection}.
+ */
+@ApplicationScoped
+public class DslContextRouter {
+
+    /**
+     * Name of the read-only datasource, as in quarkus.datasource.read.jdbc.url.
+     */
+    public static final String READ_DATASOURCE = "read";
+
+    private final DSLContext primary;
+    private final DSLContext replica;
+    private final ReadConsistency readConsistency;
+    private final RequestDeadline requestDeadline;
+
+    DslContextRouter(
+            DSLContext primary,
+            @DataSource(READ_DATASOURCE) Instance<AgroalDataSource> readDataSource,
+            ReadConsistency readConsistency,
+            RequestDeadline requestDeadline) {
+        final DeadlineListener deadlineListener = new DeadlineListener(requestDeadline);
+        this.primary = DSL.using(primary.configuration().deriveAppending(deadlineListener));
+        this.replica = readDataSource.isResolvable()
+            ? DSL.using(primary.configuration().derive(readDataSource.get()).deriveAppending(deadlineListener))
+            : this.primary;
+        this.readConsistency = readConsistency;
+        this.requestDeadline = requestDeadline;
+    }
+
+    /**
+     * Gets the context for the primary datasource.
+     * Use it for all statements that modify data.
+     * The remaining reads of the current request will also use the primary, so the request sees its own writes.
+     *
+     * @return The context for the primary datasource.
+     */
+    @Nonnull
+    public DSLContext primary() {
+        if (replica != primary && Arc.container().requestContext().isActive()) {
+            readConsistency.requirePrimary();
+        }
+
+        return primary;
+    }
+
+    /**
+     * Gets the context for read-only statements.
+     * Falls back to the primary when there is no read-only datasource,
+     * when a transaction is active (so the transaction sees its own writes),
+     * or when the client recently wrote data itself (see {@link ReadConsistency}).
+     *
+     * @return The context to select data with.
+     */
+    @Nonnull
+    public DSLContext replica() {
+        if (replica == primary || QuarkusTransaction.isActive() || isPrimaryRequiredByRequest()) {
+            return primary;
+        }
+
+        return replica;
+    }
+
+    /**
+     * Determines whether {@link #replica()} currently returns the primary.
+     * Results of reads that are shared between callers must be kept apart by this,
+     * so a caller that must see its own writes never gets a result read from the replica.
+     *
+     * @return True when reads go to the primary datasource.
+     */
+    public boolean isReadingFromPrimary() {
+        return replica() == primary;
+    }
+
+    /**
+     * Determines whether the current reads must see all writes committed on the primary,
+     * since a transaction is active or the client recently wrote data itself (see {@link ReadConsistency}).
+     * Unlike {@link #isReadingFromPrimary()}, this is false when there simply is no read-only datasource.
+     *
+     * @return True when the current reads must see all writes committed on the primary.
+     */
+    public boolean isPrimaryRequired() {
+        return QuarkusTransaction.isActive() || isPrimaryRequiredByRequest();
+    }
+
+    /**
+     * Gets the time remaining until the deadline of the current request.
+     *
+     * @return The remaining time (zero or negative when the deadline passed),
+     *  or null when there is no active request or the request has no deadline.
+     */
+    @Nullable
+    public Duration remainingDeadline() {
+        return Arc.container().requestContext().isActive() ? requestDeadline.remaining() : null;
+    }
+
+    /**
+     * Runs work on a JDBC connection of the supplied context.
+     * Use it for statements that jOOQ does not execute itself (like COPY), since its ExecuteListeners do not apply.
+     * The remaining time of the request deadline becomes the statement_timeout of the connection,
+     * and the running statement is cancelled when the deadline passes or the client disconnects.
+     *
+     * @param dsl The context to get the connection from: {@link #primary()} or {@link #replica()}.
+     * @param work The work to run.
+     * @throws DataAccessException (with SQL state {@value RequestDeadline#QUERY_CANCELED})
+     *  When the deadline passed or the client disconnected.
+     */
+    public void connection(@Nonnull final DSLContext dsl, @Nonnull final ConnectionRunnable work) {
+        if (!Arc.container().requestContext().isActive()) {
+            dsl.connection(work);
+            return;
+        }
+
+        requestDeadline.check();
+        final Duration remaining = requestDeadline.remaining();
+        dsl.connection(connection -> {
+            if (remaining != null) {
+                execute(connection, "SET statement_timeout = " + Math.max(1, remaining.toMillis()));
+            }
+            requestDeadline.running(connection.unwrap(PGConnection.class)::cancelQuery);
+            try {
+                work.run(connection);
+            } finally {
+                requestDeadline.running(null);
+                if (remaining != null) {
+                    // The connection returns to the pool
+                    execute(connection, "RESET statement_timeout");
+                }
+            }
+        });
+    }
+
+    private static void execute(final Connection connection, final String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private boolean isPrimaryRequiredByRequest() {
+        return Arc.container().requestContext().isActive() && readConsistency.isPrimaryRequired();
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.schotanus.nobel.datasource;
+
+import jakarta.enterprise.context.RequestScoped;
+
+
+/**
+ * Holds the read consistency required by the current request.
+ * When a client wrote data recently, reads must go to the primary,
+ * since the read-only datasource may not have received the write yet.
+ * @see ReadYourWritesFilter
+ */
+@RequestScoped
+public class ReadConsistency {
+
+    private boolean primaryRequired;
+
+    /**
+     * Determines if reads of the current request must go to the primary datasource.
+     *
+     * @return True when reads must go to the primary datasource.
+     */
+    public boolean isPrimaryRequired() {
+        return primaryRequired;
+    }
+
+    /**
+     * Forces all reads of the current request to go to the primary datasource.
+     */
+    public void requirePrimary() {
+        this.primaryRequired = true;
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.schotanus.nobel.datasource;
+
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.Cookie;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.NewCookie;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.Set;
+
+
+/**
+ * Gives clients read-your-writes consistency for a short window after their own write.
+ * A successful write sets a cookie holding the time of the write.
+ * As long as a client returns this cookie within the configured window, its reads go to the primary datasource.
+ * The window is disabled (0s) by default.
+ */
+@Provider
+public class ReadYourWritesFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    static final String COOKIE_NAME = "nobel-last-write";
+
+    private static final Set<String> WRITE_METHODS = Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH,
+        HttpMethod.DELETE);
+
+    private final ReadConsistency readConsistency;
+    private final Duration window;
+
+    ReadYourWritesFilter(
+            ReadConsistency readConsistency,
+            @ConfigProperty(name = "nobel.datasource.read-your-writes-window", defaultValue = "0s") Duration window) {
+        this.readConsistency = readConsistency;
+        this.window = window;
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext requestContext) {
+        final Cookie cookie = requestContext.getCookies().get(COOKIE_NAME);
+        if (window.isZero() || cookie == null) {
+            return;
+        }
+
+        try {
+            final long lastWrite = Long.parseLong(cookie.getValue());
+            if (System.currentTimeMillis() - lastWrite < window.toMillis()) {
+                readConsistency.requirePrimary();
+            }
+        } catch (NumberFormatException exception) {
+            // Not our cookie value, ignore it
+        }
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext requestContext, final ContainerResponseContext responseContext) {
+        if (window.isZero()
+                || !WRITE_METHODS.contains(requestContext.getMethod())
+                || responseContext.getStatusInfo().getFamily() != Response.Status.Family.SUCCESSFUL) {
+            return;
+        }
+
+        final NewCookie cookie = new NewCookie.Builder(COOKIE_NAME)
+            .value(String.valueOf(System.currentTimeMillis()))
+            .path("/")
+            .maxAge((int) window.toSeconds() + 1)
+            .httpOnly(true)
+            .build();
+        responseContext.getHeaders().add(HttpHeaders.SET_COOKIE, cookie);
+    }
+
+}
@@ -0,0 +1,190 @@
+package com.schotanus.nobel.datasource;
+
+import io.quarkus.logging.Log;
+import jakarta.annotation.Nullable;
+import jakarta.enterprise.context.RequestScoped;
+import org.jooq.exception.DataAccessException;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Holds the deadline of the current request and the statement it is executing.
+ * The statement the request is executing is cancelled when the deadline passes, to the millisecond,
+ * and when the client disconnects.
+ * @see RequestDeadlineFilter
+ * @see DeadlineListener
+ */
+@RequestScoped
+public class RequestDeadline {
+
+    /**
+     * SQL state of a statement that was cancelled, for example because the request deadline passed.
+     */
+    public static final String QUERY_CANCELED = "57014";
+
+    /**
+     * Cancels running statements when their deadline passes.
+     * JDBC query timeouts are in whole seconds, which is too coarse for deadlines below a second.
+     */
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("nobel-deadline").daemon().factory());
+
+    private long deadlineNanos;
+    private boolean started;
+    private boolean clientSupplied;
+    private volatile boolean cancelled;
+    private volatile Cancellable running;
+    private Future<?> timeout;
+
+    /**
+     * Something that is running for the request and can be cancelled, like a JDBC statement.
+     */
+    @FunctionalInterface
+    public interface Cancellable {
+
+        /**
+         * Cancels the running work.
+         *
+         * @throws SQLException When cancelling fails.
+         */
+        void cancel() throws SQLException;
+
+    }
+
+    /**
+     * Determines if the supplied exception is the result of a statement being cancelled,
+     * because the request deadline passed or the client disconnected.
+     *
+     * @param exception The exception.
+     * @return True when the exception is caused by a cancelled statement.
+     */
+    public static boolean isDeadlineExceeded(@Nullable final Throwable exception) {
+        return exception instanceof DataAccessException dataAccessException
+            && QUERY_CANCELED.equals(dataAccessException.sqlState());
+    }
+
+    /**
+     * Starts the deadline of the current request.
+     *
+     * @param timeout Time the request may take from now on.
+     */
+    public void start(final Duration timeout) {
+        start(timeout, false);
+    }
+
+    /**
+     * Starts the deadline of the current request.
+     *
+     * @param timeout Time the request may take from now on.
+     * @param clientSupplied True when the timeout was supplied by the client.
+     */
+    public void start(final Duration timeout, final boolean clientSupplied) {
+        this.deadlineNanos = System.nanoTime() + timeout.toNanos();
+        this.started = true;
+        this.clientSupplied = clientSupplied;
+    }
+
+    /**
+     * Gets the time remaining until the deadline.
+     *
+     * @return The remaining time (zero or negative when the deadline passed), or null when there is no deadline.
+     */
+    @Nullable
+    public Duration remaining() {
+        return started ? Duration.ofNanos(deadlineNanos - System.nanoTime()) : null;
+    }
+
+    /**
+     * Determines if the deadline was supplied by the client, instead of being a default (or maximum) of the server.
+     * Passing a deadline supplied by the client says little about the server, the client may be impatient.
+     *
+     * @return True when the client supplied the deadline.
+     */
+    public boolean isClientSupplied() {
+        return clientSupplied;
+    }
+
+    /**
+     * Determines if the request has been cancelled, since the client disconnected.
+     *
+     * @return True when the request has been cancelled.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Gets an action that cancels this request, including the statement it is executing.
+     * The action does not need an active request context, so it can run on any thread.
+     *
+     * @return The action that cancels this request.
+     */
+    public Runnable canceller() {
+        return this::cancel;
+    }
+
+    /**
+     * Verifies a new statement may still be started.
+     *
+     * @throws DataAccessException (with SQL state {@value #QUERY_CANCELED}) When the deadline passed
+     *  or the client disconnected.
+     */
+    void check() {
+        final Duration remaining = remaining();
+        if (cancelled || (remaining != null && !remaining.isPositive())) {
+            throw new DataAccessException("Request deadline exceeded",
+                new SQLException("Request deadline exceeded", QUERY_CANCELED));
+        }
+    }
+
+    /**
+     * Registers the work the request is executing, so it is cancelled when the deadline passes
+     * or the client disconnects.
+     *
+     * @param cancellable The running work, or null when the work has ended.
+     */
+    void running(@Nullable final Cancellable cancellable) {
+        if (timeout != null) {
+            timeout.cancel(false);
+            timeout = null;
+        }
+        this.running = cancellable;
+        if (cancellable == null) {
+            return;
+        }
+        if (cancelled) {
+            // The client disconnected while the statement was being prepared
+            cancel();
+        } else if (started) {
+            timeout = TIMER.schedule(() -> cancelRunning(cancellable),
+                deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void cancel() {
+        cancelled = true;
+        final Cancellable cancellable = running;
+        if (cancellable != null) {
+            cancelRunning(cancellable);
+        }
+    }
+
+    private void cancelRunning(final Cancellable cancellable) {
+        // The work may have ended in the meantime
+        if (running != cancellable) {
+            return;
+        }
+        try {
+            cancellable.cancel();
+        } catch (SQLException exception) {
+            Log.debug("Unable to cancel statement", exception);
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.schotanus.nobel.datasource;
+
+import io.vertx.ext.web.RoutingContext;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+
+
+/**
+ * Starts the {@link RequestDeadline} of every request.
+ * Clients can send a deadline in milliseconds in the {@value #TIMEOUT_HEADER} header.
+ * Without the header, the {@link DefaultDeadline} of the resource is used, or else nobel.deadline.default.
+ * Deadlines never exceed nobel.deadline.max.
+ * When the client disconnects, the statement the request is executing is cancelled.
+ */
+@Provider
+public class RequestDeadlineFilter implements ContainerRequestFilter {
+
+    static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private final RequestDeadline deadline;
+    private final ResourceInfo resourceInfo;
+    private final RoutingContext routingContext;
+    private final Duration defaultTimeout;
+    private final Duration maxTimeout;
+
+    RequestDeadlineFilter(
+            RequestDeadline deadline,
+            ResourceInfo resourceInfo,
+            RoutingContext routingContext,
+            @ConfigProperty(name = "nobel.deadline.default", defaultValue = "10s") Duration defaultTimeout,
+            @ConfigProperty(name = "nobel.deadline.max", defaultValue = "5m") Duration maxTimeout) {
+        this.deadline = deadline;
+        this.resourceInfo = resourceInfo;
+        this.routingContext = routingContext;
+        this.defaultTimeout = defaultTimeout;
+        this.maxTimeout = maxTimeout;
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext requestContext) {
+        final String header = requestContext.getHeaderString(TIMEOUT_HEADER);
+        final Duration timeout = getTimeout(header);
+        if (timeout.compareTo(maxTimeout) > 0) {
+            deadline.start(maxTimeout, false);
+        } else {
+            deadline.start(timeout, header != null);
+        }
+
+        final Runnable canceller = deadline.canceller();
+        routingContext.addEndHandler(result -> {
+            if (result.failed()) {
+                // Connection closed before the response was sent
+                canceller.run();
+            }
+        });
+    }
+
+    private Duration getTimeout(final String header) {
+        if (header != null) {
+            try {
+                final long millis = Long.parseLong(header.trim());
+                if (millis > 0) {
+                    return Duration.ofMillis(millis);
+                }
+            } catch (NumberFormatException exception) {
+                // Reported below
+            }
+            throw new BadRequestException(TIMEOUT_HEADER + " must be a positive number of milliseconds");
+        }
+
+        DefaultDeadline defaultDeadline = resourceInfo.getResourceMethod() == null ? null
+            : resourceInfo.getResourceMethod().getAnnotation(DefaultDeadline.class);
+        if (defaultDeadline == null && resourceInfo.getResourceClass() != null) {
+            defaultDeadline = resourceInfo.getResourceClass().getAnnotation(DefaultDeadline.class);
+        }
+
+        return defaultDeadline == null ? defaultTimeout : Duration.ofSeconds(defaultDeadline.seconds());
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.schotanus.nobel.event;
+
+import jakarta.annotation.Nonnull;
+
+
+/**
+ * CDI event fired for every change notification sent by the database (see Liquibase's changeLog.xml file).
+ * Unlike {@link EntityChanged}, this event is fired on every instance of the application,
+ * whichever instance (or client) made the change.
+ *
+ * @param id Unique id of the change.
+ * @param type Type of the changed entity.
+ * @param identifier Identifier of the entity, as used in the URL of the entity.
+ * @param version Version of the entity after the change.
+ */
+public record ChangeEvent(long id, @Nonnull EntityType type, @Nonnull String identifier, int version) {
+}
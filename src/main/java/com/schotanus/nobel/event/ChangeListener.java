@@ -0,0 +1,145 @@
+package com.schotanus.nobel.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Optional;
+
+
+/**
+ * Listens to the change notifications sent by the database and fires a {@link ChangeEvent} for each of them.
+ * A single, dedicated connection (outside the connection pool) is used, on a single thread,
+ * whatever the number of observers.
+ * When the connection is lost, the listener fires a {@link ChangeListenerDisconnected} event,
+ * reconnects after a delay and fires a {@link ChangeListenerConnected} event,
+ * since notifications sent in the meantime are lost.
+ */
+@ApplicationScoped
+public class ChangeListener {
+
+    /**
+     * Channel the database sends change notifications on.
+     */
+    public static final String CHANNEL = "nobel_changes";
+
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+
+    private final Event<ChangeEvent> changeEvent;
+    private final Event<ChangeListenerConnected> connected;
+    private final Event<ChangeListenerDisconnected> disconnected;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final String url;
+    private final Optional<String> username;
+    private final Optional<String> password;
+    private final Duration reconnectDelay;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    ChangeListener(
+            Event<ChangeEvent> changeEvent,
+            Event<ChangeListenerConnected> connected,
+            Event<ChangeListenerDisconnected> disconnected,
+            ObjectMapper objectMapper,
+            @ConfigProperty(name = "nobel.changes.enabled", defaultValue = "true") boolean enabled,
+            @ConfigProperty(name = "quarkus.datasource.jdbc.url") String url,
+            @ConfigProperty(name = "quarkus.datasource.username") Optional<String> username,
+            @ConfigProperty(name = "quarkus.datasource.password") Optional<String> password,
+            @ConfigProperty(name = "nobel.changes.reconnect-delay", defaultValue = "5s") Duration reconnectDelay) {
+        this.changeEvent = changeEvent;
+        this.connected = connected;
+        this.disconnected = disconnected;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (enabled) {
+            running = true;
+            thread = Thread.ofPlatform().name("nobel-change-listener").daemon().start(this::listen);
+        }
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void listen() {
+        boolean reconnected = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username.orElse(null), password.orElse(null))) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                Log.info("Listening to change notifications");
+                connected.fire(new ChangeListenerConnected(reconnected));
+                reconnected = true;
+
+                final PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    final PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            fire(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException exception) {
+                if (running) {
+                    Log.warn("Change notification connection lost, reconnecting in " + reconnectDelay, exception);
+                    fireDisconnected();
+                    sleep(reconnectDelay);
+                }
+            }
+        }
+    }
+
+    private void fire(final String payload) {
+        try {
+            changeEvent.fire(objectMapper.readValue(payload, ChangeEvent.class));
+        } catch (IOException | RuntimeException exception) {
+            // A failing observer must not stop the listener
+            Log.warn("Unable to process change notification: " + payload, exception);
+        }
+    }
+
+    private void fireDisconnected() {
+        try {
+            disconnected.fire(new ChangeListenerDisconnected());
+        } catch (RuntimeException exception) {
+            // A failing observer must not stop the listener
+            Log.warn("Unable to process lost change notification connection", exception);
+        }
+    }
+
+    private static void sleep(final Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
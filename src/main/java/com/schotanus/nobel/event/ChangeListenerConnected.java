@@ -0,0 +1,11 @@
+package com.schotanus.nobel.event;
+
+
+/**
+ * CDI event fired when the {@link ChangeListener} has (re)connected to the database.
+ * After a reconnect, change notifications may have been missed, so observers should assume everything has changed.
+ *
+ * @param reconnected True when the listener was connected before, false for the first connect.
+ */
+public record ChangeListenerConnected(boolean reconnected) {
+}
@@ -0,0 +1,10 @@
+package com.schotanus.nobel.event;
+
+
+/**
+ * CDI event fired when the {@link ChangeListener} lost its connection to the database.
+ * Until it has reconnected (see {@link ChangeListenerConnected}), change notifications are missed,
+ * so observers must not assume they know about every change.
+ */
+public record ChangeListenerDisconnected() {
+}
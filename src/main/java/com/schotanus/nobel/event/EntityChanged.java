@@ -0,0 +1,13 @@
+package com.schotanus.nobel.event;
+
+import jakarta.annotation.Nonnull;
+
+
+/**
+ * CDI event fired by the services after an entity has been created or updated.
+ *
+ * @param type Type of the entity.
+ * @param identifier Identifier of the entity, as used in the URL of the entity.
+ */
+public record EntityChanged(@Nonnull EntityType type, @Nonnull String identifier) {
+}
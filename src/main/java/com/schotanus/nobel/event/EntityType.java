@@ -0,0 +1,11 @@
+package com.schotanus.nobel.event;
+
+
+/**
+ * Types of entities that can be created or updated using this API.
+ */
+public enum EntityType {
+    PERSON,
+    ORGANIZATION,
+    NOBEL_PRIZE
+}
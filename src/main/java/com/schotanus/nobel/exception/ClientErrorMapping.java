@@ -0,0 +1,41 @@
+package com.schotanus.nobel.exception;
+
+import jakarta.ws.rs.ClientErrorException;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+
+/**
+ * Maps client errors (4xx) to a {@link Problem} response.
+ * Client errors are counted, but not logged: a flood of requests for non-existing resources should not flood the log.
+ * Headers of the original response (like the Allow header of a 405) are retained.
+ */
+@Provider
+public class ClientErrorMapping implements ExceptionMapper<ClientErrorException> {
+
+    private final UriInfo uriInfo;
+    private final ErrorCounters errorCounters;
+
+    ClientErrorMapping(UriInfo uriInfo, ErrorCounters errorCounters) {
+        this.uriInfo = uriInfo;
+        this.errorCounters = errorCounters;
+    }
+
+    @Override
+    public Response toResponse(final ClientErrorException exception) {
+        final Response response = exception.getResponse();
+        errorCounters.increment(response.getStatus());
+
+        final Response.ResponseBuilder builder = Problem.response(
+            response.getStatusInfo(), exception.getMessage(), uriInfo.getPath(), null);
+        response.getHeaders().forEach((name, values) -> {
+            if (!name.equalsIgnoreCase("Content-Type")) {
+                values.forEach(value -> builder.header(name, value));
+            }
+        });
+
+        return builder.build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.schotanus.nobel.exception;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Generates identifiers that correlate an error response with its log message.
+ * {@link java.util.UUID#randomUUID()} uses a SecureRandom, that is synchronized and may block on entropy,
+ * which is the last thing a flood of errors needs.
+ * An identifier consists of a random prefix chosen at startup (to tell instances apart) and a sequence number,
+ * so it is unique per instance and generating one is a single atomic increment.
+ */
+public final class CorrelationId {
+
+    private static final String PREFIX = Long.toHexString(ThreadLocalRandom.current().nextLong() | Long.MIN_VALUE)
+        .substring(0, 8) + "-";
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private CorrelationId() {
+    }
+
+    /**
+     * Generates the next identifier.
+     *
+     * @return An identifier like 9f3a61c2-1b.
+     */
+    @Nonnull
+    public static String next() {
+        return PREFIX + Long.toHexString(SEQUENCE.incrementAndGet());
+    }
+}
@@ -0,0 +1,46 @@
+package com.schotanus.nobel.exception;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+
+/**
+ * Counts error responses per status, published as nobel.errors with tag status.
+ * Counters are registered on first use and then looked up by status, without building tags per error.
+ */
+@ApplicationScoped
+public class ErrorCounters {
+
+    private static final int MAX_STATUS = 599;
+
+    private final MeterRegistry registry;
+    private final AtomicReferenceArray<Counter> counters = new AtomicReferenceArray<>(MAX_STATUS + 1);
+
+    ErrorCounters(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Counts an error response.
+     *
+     * @param status Status of the response.
+     */
+    public void increment(final int status) {
+        if (status < 0 || status > MAX_STATUS) {
+            return;
+        }
+
+        Counter counter = counters.get(status);
+        if (counter == null) {
+            counter = Counter.builder("nobel.errors")
+                .tag("status", String.valueOf(status))
+                .description("Number of error responses")
+                .register(registry);
+            counters.set(status, counter);
+        }
+        counter.increment();
+    }
+}
@@ -0,0 +1,56 @@
+package com.schotanus.nobel.exception;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+
+/**
+ * Problem details (RFC 9457), sent as application/problem+json for all error responses.
+ *
+ * @param type URI identifying the type of problem, always about:blank since the status describes the problem.
+ * @param title Reason phrase of the status.
+ * @param status HTTP status code.
+ * @param detail Explanation of this occurrence of the problem.
+ * @param instance Path of the request that caused the problem.
+ * @param correlationId Identifier of the logged problem, only for server errors.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record Problem(
+        String type,
+        String title,
+        int status,
+        String detail,
+        String instance,
+        String correlationId) {
+
+    /**
+     * Media type of problem details.
+     */
+    public static final MediaType MEDIA_TYPE = new MediaType("application", "problem+json");
+
+    private static final String ABOUT_BLANK = "about:blank";
+
+    /**
+     * Creates a response containing problem details.
+     *
+     * @param status Status of the response.
+     * @param detail Explanation of this occurrence of the problem.
+     * @param instance Path of the request that caused the problem.
+     * @param correlationId Identifier of the logged problem, or null when the problem was not logged.
+     * @return Response builder, so headers can be added.
+     */
+    @Nonnull
+    public static Response.ResponseBuilder response(
+            @Nonnull final Response.StatusType status,
+            @Nullable final String detail,
+            @Nullable final String instance,
+            @Nullable final String correlationId) {
+        return Response.status(status)
+            .type(MEDIA_TYPE)
+            .entity(new Problem(ABOUT_BLANK, status.getReasonPhrase(), status.getStatusCode(), detail, instance,
+                correlationId));
+    }
+}
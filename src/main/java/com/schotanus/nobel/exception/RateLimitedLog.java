@@ -0,0 +1,84 @@
+package com.schotanus.nobel.exception;
+
+import io.quarkus.logging.Log;
+import jakarta.annotation.Nonnull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+
+/**
+ * Logs at most a fixed number of messages per second.
+ * Messages beyond that number are counted instead, and the count is added to the next message that is logged.
+ * The check is lock free and the message is only formatted when it is actually logged.
+ */
+public class RateLimitedLog {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final int messagesPerSecond;
+    private final LongSupplier nanoTime;
+    private final AtomicLong second = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicInteger logged = new AtomicInteger();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    /**
+     * Creates the log.
+     *
+     * @param messagesPerSecond Maximum number of messages logged per second.
+     */
+    public RateLimitedLog(final int messagesPerSecond) {
+        this(messagesPerSecond, System::nanoTime);
+    }
+
+    RateLimitedLog(final int messagesPerSecond, @Nonnull final LongSupplier nanoTime) {
+        this.messagesPerSecond = messagesPerSecond;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Logs a warning, unless the maximum number of messages for the current second has been reached.
+     *
+     * @param format Format of the message, see {@link String#format(String, Object...)}.
+     * @param parameters Parameters of the message.
+     */
+    public void warn(@Nonnull final String format, final Object... parameters) {
+        final long suppressedMessages = tryAcquire();
+        if (suppressedMessages > 0) {
+            Log.warnf(format + " (%d similar messages suppressed)", append(parameters, suppressedMessages));
+        } else if (suppressedMessages == 0) {
+            Log.warnf(format, parameters);
+        }
+    }
+
+    /**
+     * Tries to acquire permission to log a message.
+     *
+     * @return -1 when the message must be suppressed,
+     *     else the number of messages that were suppressed since the last logged message.
+     */
+    long tryAcquire() {
+        final long currentSecond = nanoTime.getAsLong() / SECOND;
+        final long previousSecond = second.get();
+        if (currentSecond != previousSecond && second.compareAndSet(previousSecond, currentSecond)) {
+            logged.set(0);
+        }
+
+        if (logged.incrementAndGet() > messagesPerSecond) {
+            suppressed.incrementAndGet();
+            return -1;
+        }
+
+        return suppressed.getAndSet(0);
+    }
+
+    private static Object[] append(final Object[] parameters, final Object parameter) {
+        final Object[] result = new Object[parameters.length + 1];
+        System.arraycopy(parameters, 0, result, 0, parameters.length);
+        result[parameters.length] = parameter;
+
+        return result;
+    }
+}
@@ -1,32 +1,51 @@
 package com.schotanus.nobel.exception;
 
-import io.quarkus.logging.Log;
+import com.schotanus.nobel.datasource.RequestDeadline;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
 import jakarta.ws.rs.ext.ExceptionMapper;
 import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jooq.exception.DataAccessException;
 
-import java.net.HttpURLConnection;
-import java.util.UUID;
-
 
 /**
- * Maps SQL Exceptions to a response.
+ * Maps SQL Exceptions to a {@link Problem} response.
  * The current implementation is quite simplistic but at least logs the exception
- * and returns an HTTP_INTERNAL_ERROR response to the client.
+ * and returns an HTTP_INTERNAL_ERROR response to the client, with a {@link CorrelationId} to refer to.
+ * Logging is rate limited (nobel.errors.log-per-second), so a failing database does not also flood the log.
+ * A statement cancelled because the request deadline passed results in an HTTP_GATEWAY_TIMEOUT response.
  */
 @Provider
 public class SqlExceptionMapping implements ExceptionMapper<DataAccessException> {
 
+    private final UriInfo uriInfo;
+    private final ErrorCounters errorCounters;
+    private final RateLimitedLog log;
+
+    SqlExceptionMapping(
+            UriInfo uriInfo,
+            ErrorCounters errorCounters,
+            @ConfigProperty(name = "nobel.errors.log-per-second", defaultValue = "10") int logPerSecond) {
+        this.uriInfo = uriInfo;
+        this.errorCounters = errorCounters;
+        this.log = new RateLimitedLog(logPerSecond);
+    }
+
     @Override
     public Response toResponse(final DataAccessException exception) {
-        final String message = "Something went wrong. Refer to this id when reporting this problem:" + UUID.randomUUID();
-        String exceptionMessage = exception.getMessage();
-        if (exception.getCause() != null) {
-            exceptionMessage = exception.getMessage();
+        if (RequestDeadline.isDeadlineExceeded(exception)) {
+            errorCounters.increment(Response.Status.GATEWAY_TIMEOUT.getStatusCode());
+            return Problem.response(Response.Status.GATEWAY_TIMEOUT,
+                "The request did not complete within its deadline", uriInfo.getPath(), null).build();
         }
-        Log.warn(message + ". " + exceptionMessage);
 
-        return Response.status(HttpURLConnection.HTTP_INTERNAL_ERROR).entity(message).build();
+        errorCounters.increment(Response.Status.INTERNAL_SERVER_ERROR.getStatusCode());
+        final String correlationId = CorrelationId.next();
+        log.warn("Something went wrong, id: %s. %s", correlationId, exception.getMessage());
+
+        return Problem.response(Response.Status.INTERNAL_SERVER_ERROR,
+            "Something went wrong. Refer to the correlationId when reporting this problem",
+            uriInfo.getPath(), correlationId).build();
     }
 }
@@ -0,0 +1,27 @@
+package com.schotanus.nobel.exception;
+
+import jakarta.annotation.Nonnull;
+import jakarta.ws.rs.ClientErrorException;
+import jakarta.ws.rs.core.Response;
+
+
+/**
+ * A {@link ClientErrorException} with status 409 (Conflict) and without a stack trace.
+ * Like the {@link StacklessNotFoundException}, instances carry a fixed message and are meant to be created once.
+ */
+public class StacklessConflictException extends ClientErrorException {
+
+    /**
+     * Creates the exception.
+     *
+     * @param message Fixed message, not containing any request specific data.
+     */
+    public StacklessConflictException(@Nonnull final String message) {
+        super(message, Response.Status.CONFLICT);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
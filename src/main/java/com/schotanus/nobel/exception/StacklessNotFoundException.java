@@ -0,0 +1,30 @@
+package com.schotanus.nobel.exception;
+
+import jakarta.annotation.Nonnull;
+import jakarta.ws.rs.NotFoundException;
+
+
+/**
+ * A {@link NotFoundException} without a stack trace.
+ * On the not found path of a GET, instances carry a fixed message and are meant to be created once and thrown
+ * many times, so a flood of requests for non-existing resources does not create and fill in an exception per request.
+ * The requested resource is then reported as the instance of the {@link Problem}.
+ * Where the request does not identify the missing resource, like a laureate of a created Nobel Prize,
+ * an instance is created per call with the identifier in its message, which is still cheap without a stack trace.
+ */
+public class StacklessNotFoundException extends NotFoundException {
+
+    /**
+     * Creates the exception.
+     *
+     * @param message Message, only containing request specific data when the instance is not shared.
+     */
+    public StacklessNotFoundException(@Nonnull final String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,143 @@
+package com.schotanus.nobel.existence;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+/**
+ * Lock free Bloom filter of strings.
+ * A Bloom filter answers whether a value might have been added (with a configurable false positive probability),
+ * or has definitely not been added, using a few bits per value.
+ * Values can be added concurrently with lookups, but never removed.
+ * <p>
+ * The bit indexes of a value are derived from two 64 bit hashes (Kirsch-Mitzenmacher),
+ * so a lookup hashes the value only once.
+ */
+public final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AtomicLongArray words;
+    private final long numberOfBits;
+    private final int numberOfHashes;
+
+    /**
+     * Creates an empty Bloom filter.
+     *
+     * @param expectedValues Number of values that are expected to be added.
+     * @param falsePositiveProbability Probability that a value that was not added, might have been added,
+     *     once the expected number of values have been added.
+     * @throws IllegalArgumentException When the expected number of values is not positive,
+     *     or the probability is not between 0 and 1.
+     */
+    public BloomFilter(final int expectedValues, final double falsePositiveProbability) {
+        if (expectedValues <= 0) {
+            throw new IllegalArgumentException("Expected values must be positive: " + expectedValues);
+        }
+        if (!(falsePositiveProbability > 0 && falsePositiveProbability < 1)) {
+            throw new IllegalArgumentException("False positive probability must be between 0 and 1: "
+                + falsePositiveProbability);
+        }
+
+        final long bits = (long) Math.ceil(-expectedValues * Math.log(falsePositiveProbability) / (LN2 * LN2));
+        final int numberOfWords = (int) Math.max(1, (bits + 63) >>> 6);
+        this.words = new AtomicLongArray(numberOfWords);
+        this.numberOfBits = (long) numberOfWords << 6;
+        this.numberOfHashes = (int) Math.max(1, Math.round((double) numberOfBits / expectedValues * LN2));
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param value The value to add.
+     */
+    public void add(@Nonnull final String value) {
+        final long hash1 = hash(value);
+        final long hash2 = mix(hash1 ^ FNV_PRIME) | 1;
+        for (int index = 0; index < numberOfHashes; index++) {
+            final long bit = Long.remainderUnsigned(hash1 + index * hash2, numberOfBits);
+            final int word = (int) (bit >>> 6);
+            final long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    /**
+     * Checks whether a value might have been added.
+     *
+     * @param value The value to check.
+     * @return False when the value has definitely not been added, true when it might have been added.
+     */
+    public boolean mightContain(@Nonnull final String value) {
+        final long hash1 = hash(value);
+        final long hash2 = mix(hash1 ^ FNV_PRIME) | 1;
+        for (int index = 0; index < numberOfHashes; index++) {
+            final long bit = Long.remainderUnsigned(hash1 + index * hash2, numberOfBits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Estimates the current false positive probability, from the fraction of bits that are set.
+     * This scans all bits, so it is meant for metrics, not for every lookup.
+     *
+     * @return The estimated false positive probability.
+     */
+    public double estimateFalsePositiveProbability() {
+        long setBits = 0;
+        for (int word = 0; word < words.length(); word++) {
+            setBits += Long.bitCount(words.get(word));
+        }
+
+        return Math.pow((double) setBits / numberOfBits, numberOfHashes);
+    }
+
+    /**
+     * Gets the number of bits of the filter.
+     *
+     * @return The number of bits.
+     */
+    public long getNumberOfBits() {
+        return numberOfBits;
+    }
+
+    /**
+     * Gets the number of bits set per value.
+     *
+     * @return The number of hash functions.
+     */
+    public int getNumberOfHashes() {
+        return numberOfHashes;
+    }
+
+    /**
+     * Hashes the characters of the value with FNV-1a and mixes the result, so all bits depend on all characters.
+     */
+    private static long hash(final String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int index = 0; index < value.length(); index++) {
+            hash = (hash ^ value.charAt(index)) * FNV_PRIME;
+        }
+
+        return mix(hash);
+    }
+
+    /**
+     * Finalization step of MurmurHash3.
+     */
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+}
@@ -0,0 +1,252 @@
+package com.schotanus.nobel.existence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Nonnull;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+
+/**
+ * In memory index of the identifiers of a type of entity, used to reject lookups of identifiers that do not exist
+ * without a select.
+ * It consists of a {@link BloomFilter} of all existing identifiers and a bounded negative cache of identifiers
+ * the Bloom filter considered to exist, but were not found on the primary database (false positives).
+ * A lookup that overlaps the creation of an identifier does not record it as missing,
+ * so the negative cache never overrides an identifier that was added.
+ * Entries of the negative cache expire, since the notification of a create on another instance may be missed.
+ * <p>
+ * Until the index has been built, and after it has been invalidated, every identifier might exist.
+ * Identifiers added while the index is being rebuilt, are added to both the current and the new Bloom filter.
+ * <p>
+ * Published metrics (with tag index):
+ * nobel.existence.rejected (lookups rejected without a select),
+ * nobel.existence.false.positives (lookups the index did not reject, that were not found),
+ * nobel.existence.false.positive.rate (observed false positives per lookup of a non-existing identifier),
+ * and nobel.existence.expected.false.positive.rate (estimated from the Bloom filter).
+ */
+public class ExistenceIndex {
+
+    private final double falsePositiveProbability;
+    private final int negativeCacheSize;
+    private final long negativeCacheTtlNanos;
+    private final LongSupplier nanoTime;
+    private final Map<String, Long> negativeCache;
+    private long additions;
+    private final Counter rejected;
+    private final Counter falsePositives;
+
+    private volatile BloomFilter filter;
+    private volatile BloomFilter building;
+
+    /**
+     * Creates an empty index, that considers every identifier to exist until it is built.
+     *
+     * @param name Name of the index, used as tag of the metrics.
+     * @param registry Registry to publish the metrics to.
+     * @param falsePositiveProbability False positive probability of the Bloom filter.
+     * @param negativeCacheSize Maximum number of identifiers in the negative cache.
+     * @param negativeCacheTtl Time an identifier stays in the negative cache.
+     */
+    public ExistenceIndex(
+            @Nonnull final String name,
+            @Nonnull final MeterRegistry registry,
+            final double falsePositiveProbability,
+            final int negativeCacheSize,
+            @Nonnull final Duration negativeCacheTtl) {
+        this(name, registry, falsePositiveProbability, negativeCacheSize, negativeCacheTtl, System::nanoTime);
+    }
+
+    ExistenceIndex(
+            final String name,
+            final MeterRegistry registry,
+            final double falsePositiveProbability,
+            final int negativeCacheSize,
+            final Duration negativeCacheTtl,
+            final LongSupplier nanoTime) {
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.negativeCacheSize = negativeCacheSize;
+        this.negativeCacheTtlNanos = negativeCacheTtl.toNanos();
+        this.nanoTime = nanoTime;
+        this.negativeCache = new LinkedHashMap<>(16, 0.75f, true);
+        this.rejected = Counter.builder("nobel.existence.rejected").tag("index", name).register(registry);
+        this.falsePositives = Counter.builder("nobel.existence.false.positives").tag("index", name).register(registry);
+        Gauge.builder("nobel.existence.false.positive.rate", this, ExistenceIndex::getFalsePositiveRate)
+            .tag("index", name)
+            .register(registry);
+        Gauge.builder("nobel.existence.expected.false.positive.rate", this,
+                ExistenceIndex::getExpectedFalsePositiveRate)
+            .tag("index", name)
+            .register(registry);
+    }
+
+    /**
+     * Checks whether an identifier might exist.
+     *
+     * @param identifier The identifier to check.
+     * @return False when the identifier definitely does not exist, true when it might exist.
+     */
+    public boolean mightExist(@Nonnull final String identifier) {
+        final BloomFilter current = filter;
+        if (current == null) {
+            return true;
+        }
+        if (!current.mightContain(identifier) || isCachedAsMissing(identifier)) {
+            rejected.increment();
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Starts a lookup of an identifier, that may later be recorded as missing.
+     *
+     * @return Stamp of the lookup, to pass to {@link #recordMissing(String, long)}.
+     */
+    public long startLookup() {
+        synchronized (negativeCache) {
+            return additions;
+        }
+    }
+
+    /**
+     * Records that an identifier, that might exist according to this index, was not found on the primary database.
+     * When any identifier was added since the lookup started, the identifier is not recorded,
+     * since it may have been created after the primary was read.
+     *
+     * @param identifier The identifier that was not found.
+     * @param lookup Stamp of the lookup, from {@link #startLookup()} before the primary was read.
+     */
+    public void recordMissing(@Nonnull final String identifier, final long lookup) {
+        if (filter == null || negativeCacheSize <= 0) {
+            return;
+        }
+
+        falsePositives.increment();
+        synchronized (negativeCache) {
+            if (additions != lookup) {
+                return;
+            }
+            negativeCache.put(identifier, nanoTime.getAsLong() + negativeCacheTtlNanos);
+            if (negativeCache.size() > negativeCacheSize) {
+                final Iterator<String> eldest = negativeCache.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * Adds an identifier that was created.
+     *
+     * @param identifier The created identifier.
+     */
+    public void add(@Nonnull final String identifier) {
+        // Read building before filter: a rebuild publishes the new filter before it stops building
+        final BloomFilter next = building;
+        final BloomFilter current = filter;
+        if (next != null) {
+            next.add(identifier);
+        }
+        if (current != null) {
+            current.add(identifier);
+        }
+        synchronized (negativeCache) {
+            additions++;
+            negativeCache.remove(identifier);
+        }
+    }
+
+    /**
+     * Replaces the contents of the index by the identifiers the supplied loader selects.
+     * The loader is called after identifiers created concurrently are added to the new Bloom filter,
+     * so an identifier created during the rebuild is either selected by the loader or added to the new filter.
+     * Calls must not overlap.
+     *
+     * @param expectedIdentifiers Expected number of identifiers.
+     * @param loader Selects all existing identifiers.
+     */
+    public void rebuild(final int expectedIdentifiers, @Nonnull final IdentifierLoader loader) {
+        final BloomFilter next = new BloomFilter(Math.max(1024, 2 * expectedIdentifiers), falsePositiveProbability);
+        building = next;
+        try {
+            for (String identifier : loader.load()) {
+                next.add(identifier);
+            }
+            filter = next;
+        } finally {
+            building = null;
+        }
+        synchronized (negativeCache) {
+            negativeCache.clear();
+        }
+    }
+
+    /**
+     * Considers every identifier to exist until the index is rebuilt.
+     * Use it when identifiers may have been created without being added, for example when change notifications
+     * are missed, since a Bloom filter that misses an identifier would reject it.
+     */
+    public void invalidate() {
+        filter = null;
+        synchronized (negativeCache) {
+            negativeCache.clear();
+        }
+    }
+
+    /**
+     * Checks whether the index has been built.
+     *
+     * @return True when the index has been built.
+     */
+    public boolean isBuilt() {
+        return filter != null;
+    }
+
+    private boolean isCachedAsMissing(final String identifier) {
+        synchronized (negativeCache) {
+            final Long expiresAt = negativeCache.get(identifier);
+            if (expiresAt == null) {
+                return false;
+            }
+            if (expiresAt - nanoTime.getAsLong() <= 0) {
+                negativeCache.remove(identifier);
+                return false;
+            }
+
+            return true;
+        }
+    }
+
+    private double getFalsePositiveRate() {
+        final double falsePositiveCount = falsePositives.count();
+        final double lookups = falsePositiveCount + rejected.count();
+        return lookups == 0 ? 0 : falsePositiveCount / lookups;
+    }
+
+    private double getExpectedFalsePositiveRate() {
+        final BloomFilter current = filter;
+        return current == null ? 0 : current.estimateFalsePositiveProbability();
+    }
+
+    /**
+     * Selects all existing identifiers.
+     */
+    @FunctionalInterface
+    public interface IdentifierLoader {
+
+        /**
+         * Selects all existing identifiers.
+         *
+         * @return All existing identifiers.
+         */
+        @Nonnull
+        Iterable<String> load();
+    }
+}
@@ -0,0 +1,36 @@
+package com.schotanus.nobel.graphql;
+
+import com.schotanus.nobel.tables.records.CountryRecord;
+import jakarta.annotation.Nonnull;
+import org.eclipse.microprofile.graphql.Type;
+
+
+/**
+ * A country in the GraphQL schema.
+ */
+@Type("Country")
+public class CountryNode {
+
+    private final String code;
+    private final String name;
+    private final String nationality;
+
+    CountryNode(@Nonnull final CountryRecord country) {
+        this.code = country.getCode();
+        this.name = country.getName();
+        this.nationality = country.getNationality();
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getNationality() {
+        return nationality;
+    }
+
+}
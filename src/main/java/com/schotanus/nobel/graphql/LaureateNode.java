@@ -0,0 +1,54 @@
+package com.schotanus.nobel.graphql;
+
+import com.schotanus.nobel.tables.records.NobelPrizeLaureateRecord;
+import jakarta.annotation.Nonnull;
+import org.eclipse.microprofile.graphql.Ignore;
+import org.eclipse.microprofile.graphql.Type;
+
+
+/**
+ * A Nobel Prize laureate in the GraphQL schema.
+ * The person or organization is resolved by {@link NobelGraphQlApi}.
+ */
+@Type("NobelPrizeLaureate")
+public class LaureateNode {
+
+    @Ignore
+    private final Integer personId;
+    @Ignore
+    private final Integer organizationId;
+    private final String description;
+    private final int fractionNominator;
+    private final int fractionDenominator;
+
+    LaureateNode(@Nonnull final NobelPrizeLaureateRecord laureate) {
+        this.personId = laureate.getPersonid();
+        this.organizationId = laureate.getOrganizationid();
+        this.description = laureate.getDescription();
+        this.fractionNominator = laureate.getFractionnominator();
+        this.fractionDenominator = laureate.getFractiondenominator();
+    }
+
+    @Ignore
+    public Integer getPersonId() {
+        return personId;
+    }
+
+    @Ignore
+    public Integer getOrganizationId() {
+        return organizationId;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public int getFractionNominator() {
+        return fractionNominator;
+    }
+
+    public int getFractionDenominator() {
+        return fractionDenominator;
+    }
+
+}
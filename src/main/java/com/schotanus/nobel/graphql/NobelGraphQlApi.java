@@ -0,0 +1,181 @@
+package com.schotanus.nobel.graphql;
+
+import com.schotanus.nobel.model.NobelPrizeCategory;
+import com.schotanus.nobel.model.NobelPrizeCategoryEnum;
+import com.schotanus.nobel.reference.ReferenceData;
+import com.schotanus.nobel.service.GraphService;
+import com.schotanus.nobel.service.NobelPrizeCategoryService;
+import com.schotanus.nobel.tables.records.CountryRecord;
+import com.schotanus.nobel.tables.records.NobelPrizeLaureateRecord;
+import com.schotanus.nobel.tables.records.NobelPrizeRecord;
+import com.schotanus.nobel.tables.records.OrganizationRecord;
+import com.schotanus.nobel.tables.records.PersonRecord;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.eclipse.microprofile.graphql.Description;
+import org.eclipse.microprofile.graphql.GraphQLApi;
+import org.eclipse.microprofile.graphql.Name;
+import org.eclipse.microprofile.graphql.Query;
+import org.eclipse.microprofile.graphql.Source;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * GraphQL API over Nobel Prize categories, Nobel Prizes, laureates, persons, organizations and countries.
+ * Nested fields take the list of all their parents ({@code @Source List}),
+ * so SmallRye GraphQL batches them per level of the query, like a DataLoader does.
+ * As a result, the number of selects depends on the depth of the query, not on the number of entities.
+ * The complexity and depth of queries are limited by the
+ * quarkus.smallrye-graphql.instrumentation-query-complexity and -depth properties.
+ */
+@GraphQLApi
+public class NobelGraphQlApi {
+
+    private final GraphService service;
+    private final NobelPrizeCategoryService nobelPrizeCategoryService;
+
+    NobelGraphQlApi(GraphService service, NobelPrizeCategoryService nobelPrizeCategoryService) {
+        this.service = service;
+        this.nobelPrizeCategoryService = nobelPrizeCategoryService;
+    }
+
+    @Query("nobelPrizes")
+    @Description("Gets all Nobel Prizes, optionally filtered by year and category")
+    @Nonnull
+    public List<NobelPrizeNode> getNobelPrizes(
+            @Name("year") @Nullable final Integer year,
+            @Name("category") @Nullable final NobelPrizeCategoryEnum category) {
+        return service.getNobelPrizes(year, category).stream().map(NobelPrizeNode::new).toList();
+    }
+
+    @Query("persons")
+    @Description("Gets all persons, optionally filtered on the first part of their display name")
+    @Nonnull
+    public List<PersonNode> getPersons(@Name("name") @Nullable final String name) {
+        return service.getPersons(name).stream().map(PersonNode::new).toList();
+    }
+
+    @Query("organizations")
+    @Description("Gets all organizations, optionally filtered on the first part of their name")
+    @Nonnull
+    public List<OrganizationNode> getOrganizations(@Name("name") @Nullable final String name) {
+        return service.getOrganizations(name).stream().map(OrganizationNode::new).toList();
+    }
+
+    @Query("categories")
+    @Description("Gets all Nobel Prize categories")
+    @Nonnull
+    public List<NobelPrizeCategory> getCategories() {
+        return nobelPrizeCategoryService.getNobelPrizeCategories();
+    }
+
+    @Query("countries")
+    @Description("Gets all countries")
+    @Nonnull
+    public List<CountryNode> getCountries() {
+        return service.getCountries().stream().map(CountryNode::new).toList();
+    }
+
+    /**
+     * Resolves the category of a Nobel Prize, from the reference data.
+     */
+    @Name("category")
+    @Nonnull
+    public NobelPrizeCategory getCategory(@Source final NobelPrizeNode nobelPrize) {
+        final NobelPrizeCategoryEnum code = ReferenceData.getCategoryCode(nobelPrize.getCategoryId());
+        return nobelPrizeCategoryService.getNobelPrizeCategory(code == null ? "" : code.name());
+    }
+
+    /**
+     * Resolves the laureates of all Nobel Prizes of a single level, with a single select.
+     */
+    @Name("laureates")
+    @Nonnull
+    public List<List<LaureateNode>> getLaureates(@Source final List<NobelPrizeNode> nobelPrizes) {
+        final Map<Integer, List<NobelPrizeLaureateRecord>> laureates =
+            service.getLaureates(nobelPrizes.stream().map(NobelPrizeNode::getId).toList());
+
+        final List<List<LaureateNode>> result = new ArrayList<>(nobelPrizes.size());
+        for (NobelPrizeNode nobelPrize : nobelPrizes) {
+            result.add(laureates.getOrDefault(nobelPrize.getId(), List.of()).stream().map(LaureateNode::new).toList());
+        }
+
+        return result;
+    }
+
+    /**
+     * Resolves the persons of all laureates of a single level, with a single select.
+     * The person of a laureate that is an organization is null.
+     */
+    @Name("person")
+    public List<PersonNode> getLaureatePersons(@Source final List<LaureateNode> laureates) {
+        final Map<Integer, PersonRecord> persons =
+            service.getPersons(laureates.stream().map(LaureateNode::getPersonId).toList());
+
+        final List<PersonNode> result = new ArrayList<>(laureates.size());
+        for (LaureateNode laureate : laureates) {
+            final PersonRecord person = laureate.getPersonId() == null ? null : persons.get(laureate.getPersonId());
+            result.add(person == null ? null : new PersonNode(person));
+        }
+
+        return result;
+    }
+
+    /**
+     * Resolves the organizations of all laureates of a single level, with a single select.
+     * The organization of a laureate that is a person is null.
+     */
+    @Name("organization")
+    public List<OrganizationNode> getLaureateOrganizations(@Source final List<LaureateNode> laureates) {
+        final Map<Integer, OrganizationRecord> organizations =
+            service.getOrganizations(laureates.stream().map(LaureateNode::getOrganizationId).toList());
+
+        final List<OrganizationNode> result = new ArrayList<>(laureates.size());
+        for (LaureateNode laureate : laureates) {
+            final OrganizationRecord organization =
+                laureate.getOrganizationId() == null ? null : organizations.get(laureate.getOrganizationId());
+            result.add(organization == null ? null : new OrganizationNode(organization));
+        }
+
+        return result;
+    }
+
+    /**
+     * Resolves the birth countries of all persons of a single level, with a single select.
+     * The birth country is null when it is not found.
+     */
+    @Name("birthCountry")
+    public List<CountryNode> getBirthCountries(@Source final List<PersonNode> persons) {
+        final Map<Integer, CountryRecord> countries =
+            service.getCountries(persons.stream().map(PersonNode::getBirthCountryId).toList());
+
+        final List<CountryNode> result = new ArrayList<>(persons.size());
+        for (PersonNode person : persons) {
+            final CountryRecord country = countries.get(person.getBirthCountryId());
+            result.add(country == null ? null : new CountryNode(country));
+        }
+
+        return result;
+    }
+
+    /**
+     * Resolves the Nobel Prizes of all persons of a single level, with a single select.
+     */
+    @Name("nobelPrizes")
+    @Nonnull
+    public List<List<NobelPrizeNode>> getNobelPrizesOfPersons(@Source final List<PersonNode> persons) {
+        final Map<Integer, List<NobelPrizeRecord>> nobelPrizes =
+            service.getNobelPrizesOfPersons(persons.stream().map(PersonNode::getId).toList());
+
+        final List<List<NobelPrizeNode>> result = new ArrayList<>(persons.size());
+        for (PersonNode person : persons) {
+            result.add(nobelPrizes.getOrDefault(person.getId(), List.of()).stream().map(NobelPrizeNode::new).toList());
+        }
+
+        return result;
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.schotanus.nobel.graphql;
+
+import com.schotanus.nobel.tables.records.NobelPrizeRecord;
+import jakarta.annotation.Nonnull;
+import org.eclipse.microprofile.graphql.Ignore;
+import org.eclipse.microprofile.graphql.Type;
+
+
+/**
+ * A Nobel Prize in the GraphQL schema.
+ * The category and laureates are resolved by {@link NobelGraphQlApi}.
+ */
+@Type("NobelPrize")
+public class NobelPrizeNode {
+
+    @Ignore
+    private final int id;
+    @Ignore
+    private final int categoryId;
+    private final int year;
+    private final String url;
+
+    NobelPrizeNode(@Nonnull final NobelPrizeRecord nobelPrize) {
+        this.id = nobelPrize.getId();
+        this.categoryId = nobelPrize.getCategoryid();
+        this.year = nobelPrize.getYear();
+        this.url = nobelPrize.getUrl();
+    }
+
+    @Ignore
+    public int getId() {
+        return id;
+    }
+
+    @Ignore
+    public int getCategoryId() {
+        return categoryId;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+}
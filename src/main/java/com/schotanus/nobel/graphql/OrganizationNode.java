@@ -0,0 +1,42 @@
+package com.schotanus.nobel.graphql;
+
+import com.schotanus.nobel.tables.records.OrganizationRecord;
+import jakarta.annotation.Nonnull;
+import org.eclipse.microprofile.graphql.Type;
+
+
+/**
+ * An organization in the GraphQL schema.
+ */
+@Type("Organization")
+public class OrganizationNode {
+
+    private final String organizationIdentifier;
+    private final String name;
+    private final String description;
+    private final String url;
+
+    OrganizationNode(@Nonnull final OrganizationRecord organization) {
+        this.organizationIdentifier = organization.getOrganizationidentifier();
+        this.name = organization.getName();
+        this.description = organization.getDescription();
+        this.url = organization.getUrl();
+    }
+
+    public String getOrganizationIdentifier() {
+        return organizationIdentifier;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+}
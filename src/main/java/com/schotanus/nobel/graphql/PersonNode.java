@@ -0,0 +1,80 @@
+package com.schotanus.nobel.graphql;
+
+import com.schotanus.nobel.tables.records.PersonRecord;
+import jakarta.annotation.Nonnull;
+import org.eclipse.microprofile.graphql.Ignore;
+import org.eclipse.microprofile.graphql.Type;
+
+import java.time.LocalDate;
+
+
+/**
+ * A person in the GraphQL schema.
+ * The birth country and Nobel Prizes are resolved by {@link NobelGraphQlApi}.
+ */
+@Type("Person")
+public class PersonNode {
+
+    @Ignore
+    private final int id;
+    @Ignore
+    private final int birthCountryId;
+    private final String personIdentifier;
+    private final String name;
+    private final String displayName;
+    private final String description;
+    private final LocalDate birthDate;
+    private final LocalDate deathDate;
+    private final String url;
+
+    PersonNode(@Nonnull final PersonRecord person) {
+        this.id = person.getId();
+        this.birthCountryId = person.getBirthcountryid();
+        this.personIdentifier = person.getPersonidentifier();
+        this.name = person.getName();
+        this.displayName = person.getDisplayname();
+        this.description = person.getDescription();
+        this.birthDate = person.getBirthdate();
+        this.deathDate = person.getDeathdate();
+        this.url = person.getUrl();
+    }
+
+    @Ignore
+    public int getId() {
+        return id;
+    }
+
+    @Ignore
+    public int getBirthCountryId() {
+        return birthCountryId;
+    }
+
+    public String getPersonIdentifier() {
+        return personIdentifier;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public LocalDate getBirthDate() {
+        return birthDate;
+    }
+
+    public LocalDate getDeathDate() {
+        return deathDate;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+}
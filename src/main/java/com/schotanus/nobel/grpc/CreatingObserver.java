@@ -0,0 +1,58 @@
+package com.schotanus.nobel.grpc;
+
+import io.grpc.stub.StreamObserver;
+import io.quarkus.logging.Log;
+import jakarta.annotation.Nonnull;
+
+import java.util.function.Consumer;
+
+
+/**
+ * Receives a client stream of entities and creates every entity as it arrives.
+ * An entity that can not be created is reported in the result, instead of failing the whole stream.
+ *
+ * @param <T> Type of message.
+ */
+final class CreatingObserver<T> implements StreamObserver<T> {
+
+    private final StreamObserver<CreateResult> responseObserver;
+    private final Consumer<T> creator;
+    private final CreateResult.Builder result = CreateResult.newBuilder();
+    private int index;
+
+    /**
+     * Constructor.
+     *
+     * @param responseObserver Observer to send the result to.
+     * @param creator Creates a single entity, throwing a runtime exception when it can not be created.
+     */
+    CreatingObserver(@Nonnull final StreamObserver<CreateResult> responseObserver, @Nonnull final Consumer<T> creator) {
+        this.responseObserver = responseObserver;
+        this.creator = creator;
+    }
+
+    @Override
+    public void onNext(final T message) {
+        try {
+            creator.accept(message);
+            result.setCreated(result.getCreated() + 1);
+        } catch (RuntimeException exception) {
+            result.addFailures(CreateFailure.newBuilder()
+                .setIndex(index)
+                .setMessage(String.valueOf(exception.getMessage())));
+        }
+        index++;
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        Log.warn("Create stream failed after: " + index + " entities", throwable);
+    }
+
+    @Override
+    public void onCompleted() {
+        responseObserver.onNext(result.build());
+        responseObserver.onCompleted();
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.schotanus.nobel.grpc;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.annotation.Nonnull;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Sends the messages of a server stream, from a worker thread, only as fast as the client receives them.
+ * Blocking the sending thread blocks reading the database cursor, so a slow client never makes the server
+ * buffer the complete result.
+ * <p>
+ * The on ready handler wakes up the sending thread, but the handler of a blocking call may only be called
+ * after the call itself returned, so the sending thread also checks readiness at a bounded interval.
+ * A client that receives nothing for the stall timeout, or a stream that is still sending at its deadline,
+ * ends the stream with status DEADLINE_EXCEEDED, which stops reading (and closes) the cursor.
+ *
+ * @param <T> Type of message.
+ */
+final class FlowControlledSender<T> {
+
+    private static final long MAX_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final StreamObserver<T> observer;
+    private final long stallTimeoutNanos;
+    private final long deadlineNanos;
+    private volatile Thread waiting;
+
+    /**
+     * Creates a sender.
+     * Must be called before the call returns, since the on ready handler can only be set before that.
+     *
+     * @param observer Observer of the stream.
+     * @param stallTimeout Maximum time to wait until the client is ready to receive a message.
+     * @param deadline Maximum time, from now, to send all messages.
+     */
+    FlowControlledSender(
+            @Nonnull final StreamObserver<T> observer,
+            @Nonnull final Duration stallTimeout,
+            @Nonnull final Duration deadline) {
+        this.observer = observer;
+        this.stallTimeoutNanos = stallTimeout.toNanos();
+        this.deadlineNanos = System.nanoTime() + deadline.toNanos();
+        if (observer instanceof ServerCallStreamObserver<T> serverObserver) {
+            serverObserver.setOnReadyHandler(() -> {
+                final Thread thread = waiting;
+                if (thread != null) {
+                    LockSupport.unpark(thread);
+                }
+            });
+        }
+    }
+
+    /**
+     * Sends a message, after waiting until the client is ready to receive it.
+     *
+     * @param message The message.
+     * @throws io.grpc.StatusRuntimeException With status CANCELLED, when the client cancelled the call,
+     *   or with status DEADLINE_EXCEEDED, when the client stalled or the deadline passed.
+     */
+    void send(@Nonnull final T message) {
+        if (observer instanceof ServerCallStreamObserver<T> serverObserver) {
+            awaitReady(serverObserver);
+        } else if (System.nanoTime() - deadlineNanos >= 0) {
+            throw deadlineExceeded();
+        }
+        observer.onNext(message);
+    }
+
+    private void awaitReady(@Nonnull final ServerCallStreamObserver<T> serverObserver) {
+        final long stalledAt = System.nanoTime() + stallTimeoutNanos;
+        waiting = Thread.currentThread();
+        try {
+            while (true) {
+                if (serverObserver.isCancelled()) {
+                    throw Status.CANCELLED.withDescription("Call cancelled by the client").asRuntimeException();
+                }
+                final long now = System.nanoTime();
+                if (now - deadlineNanos >= 0) {
+                    throw deadlineExceeded();
+                }
+                if (serverObserver.isReady()) {
+                    return;
+                }
+                if (now - stalledAt >= 0) {
+                    throw Status.DEADLINE_EXCEEDED
+                        .withDescription("Client stopped receiving messages")
+                        .asRuntimeException();
+                }
+                LockSupport.parkNanos(this, Math.min(MAX_WAIT_NANOS, Math.min(deadlineNanos, stalledAt) - now));
+            }
+        } finally {
+            waiting = null;
+        }
+    }
+
+    @Nonnull
+    private static RuntimeException deadlineExceeded() {
+        return Status.DEADLINE_EXCEEDED.withDescription("Stream exceeded its deadline").asRuntimeException();
+    }
+
+}
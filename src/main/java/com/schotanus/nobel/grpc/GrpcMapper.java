@@ -0,0 +1,138 @@
+package com.schotanus.nobel.grpc;
+
+import com.schotanus.nobel.model.NobelPrizeCategoryEnum;
+import com.schotanus.nobel.model.NobelPrizeLaureateCreateType;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.time.LocalDate;
+
+
+/**
+ * Converts the models of the REST API into protobuf messages and vice versa,
+ * so the gRPC API can use the existing services.
+ * Protobuf has no null values, so null values are converted into empty strings (and back).
+ */
+final class GrpcMapper {
+
+    private GrpcMapper() {
+    }
+
+    @Nonnull
+    static Person toMessage(@Nonnull final com.schotanus.nobel.model.Person person) {
+        return Person.newBuilder()
+            .setPersonIdentifier(toString(person.getPersonIdentifier()))
+            .setName(toString(person.getName()))
+            .setDisplayName(toString(person.getDisplayName()))
+            .setDescription(toString(person.getDescription()))
+            .setBirthDate(toString(person.getBirthDate()))
+            .setBirthCountryCode(toString(person.getBirthCountryCode()))
+            .setDeathDate(toString(person.getDeathDate()))
+            .setUrl(toString(person.getUrl()))
+            .build();
+    }
+
+    @Nonnull
+    static Organization toMessage(@Nonnull final com.schotanus.nobel.model.Organization organization) {
+        return Organization.newBuilder()
+            .setOrganizationIdentifier(toString(organization.getOrganizationIdentifier()))
+            .setName(toString(organization.getName()))
+            .setDescription(toString(organization.getDescription()))
+            .setUrl(toString(organization.getUrl()))
+            .build();
+    }
+
+    @Nonnull
+    static NobelPrize toMessage(@Nonnull final com.schotanus.nobel.model.NobelPrize nobelPrize) {
+        final NobelPrize.Builder builder = NobelPrize.newBuilder()
+            .setCategory(toMessage(nobelPrize.getCategory()))
+            .setYear(nobelPrize.getYear())
+            .setUrl(toString(nobelPrize.getUrl()));
+        if (nobelPrize.getLaureates() != null) {
+            for (com.schotanus.nobel.model.NobelPrizeLaureate laureate : nobelPrize.getLaureates()) {
+                final NobelPrizeLaureate.Builder laureateBuilder = NobelPrizeLaureate.newBuilder()
+                    .setDescription(toString(laureate.getDescription()))
+                    .setFractionNominator(laureate.getFractionNominator())
+                    .setFractionDenominator(laureate.getFractionDenominator());
+                if (laureate.getPerson() != null) {
+                    laureateBuilder.setPerson(toMessage(laureate.getPerson()));
+                } else if (laureate.getOrganization() != null) {
+                    laureateBuilder.setOrganization(toMessage(laureate.getOrganization()));
+                }
+                builder.addLaureates(laureateBuilder);
+            }
+        }
+
+        return builder.build();
+    }
+
+    @Nonnull
+    static NobelPrizeCategory toMessage(@Nullable final NobelPrizeCategoryEnum category) {
+        return category == null ? NobelPrizeCategory.NOBEL_PRIZE_CATEGORY_UNSPECIFIED
+            : NobelPrizeCategory.valueOf(category.name());
+    }
+
+    @Nonnull
+    static com.schotanus.nobel.model.Person toModel(@Nonnull final Person message) {
+        final com.schotanus.nobel.model.Person person = new com.schotanus.nobel.model.Person();
+        person.setPersonIdentifier(toNull(message.getPersonIdentifier()));
+        person.setName(toNull(message.getName()));
+        person.setDisplayName(toNull(message.getDisplayName()));
+        person.setDescription(toNull(message.getDescription()));
+        person.setBirthDate(toDate(message.getBirthDate()));
+        person.setBirthCountryCode(toNull(message.getBirthCountryCode()));
+        person.setDeathDate(toDate(message.getDeathDate()));
+        person.setUrl(toNull(message.getUrl()));
+
+        return person;
+    }
+
+    @Nonnull
+    static com.schotanus.nobel.model.NobelPrizeCreate toModel(@Nonnull final NobelPrizeCreate message) {
+        final com.schotanus.nobel.model.NobelPrizeCreate nobelPrize = new com.schotanus.nobel.model.NobelPrizeCreate();
+        nobelPrize.setCategory(toModel(message.getCategory()));
+        nobelPrize.setYear(message.getYear());
+        nobelPrize.setUrl(toNull(message.getUrl()));
+        for (NobelPrizeLaureateCreate laureateMessage : message.getLaureatesList()) {
+            final NobelPrizeLaureateCreateType type = new NobelPrizeLaureateCreateType();
+            switch (laureateMessage.getLaureateCase()) {
+                case PERSON_IDENTIFIER -> type.setPersonIdentifier(laureateMessage.getPersonIdentifier());
+                case ORGANIZATION_IDENTIFIER -> type.setOrganizationIdentifier(laureateMessage.getOrganizationIdentifier());
+                case LAUREATE_NOT_SET -> {
+                    // Rejected by the validation of the Nobel Prize
+                }
+            }
+            final com.schotanus.nobel.model.NobelPrizeLaureateCreate laureate =
+                new com.schotanus.nobel.model.NobelPrizeLaureateCreate();
+            laureate.setType(type);
+            laureate.setDescription(toNull(laureateMessage.getDescription()));
+            laureate.setFractionNominator(laureateMessage.getFractionNominator());
+            laureate.setFractionDenominator(laureateMessage.getFractionDenominator());
+            nobelPrize.addLaureatesItem(laureate);
+        }
+
+        return nobelPrize;
+    }
+
+    @Nullable
+    static NobelPrizeCategoryEnum toModel(@Nonnull final NobelPrizeCategory category) {
+        return category == NobelPrizeCategory.NOBEL_PRIZE_CATEGORY_UNSPECIFIED || category == NobelPrizeCategory.UNRECOGNIZED
+            ? null : NobelPrizeCategoryEnum.valueOf(category.name());
+    }
+
+    @Nonnull
+    private static String toString(@Nullable final Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    @Nullable
+    private static String toNull(@Nonnull final String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    @Nullable
+    private static LocalDate toDate(@Nonnull final String value) {
+        return value.isEmpty() ? null : LocalDate.parse(value);
+    }
+
+}
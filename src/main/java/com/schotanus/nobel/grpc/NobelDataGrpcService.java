@@ -0,0 +1,102 @@
+package com.schotanus.nobel.grpc;
+
+import com.schotanus.nobel.model.NobelPrizeCategoryEnum;
+import com.schotanus.nobel.service.NobelPrizeService;
+import com.schotanus.nobel.service.PersonService;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import io.quarkus.grpc.GrpcService;
+import io.smallrye.common.annotation.Blocking;
+import jakarta.annotation.Nonnull;
+import jakarta.ws.rs.BadRequestException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+
+/**
+ * Implements the generated gRPC service NobelData (see nobel.proto) for bulk data consumers.
+ * Lists are streamed from a database cursor, a message at a time, instead of being serialized into one JSON document.
+ * All calls use the same services as the REST API, so validation and change events are the same.
+ * A stream ends when the client stops receiving messages (nobel.grpc.stall-timeout),
+ * or at the same maximum deadline as a REST request (nobel.deadline.max).
+ */
+@GrpcService
+public class NobelDataGrpcService extends NobelDataGrpc.NobelDataImplBase {
+
+    private final NobelPrizeService nobelPrizeService;
+    private final PersonService personService;
+    private final Duration stallTimeout;
+    private final Duration deadline;
+
+    NobelDataGrpcService(
+            NobelPrizeService nobelPrizeService,
+            PersonService personService,
+            @ConfigProperty(name = "nobel.grpc.stall-timeout", defaultValue = "30s") Duration stallTimeout,
+            @ConfigProperty(name = "nobel.deadline.max", defaultValue = "5m") Duration deadline) {
+        this.nobelPrizeService = nobelPrizeService;
+        this.personService = personService;
+        this.stallTimeout = stallTimeout;
+        this.deadline = deadline;
+    }
+
+    @Override
+    @Blocking
+    public void listNobelPrizes(ListNobelPrizesRequest request, StreamObserver<NobelPrize> responseObserver) {
+        final NobelPrizeCategoryEnum category = GrpcMapper.toModel(request.getCategory());
+        stream(responseObserver, sender -> nobelPrizeService.streamNobelPrizes(
+            request.hasYear() ? request.getYear() : null,
+            category == null ? null : category.name(),
+            nobelPrize -> sender.send(GrpcMapper.toMessage(nobelPrize))));
+    }
+
+    @Override
+    @Blocking
+    public void listPersons(ListPersonsRequest request, StreamObserver<Person> responseObserver) {
+        stream(responseObserver, sender -> personService.streamPersons(
+            request.getName(),
+            request.getCountryCode(),
+            request.hasYearOfBirth() ? request.getYearOfBirth() : null,
+            request.hasYearOfDeath() ? request.getYearOfDeath() : null,
+            person -> sender.send(GrpcMapper.toMessage(person))));
+    }
+
+    @Override
+    @Blocking
+    public StreamObserver<Person> createPersons(StreamObserver<CreateResult> responseObserver) {
+        return new CreatingObserver<>(responseObserver,
+            person -> personService.createPerson(GrpcMapper.toModel(person)));
+    }
+
+    @Override
+    @Blocking
+    public StreamObserver<NobelPrizeCreate> createNobelPrizes(StreamObserver<CreateResult> responseObserver) {
+        return new CreatingObserver<>(responseObserver,
+            nobelPrize -> nobelPrizeService.createNobelPrize(GrpcMapper.toModel(nobelPrize)));
+    }
+
+    /**
+     * Streams messages through a {@link FlowControlledSender}.
+     * When the sender stops the stream, the cursor is already closed, and the client gets the status of the sender.
+     * Invalid selection criteria end the stream with status INVALID_ARGUMENT.
+     */
+    private <T> void stream(
+            @Nonnull final StreamObserver<T> responseObserver,
+            @Nonnull final Consumer<FlowControlledSender<T>> streaming) {
+        final FlowControlledSender<T> sender = new FlowControlledSender<>(responseObserver, stallTimeout, deadline);
+        try {
+            streaming.accept(sender);
+        } catch (StatusRuntimeException exception) {
+            responseObserver.onError(exception);
+            return;
+        } catch (BadRequestException exception) {
+            responseObserver.onError(
+                Status.INVALID_ARGUMENT.withDescription(exception.getMessage()).asRuntimeException());
+            return;
+        }
+        responseObserver.onCompleted();
+    }
+
+}
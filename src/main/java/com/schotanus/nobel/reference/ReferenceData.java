@@ -0,0 +1,259 @@
+package com.schotanus.nobel.reference;
+
+import com.schotanus.nobel.model.NobelPrizeCategory;
+import com.schotanus.nobel.model.NobelPrizeCategoryEnum;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Countries and Nobel Prize categories, read from Liquibase's changeLog.xml and countries-dml.xml.
+ * This data can only be changed by changing these files, so there is no need to select it from the database.
+ * The primary keys are generated by the database in insertion order, so the n-th insert has primary key n.
+ * Since a gap or reordering in a sequence would silently break this assumption, the primary keys are compared with
+ * the database at startup, and the ones of the database are used when they differ (see {@link #useIds(Map, Map)}).
+ * In a native image this class is initialized at build time (see the native profile in the pom.xml file),
+ * so the native executable does not even have to parse the files.
+ */
+public final class ReferenceData {
+
+    private static final String CHANGE_LOG = "db/changeLog.xml";
+    private static final String COUNTRIES = "db/countries-dml.xml";
+
+    private static final Map<NobelPrizeCategoryEnum, String> CATEGORY_DESCRIPTIONS;
+
+    private static volatile Ids ids;
+
+    static {
+        final List<Map<String, String>> countries = readInserts(COUNTRIES, "country");
+        final Map<String, Integer> countryIds = HashMap.newHashMap(countries.size());
+        for (int index = 0; index < countries.size(); index++) {
+            countryIds.put(countries.get(index).get("code"), index + 1);
+        }
+
+        final List<Map<String, String>> categories = readInserts(CHANGE_LOG, "nobel-prize-category");
+        final Map<String, Integer> categoryIds = HashMap.newHashMap(categories.size());
+        final Map<NobelPrizeCategoryEnum, String> categoryDescriptions = new EnumMap<>(NobelPrizeCategoryEnum.class);
+        for (int index = 0; index < categories.size(); index++) {
+            final String code = categories.get(index).get("code");
+            categoryIds.put(code, index + 1);
+            categoryDescriptions.put(NobelPrizeCategoryEnum.valueOf(code), categories.get(index).get("description"));
+        }
+        CATEGORY_DESCRIPTIONS = Collections.unmodifiableMap(categoryDescriptions);
+        ids = Ids.of(countryIds, categoryIds);
+    }
+
+    private ReferenceData() {
+    }
+
+    /**
+     * Checks whether the primary keys of the countries and Nobel Prize categories equal the supplied ones,
+     * normally selected from the database.
+     *
+     * @param countryIds Primary keys of all countries, by code.
+     * @param categoryIds Primary keys of all Nobel Prize categories, by code.
+     * @return True when the primary keys are equal.
+     */
+    public static boolean hasIds(
+            @Nonnull final Map<String, Integer> countryIds,
+            @Nonnull final Map<String, Integer> categoryIds) {
+        final Ids current = ids;
+        return current.countryIds().equals(countryIds) && current.categoryIds().equals(categoryIds);
+    }
+
+    /**
+     * Replaces the primary keys of the countries and Nobel Prize categories by the supplied ones,
+     * normally selected from the database, when they differ from the primary keys derived from the Liquibase files.
+     *
+     * @param countryIds Primary keys of all countries, by code.
+     * @param categoryIds Primary keys of all Nobel Prize categories, by code.
+     */
+    public static void useIds(
+            @Nonnull final Map<String, Integer> countryIds,
+            @Nonnull final Map<String, Integer> categoryIds) {
+        ids = Ids.of(countryIds, categoryIds);
+    }
+
+    /**
+     * Gets the primary key of the country with the supplied code.
+     *
+     * @param code The code (ISO-3166, alpha-2 code) of the country.
+     * @return The primary key of the country, or null when no such country exists.
+     */
+    @Nullable
+    public static Integer getCountryId(@Nonnull final String code) {
+        return ids.countryIds().get(code);
+    }
+
+    /**
+     * Gets the code of the country with the supplied primary key.
+     *
+     * @param id Primary key of the country.
+     * @return The code (ISO-3166, alpha-2 code) of the country, or null when no such country exists.
+     */
+    @Nullable
+    public static String getCountryCode(final int id) {
+        final String[] countryCodes = ids.countryCodes();
+        return id > 0 && id < countryCodes.length ? countryCodes[id] : null;
+    }
+
+    /**
+     * Gets the number of countries.
+     *
+     * @return The number of countries.
+     */
+    public static int getNumberOfCountries() {
+        return ids.countryIds().size();
+    }
+
+    /**
+     * Gets the highest primary key of all countries.
+     *
+     * @return The highest primary key of all countries.
+     */
+    public static int getMaxCountryId() {
+        return ids.countryCodes().length - 1;
+    }
+
+    /**
+     * Gets the primary key of a Nobel Prize category.
+     *
+     * @param category Category for which the primary key must be fetched.
+     * @return The primary key of the Nobel Prize category, or null when not found.
+     */
+    @Nullable
+    public static Integer getCategoryId(@Nonnull final NobelPrizeCategoryEnum category) {
+        return ids.categoryIds().get(category.name());
+    }
+
+    /**
+     * Gets the code of the Nobel Prize category with the supplied primary key.
+     *
+     * @param id Primary key of the Nobel Prize category.
+     * @return The code of the Nobel Prize category, or null when no such category exists.
+     */
+    @Nullable
+    public static NobelPrizeCategoryEnum getCategoryCode(final int id) {
+        for (Map.Entry<String, Integer> entry : ids.categoryIds().entrySet()) {
+            if (entry.getValue() == id) {
+                return NobelPrizeCategoryEnum.valueOf(entry.getKey());
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets a single Nobel Prize category by its unique code.
+     *
+     * @param code The Nobel Prize category code.
+     * @return The Nobel Prize category, or null when no Nobel Prize category exists with the supplied code.
+     */
+    @Nullable
+    public static NobelPrizeCategory getCategory(@Nonnull final String code) {
+        for (NobelPrizeCategoryEnum category : CATEGORY_DESCRIPTIONS.keySet()) {
+            if (category.name().equals(code)) {
+                return createCategory(category);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets all Nobel Prize categories, ordered by description.
+     *
+     * @return All Nobel Prize categories.
+     */
+    @Nonnull
+    public static List<NobelPrizeCategory> getCategories() {
+        final List<NobelPrizeCategory> categories = new ArrayList<>(CATEGORY_DESCRIPTIONS.size());
+        for (NobelPrizeCategoryEnum category : CATEGORY_DESCRIPTIONS.keySet()) {
+            categories.add(createCategory(category));
+        }
+        categories.sort(Comparator.comparing(NobelPrizeCategory::getDescription));
+
+        return categories;
+    }
+
+    private static NobelPrizeCategory createCategory(final NobelPrizeCategoryEnum category) {
+        final NobelPrizeCategory result = new NobelPrizeCategory();
+        result.setCode(category);
+        result.setDescription(CATEGORY_DESCRIPTIONS.get(category));
+
+        return result;
+    }
+
+    /**
+     * Primary keys of the reference data, replaced as a whole.
+     *
+     * @param countryIds Primary keys of all countries, by code.
+     * @param countryCodes Codes of all countries, by primary key.
+     * @param categoryIds Primary keys of all Nobel Prize categories, by code.
+     */
+    private record Ids(
+            Map<String, Integer> countryIds,
+            String[] countryCodes,
+            Map<String, Integer> categoryIds) {
+
+        static Ids of(final Map<String, Integer> countryIds, final Map<String, Integer> categoryIds) {
+            final int maxCountryId = countryIds.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+            final String[] countryCodes = new String[maxCountryId + 1];
+            countryIds.forEach((code, id) -> countryCodes[id] = code);
+
+            return new Ids(Map.copyOf(countryIds), countryCodes, Map.copyOf(categoryIds));
+        }
+    }
+
+    /**
+     * Reads all Liquibase inserts into the supplied table, in the order they appear in the supplied file.
+     *
+     * @param resource Liquibase file to read.
+     * @param tableName Name of the table.
+     * @return For every insert, the values by column name.
+     */
+    private static List<Map<String, String>> readInserts(final String resource, final String tableName) {
+        try (InputStream inputStream = ReferenceData.class.getClassLoader().getResourceAsStream(resource)) {
+            if (inputStream == null) {
+                throw new IllegalStateException("Resource: " + resource + ", not found");
+            }
+            final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            final Document document = factory.newDocumentBuilder().parse(inputStream);
+
+            final List<Map<String, String>> inserts = new ArrayList<>();
+            final NodeList insertNodes = document.getElementsByTagNameNS("*", "insert");
+            for (int index = 0; index < insertNodes.getLength(); index++) {
+                final Element insert = (Element) insertNodes.item(index);
+                if (tableName.equals(insert.getAttribute("tableName"))) {
+                    final Map<String, String> values = new LinkedHashMap<>();
+                    final NodeList columns = insert.getElementsByTagNameNS("*", "column");
+                    for (int column = 0; column < columns.getLength(); column++) {
+                        final Element element = (Element) columns.item(column);
+                        values.put(element.getAttribute("name"), element.getAttribute("value"));
+                    }
+                    inserts.add(values);
+                }
+            }
+
+            return inserts;
+        } catch (Exception exception) {
+            throw new IllegalStateException("Unable to read reference data from: " + resource, exception);
+        }
+    }
+
+}
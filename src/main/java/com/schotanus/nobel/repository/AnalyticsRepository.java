@@ -0,0 +1,76 @@
+package com.schotanus.nobel.repository;
+
+import static com.schotanus.nobel.Tables.NOBEL_PRIZE;
+import static com.schotanus.nobel.Tables.NOBEL_PRIZE_CATEGORY;
+import static com.schotanus.nobel.Tables.NOBEL_PRIZE_LAUREATE;
+import static com.schotanus.nobel.Tables.PERSON;
+
+import com.schotanus.nobel.datasource.DslContextRouter;
+import com.schotanus.nobel.model.NobelPrizeCategoryEnum;
+import jakarta.annotation.Nonnull;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+
+/**
+ * This repository is responsible for selecting the laureates for analytical purposes.
+ */
+@ApplicationScoped
+public class AnalyticsRepository {
+
+    private final DslContextRouter router;
+
+    /**
+     * A laureate, with only the properties needed for analytics.
+     *
+     * @param year Year the Nobel Prize was awarded.
+     * @param category Category of the Nobel Prize.
+     * @param countryId Primary key of the country the laureate was born in, or null for organizations.
+     * @param birthDate Birth date of the laureate, or null for organizations.
+     * @param fractionNominator Nominator of the fraction of the Nobel Prize awarded to the laureate.
+     * @param fractionDenominator Denominator of the fraction of the Nobel Prize awarded to the laureate.
+     */
+    public record LaureateRow(
+            int year,
+            NobelPrizeCategoryEnum category,
+            Integer countryId,
+            LocalDate birthDate,
+            int fractionNominator,
+            int fractionDenominator) {
+    }
+
+    AnalyticsRepository(DslContextRouter router) {
+        this.router = router;
+    }
+
+    /**
+     * Selects all laureates, from the primary database,
+     * since the laureates are selected right after a change that the replica may not have applied yet.
+     *
+     * @param consumer Consumer of the laureates, in the order the Nobel Prizes were awarded.
+     */
+    public void getLaureates(@Nonnull final Consumer<LaureateRow> consumer) {
+        router.primary().select(
+                NOBEL_PRIZE.YEAR,
+                NOBEL_PRIZE_CATEGORY.CODE,
+                PERSON.BIRTHCOUNTRYID,
+                PERSON.BIRTHDATE,
+                NOBEL_PRIZE_LAUREATE.FRACTIONNOMINATOR,
+                NOBEL_PRIZE_LAUREATE.FRACTIONDENOMINATOR)
+            .from(NOBEL_PRIZE_LAUREATE)
+            .join(NOBEL_PRIZE).on(NOBEL_PRIZE.ID.eq(NOBEL_PRIZE_LAUREATE.NOBELPRIZEID))
+            .join(NOBEL_PRIZE_CATEGORY).on(NOBEL_PRIZE_CATEGORY.ID.eq(NOBEL_PRIZE.CATEGORYID))
+            .leftJoin(PERSON).on(PERSON.ID.eq(NOBEL_PRIZE_LAUREATE.PERSONID))
+            .orderBy(NOBEL_PRIZE.YEAR, NOBEL_PRIZE.CATEGORYID, NOBEL_PRIZE_LAUREATE.ID)
+            .forEach(laureate -> consumer.accept(new LaureateRow(
+                laureate.value1(),
+                NobelPrizeCategoryEnum.valueOf(laureate.value2()),
+                laureate.value3(),
+                laureate.value4(),
+                laureate.value5(),
+                laureate.value6())));
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.schotanus.nobel.repository;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * A (possibly limited) list of results, with the total number of results.
+ * The list of results is unmodifiable, since a single list may be shared between callers.
+ *
+ * @param items The results.
+ * @param totalCount Total number of results, ignoring the limit, or null when not counted.
+ * @param estimated True when the total number of results is an estimate.
+ * @param <T> Type of result.
+ */
+public record CountedList<T>(@Nonnull List<T> items, @Nullable Long totalCount, boolean estimated) {
+
+    public CountedList {
+        items = Collections.unmodifiableList(items);
+    }
+
+}
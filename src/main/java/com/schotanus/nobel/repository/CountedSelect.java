@@ -0,0 +1,92 @@
+package com.schotanus.nobel.repository;
+
+import static org.jooq.impl.DSL.count;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SelectLimitStep;
+import org.jooq.Table;
+
+import java.util.List;
+import java.util.function.Function;
+
+
+/**
+ * Executes a select, optionally limited, and counts the total number of results without a second scan:
+ * <ul>
+ *     <li>Without a limit, the number of selected rows is the total.</li>
+ *     <li>Without selection criteria, the total is estimated from the table statistics of PostgreSQL (pg_class),
+ *     unless an exact count is requested.</li>
+ *     <li>Otherwise, the total is selected in the same statement, using the window function count(*) over ().</li>
+ * </ul>
+ */
+final class CountedSelect {
+
+    private static final Field<Long> TOTAL_COUNT = count().over().cast(Long.class).as("totalcount");
+
+    private CountedSelect() {
+    }
+
+    /**
+     * Executes a select.
+     *
+     * @param dsl Context to execute the select with.
+     * @param table The table selected from, used for the estimate.
+     * @param select Creates the select, ordered but not limited, including the supplied additional fields.
+     * @param type Type to convert every row into.
+     * @param filtered True when the select has selection criteria, so the table statistics can not be used.
+     * @param limit Maximum number of rows to return, or null to return all rows.
+     * @param count True to count the total number of results.
+     * @param exact True to never estimate the total number of results.
+     * @param <E> Type to convert every row into.
+     * @return The results and (when requested) the total number of results.
+     */
+    @Nonnull
+    static <E> CountedList<E> fetch(
+            @Nonnull final DSLContext dsl,
+            @Nonnull final Table<?> table,
+            @Nonnull final Function<List<Field<?>>, SelectLimitStep<Record>> select,
+            @Nonnull final Class<E> type,
+            final boolean filtered,
+            @Nullable final Integer limit,
+            final boolean count,
+            final boolean exact) {
+        if (limit == null) {
+            final List<E> items = select.apply(List.of()).fetchInto(type);
+            return new CountedList<>(items, count ? (long) items.size() : null, false);
+        }
+        if (!count) {
+            return new CountedList<>(select.apply(List.of()).limit(limit).fetchInto(type), null, false);
+        }
+
+        final Long estimate = filtered || exact ? null : estimateRowCount(dsl, table);
+        if (estimate != null) {
+            return new CountedList<>(select.apply(List.of()).limit(limit).fetchInto(type), estimate, true);
+        }
+        if (limit == 0) {
+            // A window function has no rows to return the count in
+            return new CountedList<>(List.of(), (long) dsl.fetchCount(select.apply(List.of())), false);
+        }
+
+        final Result<Record> result = select.apply(List.of(TOTAL_COUNT)).limit(limit).fetch();
+        return new CountedList<>(result.into(type), result.isEmpty() ? 0L : result.getFirst().get(TOTAL_COUNT), false);
+    }
+
+    /**
+     * Gets the number of rows of a table, as estimated by the last (auto) vacuum or analyze.
+     *
+     * @return The estimated number of rows, or null when the table has never been analyzed.
+     */
+    @Nullable
+    private static Long estimateRowCount(final DSLContext dsl, final Table<?> table) {
+        final Long estimate = dsl.resultQuery("select reltuples::bigint from pg_class where oid = ?::regclass",
+                table.getQualifiedName().toString())
+            .fetchOne(0, Long.class);
+        return estimate == null || estimate < 0 ? null : estimate;
+    }
+
+}
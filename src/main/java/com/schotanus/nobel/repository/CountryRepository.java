@@ -1,11 +1,14 @@
 package com.schotanus.nobel.repository;
 
+import com.schotanus.nobel.datasource.DslContextRouter;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import jakarta.enterprise.context.ApplicationScoped;
-import org.jooq.DSLContext;
 
+import java.util.Map;
 import static com.schotanus.nobel.Tables.COUNTRY;
+import static org.jooq.impl.DSL.param;
+import static org.jooq.impl.DSL.select;
 
 
 /**
@@ -15,10 +18,15 @@ import static com.schotanus.nobel.Tables.COUNTRY;
 @ApplicationScoped
 public class CountryRepository {
 
-    private final DSLContext dsl;
+    private final DslContextRouter router;
+    private final PrimaryKeyLookup primaryKeyLookup;
 
-    CountryRepository(DSLContext dsl) {
-        this.dsl = dsl;
+    CountryRepository(DslContextRouter router) {
+        this.router = router;
+        this.primaryKeyLookup = new PrimaryKeyLookup(
+            select(COUNTRY.ID)
+            .from(COUNTRY)
+            .where(COUNTRY.CODE.eq(param("code", String.class))));
     }
 
     /**
@@ -29,10 +37,19 @@ public class CountryRepository {
      */
     @Nullable
     public Integer getPrimaryKeyOfCountry(@Nonnull String code) {
-        return dsl.select(COUNTRY.ID)
+        return primaryKeyLookup.fetch(router.replica(), code);
+    }
+
+    /**
+     * Gets the primary keys of all countries, from the primary database.
+     *
+     * @return The primary keys of all countries, by code.
+     */
+    @Nonnull
+    public Map<String, Integer> getPrimaryKeysOfCountries() {
+        return router.primary().select(COUNTRY.CODE, COUNTRY.ID)
             .from(COUNTRY)
-            .where(COUNTRY.CODE.eq(code))
-            .fetchOneInto(Integer.class);
+            .fetchMap(COUNTRY.CODE, COUNTRY.ID);
     }
 
 }
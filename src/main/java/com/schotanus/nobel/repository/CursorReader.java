@@ -0,0 +1,64 @@
+package com.schotanus.nobel.repository;
+
+import jakarta.annotation.Nonnull;
+import org.jooq.Cursor;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.ResultQuery;
+import org.jooq.impl.DSL;
+
+import java.util.function.Consumer;
+
+
+/**
+ * Reads the result of a select through a database cursor, so large results are never completely in memory.
+ */
+final class CursorReader {
+
+    /**
+     * Number of rows fetched from the database at a time.
+     */
+    static final int FETCH_SIZE = 500;
+
+    private CursorReader() {
+    }
+
+    /**
+     * Executes the supplied select and passes every row, converted into the supplied type, to the consumer.
+     * The consumer is called while the cursor is open, so it can apply back pressure by blocking,
+     * and it can stop reading by throwing a runtime exception.
+     *
+     * @param dsl Context to execute the select with.
+     * @param select The select.
+     * @param type Type to convert every row into.
+     * @param consumer Consumer of the converted rows.
+     * @param <R> Type of record of the select.
+     * @param <E> Type to convert every row into.
+     */
+    static <R extends Record, E> void forEach(
+            @Nonnull final DSLContext dsl,
+            @Nonnull final ResultQuery<R> select,
+            @Nonnull final Class<E> type,
+            @Nonnull final Consumer<? super E> consumer) {
+        dsl.connection(connection -> {
+            final boolean autoCommit = connection.getAutoCommit();
+            try {
+                // PostgreSQL only uses a cursor, instead of fetching all rows at once, outside auto-commit mode
+                connection.setAutoCommit(false);
+                try (Cursor<R> cursor = DSL.using(dsl.configuration().derive(connection))
+                        .fetchLazy(select.fetchSize(FETCH_SIZE))) {
+                    for (R row : cursor) {
+                        consumer.accept(row.into(type));
+                    }
+                }
+                connection.commit();
+            } catch (Exception exception) {
+                connection.rollback();
+                throw exception;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        });
+    }
+
+}
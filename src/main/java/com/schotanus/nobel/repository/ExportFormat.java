@@ -0,0 +1,16 @@
+package com.schotanus.nobel.repository;
+
+
+/**
+ * Formats in which tables can be exported.
+ */
+public enum ExportFormat {
+    /**
+     * Comma separated values, with a header line.
+     */
+    CSV,
+    /**
+     * Newline delimited JSON, a JSON object per line.
+     */
+    NDJSON
+}
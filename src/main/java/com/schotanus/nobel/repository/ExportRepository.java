@@ -0,0 +1,151 @@
+package com.schotanus.nobel.repository;
+
+import static com.schotanus.nobel.Tables.COUNTRY;
+import static com.schotanus.nobel.Tables.NOBEL_PRIZE;
+import static com.schotanus.nobel.Tables.NOBEL_PRIZE_CATEGORY;
+import static com.schotanus.nobel.Tables.NOBEL_PRIZE_LAUREATE;
+import static com.schotanus.nobel.Tables.ORGANIZATION;
+import static com.schotanus.nobel.Tables.PERSON;
+
+import com.schotanus.nobel.datasource.DslContextRouter;
+import jakarta.annotation.Nonnull;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.jooq.DSLContext;
+import org.jooq.Select;
+import org.postgresql.PGConnection;
+
+import java.io.OutputStream;
+import java.sql.Connection;
+
+
+/**
+ * This repository is responsible for exporting complete tables.
+ * The export uses PostgreSQL's COPY TO STDOUT, so rows are neither mapped by jOOQ nor serialized by Jackson.
+ * The bytes produced by the database are written to the supplied output stream as they arrive.
+ * COPY is not executed by jOOQ, so it runs through {@link DslContextRouter#connection} to apply the request deadline.
+ */
+@ApplicationScoped
+public class ExportRepository {
+
+    private final DslContextRouter router;
+
+    ExportRepository(DslContextRouter router) {
+        this.router = router;
+    }
+
+    /**
+     * Exports all persons.
+     *
+     * @param format Format of the export.
+     * @param snapshot When true, the export runs in a read-only, repeatable read transaction.
+     * @param outputStream Stream to write the export to.
+     */
+    public void exportPersons(
+            @Nonnull final ExportFormat format, final boolean snapshot, @Nonnull final OutputStream outputStream) {
+        final DSLContext dsl = router.replica();
+        copyOut(dsl, dsl.select(
+                PERSON.PERSONIDENTIFIER,
+                PERSON.NAME,
+                PERSON.DISPLAYNAME,
+                PERSON.DESCRIPTION,
+                COUNTRY.CODE.as("birthCountryCode"),
+                PERSON.BIRTHDATE,
+                PERSON.DEATHDATE,
+                PERSON.URL)
+            .from(PERSON)
+            .join(COUNTRY).on(COUNTRY.ID.eq(PERSON.BIRTHCOUNTRYID))
+            .orderBy(PERSON.ID),
+            format, snapshot, outputStream);
+    }
+
+    /**
+     * Exports all organizations.
+     *
+     * @param format Format of the export.
+     * @param snapshot When true, the export runs in a read-only, repeatable read transaction.
+     * @param outputStream Stream to write the export to.
+     */
+    public void exportOrganizations(
+            @Nonnull final ExportFormat format, final boolean snapshot, @Nonnull final OutputStream outputStream) {
+        final DSLContext dsl = router.replica();
+        copyOut(dsl, dsl.select(
+                ORGANIZATION.ORGANIZATIONIDENTIFIER,
+                ORGANIZATION.NAME,
+                ORGANIZATION.DESCRIPTION,
+                ORGANIZATION.URL)
+            .from(ORGANIZATION)
+            .orderBy(ORGANIZATION.ID),
+            format, snapshot, outputStream);
+    }
+
+    /**
+     * Exports all laureates, flattened to a single row per laureate, including the Nobel Prize.
+     *
+     * @param format Format of the export.
+     * @param snapshot When true, the export runs in a read-only, repeatable read transaction.
+     * @param outputStream Stream to write the export to.
+     */
+    public void exportLaureates(
+            @Nonnull final ExportFormat format, final boolean snapshot, @Nonnull final OutputStream outputStream) {
+        final DSLContext dsl = router.replica();
+        copyOut(dsl, dsl.select(
+                NOBEL_PRIZE.YEAR,
+                NOBEL_PRIZE_CATEGORY.CODE.as("category"),
+                PERSON.PERSONIDENTIFIER,
+                ORGANIZATION.ORGANIZATIONIDENTIFIER,
+                NOBEL_PRIZE_LAUREATE.DESCRIPTION,
+                NOBEL_PRIZE_LAUREATE.FRACTIONNOMINATOR,
+                NOBEL_PRIZE_LAUREATE.FRACTIONDENOMINATOR)
+            .from(NOBEL_PRIZE_LAUREATE)
+            .join(NOBEL_PRIZE).on(NOBEL_PRIZE.ID.eq(NOBEL_PRIZE_LAUREATE.NOBELPRIZEID))
+            .join(NOBEL_PRIZE_CATEGORY).on(NOBEL_PRIZE_CATEGORY.ID.eq(NOBEL_PRIZE.CATEGORYID))
+            .leftJoin(PERSON).on(PERSON.ID.eq(NOBEL_PRIZE_LAUREATE.PERSONID))
+            .leftJoin(ORGANIZATION).on(ORGANIZATION.ID.eq(NOBEL_PRIZE_LAUREATE.ORGANIZATIONID))
+            .orderBy(NOBEL_PRIZE.YEAR, NOBEL_PRIZE.CATEGORYID, NOBEL_PRIZE_LAUREATE.ID),
+            format, snapshot, outputStream);
+    }
+
+    /**
+     * Copies the result of the supplied select to the output stream.
+     * For NDJSON every row is converted to JSON by the database. The rows are then copied as CSV,
+     * using a quote and delimiter that never occur in JSON, so the JSON is written without any escaping.
+     */
+    private void copyOut(
+            @Nonnull final DSLContext dsl,
+            @Nonnull final Select<?> select,
+            @Nonnull final ExportFormat format,
+            final boolean snapshot,
+            @Nonnull final OutputStream outputStream) {
+        final String query = dsl.renderInlined(select);
+        final String copy = switch (format) {
+            case CSV -> "COPY (" + query + ") TO STDOUT WITH (FORMAT csv, HEADER true)";
+            case NDJSON -> "COPY (SELECT row_to_json(t) FROM (" + query + ") t) TO STDOUT "
+                + "WITH (FORMAT csv, QUOTE E'\\x01', DELIMITER E'\\x02')";
+        };
+
+        router.connection(dsl, connection -> {
+            if (!snapshot) {
+                connection.unwrap(PGConnection.class).getCopyAPI().copyOut(copy, outputStream);
+                return;
+            }
+
+            final boolean autoCommit = connection.getAutoCommit();
+            final int isolation = connection.getTransactionIsolation();
+            try {
+                connection.setAutoCommit(false);
+                connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+                connection.setReadOnly(true);
+                connection.unwrap(PGConnection.class).getCopyAPI().copyOut(copy, outputStream);
+                connection.commit();
+            } catch (Exception exception) {
+                connection.rollback();
+                throw exception;
+            } finally {
+                connection.setReadOnly(false);
+                connection.setTransactionIsolation(isolation);
+                connection.setAutoCommit(autoCommit);
+            }
+        });
+    }
+
+}
@@ -0,0 +1,239 @@
+package com.schotanus.nobel.repository;
+
+import static com.schotanus.nobel.Tables.COUNTRY;
+import static com.schotanus.nobel.Tables.NOBEL_PRIZE;
+import static com.schotanus.nobel.Tables.NOBEL_PRIZE_LAUREATE;
+import static com.schotanus.nobel.Tables.ORGANIZATION;
+import static com.schotanus.nobel.Tables.PERSON;
+import static org.jooq.impl.DSL.any;
+import static org.jooq.impl.DSL.trueCondition;
+import static org.jooq.impl.DSL.upper;
+
+import com.schotanus.nobel.datasource.DslContextRouter;
+import com.schotanus.nobel.tables.records.CountryRecord;
+import com.schotanus.nobel.tables.records.NobelPrizeLaureateRecord;
+import com.schotanus.nobel.tables.records.NobelPrizeRecord;
+import com.schotanus.nobel.tables.records.OrganizationRecord;
+import com.schotanus.nobel.tables.records.PersonRecord;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.ExecuteListener;
+import org.jooq.impl.DSL;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * This repository is responsible for selecting the entities of the GraphQL API.
+ * Nested entities are selected in batches: a single select per entity type for all parents,
+ * using {@code = any(?)} on the primary or foreign keys of the parents.
+ * Every executed statement is counted by the nobel.graphql.statements counter,
+ * and the statements of a single request in the {@value #STATEMENTS_HEADER} response header.
+ */
+@ApplicationScoped
+public class GraphRepository {
+
+    /**
+     * Response header with the number of statements executed for the request.
+     */
+    public static final String STATEMENTS_HEADER = "X-GraphQL-Statements";
+
+    private static final String STATEMENTS_KEY = GraphRepository.class.getName() + ".statements";
+
+    private final DslContextRouter router;
+    private final ExecuteListener statementCounter;
+
+    GraphRepository(DslContextRouter router, MeterRegistry registry, RoutingContext routingContext) {
+        this.router = router;
+        final Counter statements = Counter.builder("nobel.graphql.statements")
+            .description("Number of SQL statements executed for GraphQL queries")
+            .register(registry);
+        this.statementCounter = ExecuteListener.onExecuteStart(context -> {
+            statements.increment();
+            countRequestStatement(routingContext);
+        });
+    }
+
+    /**
+     * Selects Nobel Prizes, optionally filtered by year and category.
+     *
+     * @param year Year the Nobel Prize was awarded.
+     * @param categoryId Primary key of the category in which the Nobel Prize was awarded.
+     * @return All Nobel Prizes matching the supplied selection criteria, ordered by year and category.
+     */
+    @Nonnull
+    public List<NobelPrizeRecord> getNobelPrizes(@Nullable final Integer year, @Nullable final Integer categoryId) {
+        Condition condition = trueCondition();
+        if (year != null) {
+            condition = condition.and(NOBEL_PRIZE.YEAR.eq(year));
+        }
+        if (categoryId != null) {
+            condition = condition.and(NOBEL_PRIZE.CATEGORYID.eq(categoryId));
+        }
+
+        return dsl().selectFrom(NOBEL_PRIZE)
+            .where(condition)
+            .orderBy(NOBEL_PRIZE.YEAR, NOBEL_PRIZE.CATEGORYID)
+            .fetch();
+    }
+
+    /**
+     * Selects the Nobel Prizes of several persons.
+     *
+     * @param personIds Primary keys of the persons.
+     * @return The Nobel Prizes, ordered by year, by primary key of the person.
+     *   Persons without Nobel Prizes are absent.
+     */
+    @Nonnull
+    public Map<Integer, List<NobelPrizeRecord>> getNobelPrizesOfPersons(@Nonnull final Collection<Integer> personIds) {
+        return dsl().select(NOBEL_PRIZE_LAUREATE.PERSONID)
+            .select(NOBEL_PRIZE.fields())
+            .from(NOBEL_PRIZE_LAUREATE)
+            .join(NOBEL_PRIZE).on(NOBEL_PRIZE.ID.eq(NOBEL_PRIZE_LAUREATE.NOBELPRIZEID))
+            .where(NOBEL_PRIZE_LAUREATE.PERSONID.eq(any(personIds.toArray(Integer[]::new))))
+            .orderBy(NOBEL_PRIZE.YEAR, NOBEL_PRIZE.CATEGORYID)
+            .fetchGroups(NOBEL_PRIZE_LAUREATE.PERSONID, laureateRecord -> laureateRecord.into(NOBEL_PRIZE));
+    }
+
+    /**
+     * Selects the laureates of several Nobel Prizes.
+     *
+     * @param nobelPrizeIds Primary keys of the Nobel Prizes.
+     * @return The laureates, in insertion order, by primary key of the Nobel Prize.
+     */
+    @Nonnull
+    public Map<Integer, List<NobelPrizeLaureateRecord>> getLaureates(@Nonnull final Collection<Integer> nobelPrizeIds) {
+        return dsl().selectFrom(NOBEL_PRIZE_LAUREATE)
+            .where(NOBEL_PRIZE_LAUREATE.NOBELPRIZEID.eq(any(nobelPrizeIds.toArray(Integer[]::new))))
+            .orderBy(NOBEL_PRIZE_LAUREATE.ID)
+            .fetchGroups(NOBEL_PRIZE_LAUREATE.NOBELPRIZEID, laureateRecord -> laureateRecord);
+    }
+
+    /**
+     * Selects persons, optionally filtered by name.
+     *
+     * @param name Name (or first part of the name) of the person.
+     * @return All persons matching the supplied name, ordered by display name.
+     */
+    @Nonnull
+    public List<PersonRecord> getPersons(@Nullable final String name) {
+        Condition condition = trueCondition();
+        if (name != null) {
+            condition = condition.and(upper(PERSON.DISPLAYNAME).like(name + "%"));
+        }
+
+        return dsl().selectFrom(PERSON)
+            .where(condition)
+            .orderBy(PERSON.DISPLAYNAME)
+            .fetch();
+    }
+
+    /**
+     * Selects persons by their primary keys.
+     *
+     * @param ids Primary keys of the persons.
+     * @return The persons that were found, by primary key.
+     */
+    @Nonnull
+    public Map<Integer, PersonRecord> getPersons(@Nonnull final Collection<Integer> ids) {
+        return dsl().selectFrom(PERSON)
+            .where(PERSON.ID.eq(any(ids.toArray(Integer[]::new))))
+            .fetchMap(PERSON.ID);
+    }
+
+    /**
+     * Selects organizations, optionally filtered by name.
+     *
+     * @param name Name (or first part of the name) of the organization.
+     * @return All organizations matching the supplied name, ordered by name.
+     */
+    @Nonnull
+    public List<OrganizationRecord> getOrganizations(@Nullable final String name) {
+        Condition condition = trueCondition();
+        if (name != null) {
+            condition = condition.and(upper(ORGANIZATION.NAME).like(name + "%"));
+        }
+
+        return dsl().selectFrom(ORGANIZATION)
+            .where(condition)
+            .orderBy(ORGANIZATION.NAME)
+            .fetch();
+    }
+
+    /**
+     * Selects organizations by their primary keys.
+     *
+     * @param ids Primary keys of the organizations.
+     * @return The organizations that were found, by primary key.
+     */
+    @Nonnull
+    public Map<Integer, OrganizationRecord> getOrganizations(@Nonnull final Collection<Integer> ids) {
+        return dsl().selectFrom(ORGANIZATION)
+            .where(ORGANIZATION.ID.eq(any(ids.toArray(Integer[]::new))))
+            .fetchMap(ORGANIZATION.ID);
+    }
+
+    /**
+     * Selects all countries.
+     *
+     * @return All countries, ordered by name.
+     */
+    @Nonnull
+    public List<CountryRecord> getCountries() {
+        return dsl().selectFrom(COUNTRY)
+            .orderBy(COUNTRY.NAME)
+            .fetch();
+    }
+
+    /**
+     * Selects countries by their primary keys.
+     *
+     * @param ids Primary keys of the countries.
+     * @return The countries that were found, by primary key.
+     */
+    @Nonnull
+    public Map<Integer, CountryRecord> getCountries(@Nonnull final Collection<Integer> ids) {
+        return dsl().selectFrom(COUNTRY)
+            .where(COUNTRY.ID.eq(any(ids.toArray(Integer[]::new))))
+            .fetchMap(COUNTRY.ID);
+    }
+
+    /**
+     * Gets the context to select data with, counting every executed statement.
+     */
+    private DSLContext dsl() {
+        return DSL.using(router.replica().configuration().deriveAppending(statementCounter));
+    }
+
+    /**
+     * Counts a statement of the current request.
+     * The first statement adds the count to the response, when its headers are written.
+     */
+    private static void countRequestStatement(@Nonnull final RoutingContext routingContext) {
+        final Map<String, Object> data = routingContext.data();
+        final AtomicInteger count;
+        synchronized (data) {
+            if (data.get(STATEMENTS_KEY) instanceof AtomicInteger existing) {
+                count = existing;
+            } else {
+                count = new AtomicInteger();
+                data.put(STATEMENTS_KEY, count);
+                final HttpServerResponse response = routingContext.response();
+                routingContext.addHeadersEndHandler(ignored ->
+                    response.putHeader(STATEMENTS_HEADER, String.valueOf(count.get())));
+            }
+        }
+        count.incrementAndGet();
+    }
+
+}
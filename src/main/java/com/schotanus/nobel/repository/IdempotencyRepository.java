@@ -0,0 +1,133 @@
+package com.schotanus.nobel.repository;
+
+import static com.schotanus.nobel.Tables.IDEMPOTENCY_KEY;
+import static org.jooq.impl.DSL.currentOffsetDateTime;
+
+import com.schotanus.nobel.datasource.DslContextRouter;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.jooq.Records;
+
+import java.time.OffsetDateTime;
+
+
+/**
+ * This repository is responsible for maintaining the responses to requests with an idempotency key.
+ * All statements are executed on the primary database, since a retry must see the response of the original request.
+ */
+@ApplicationScoped
+public class IdempotencyRepository {
+
+    private final DslContextRouter router;
+
+    /**
+     * The stored response to a request.
+     *
+     * @param operation Operation that was executed, like: createPerson.
+     * @param requestHash Hash of the request body.
+     * @param location Location of the created entity, or null while the original request is in progress.
+     */
+    public record StoredResponse(String operation, String requestHash, @Nullable String location) {
+    }
+
+    IdempotencyRepository(DslContextRouter router) {
+        this.router = router;
+    }
+
+    /**
+     * Gets the stored response to the request with the supplied idempotency key.
+     *
+     * @param idempotencyKey Idempotency key, as supplied by the client.
+     * @return The stored response, or null when no response is stored for the supplied key.
+     */
+    @Nullable
+    public StoredResponse getResponse(@Nonnull final String idempotencyKey) {
+        return router.primary().select(
+                IDEMPOTENCY_KEY.OPERATION,
+                IDEMPOTENCY_KEY.REQUESTHASH,
+                IDEMPOTENCY_KEY.LOCATION)
+            .from(IDEMPOTENCY_KEY)
+            .where(IDEMPOTENCY_KEY.IDEMPOTENCYKEY.eq(idempotencyKey))
+            .fetchOne(Records.mapping(StoredResponse::new));
+    }
+
+    /**
+     * Reserves the supplied idempotency key for a request, unless it is already reserved.
+     * A reservation of the same request that is still in progress, but was made before the supplied moment,
+     * is taken over, since the request that made it can no longer be in progress.
+     * The location of the response is stored once the request has completed.
+     *
+     * @param idempotencyKey Idempotency key, as supplied by the client.
+     * @param operation Operation that is executed, like: createPerson.
+     * @param requestHash Hash of the request body.
+     * @param expiredBefore Reservations in progress that were made before this moment are taken over.
+     * @return The moment of the reservation, identifying it, or null when the key was already reserved.
+     */
+    @Nullable
+    public OffsetDateTime reserve(
+            @Nonnull final String idempotencyKey,
+            @Nonnull final String operation,
+            @Nonnull final String requestHash,
+            @Nonnull final OffsetDateTime expiredBefore) {
+        return router.primary().insertInto(IDEMPOTENCY_KEY).columns(
+            IDEMPOTENCY_KEY.IDEMPOTENCYKEY,
+            IDEMPOTENCY_KEY.OPERATION,
+            IDEMPOTENCY_KEY.REQUESTHASH)
+        .values(idempotencyKey, operation, requestHash)
+        .onConflict(IDEMPOTENCY_KEY.IDEMPOTENCYKEY).doUpdate()
+        .set(IDEMPOTENCY_KEY.CREATEDAT, currentOffsetDateTime())
+        .where(IDEMPOTENCY_KEY.LOCATION.isNull()
+            .and(IDEMPOTENCY_KEY.CREATEDAT.lt(expiredBefore))
+            .and(IDEMPOTENCY_KEY.OPERATION.eq(operation))
+            .and(IDEMPOTENCY_KEY.REQUESTHASH.eq(requestHash)))
+        .returningResult(IDEMPOTENCY_KEY.CREATEDAT)
+        .fetchOne(IDEMPOTENCY_KEY.CREATEDAT);
+    }
+
+    /**
+     * Stores the location of the response to the request that reserved the supplied idempotency key,
+     * unless the reservation has been taken over in the meantime.
+     *
+     * @param idempotencyKey Idempotency key, as supplied by the client.
+     * @param reservedAt Moment of the reservation, as returned by {@link #reserve}.
+     * @param location Location of the created entity.
+     */
+    public void storeLocation(
+            @Nonnull final String idempotencyKey,
+            @Nonnull final OffsetDateTime reservedAt,
+            @Nonnull final String location) {
+        router.primary().update(IDEMPOTENCY_KEY)
+            .set(IDEMPOTENCY_KEY.LOCATION, location)
+            .where(IDEMPOTENCY_KEY.IDEMPOTENCYKEY.eq(idempotencyKey))
+            .and(IDEMPOTENCY_KEY.CREATEDAT.eq(reservedAt))
+            .execute();
+    }
+
+    /**
+     * Deletes the reservation of the supplied idempotency key, so the request can be retried,
+     * unless the reservation has been taken over in the meantime.
+     *
+     * @param idempotencyKey Idempotency key, as supplied by the client.
+     * @param reservedAt Moment of the reservation, as returned by {@link #reserve}.
+     */
+    public void deleteResponse(@Nonnull final String idempotencyKey, @Nonnull final OffsetDateTime reservedAt) {
+        router.primary().deleteFrom(IDEMPOTENCY_KEY)
+            .where(IDEMPOTENCY_KEY.IDEMPOTENCYKEY.eq(idempotencyKey))
+            .and(IDEMPOTENCY_KEY.CREATEDAT.eq(reservedAt))
+            .execute();
+    }
+
+    /**
+     * Deletes all responses stored before the supplied moment.
+     *
+     * @param before Responses stored before this moment are deleted.
+     * @return The number of deleted responses.
+     */
+    public int deleteResponses(@Nonnull final OffsetDateTime before) {
+        return router.primary().deleteFrom(IDEMPOTENCY_KEY)
+            .where(IDEMPOTENCY_KEY.CREATEDAT.lt(before))
+            .execute();
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.schotanus.nobel.repository;
+
+
+/**
+ * Determines how far the laureates of a Nobel Prize are expanded when Nobel Prizes are selected.
+ */
+public enum LaureateExpansion {
+
+    /**
+     * Laureates, including the complete person or organization.
+     */
+    LAUREATES,
+
+    /**
+     * Laureates, where the person or organization only contains its identifier.
+     */
+    IDENTIFIERS,
+
+    /**
+     * No laureates at all.
+     */
+    NONE
+}
@@ -1,14 +1,17 @@
 package com.schotanus.nobel.repository;
 
+import com.schotanus.nobel.datasource.DslContextRouter;
 import com.schotanus.nobel.model.NobelPrizeCategory;
 import com.schotanus.nobel.model.NobelPrizeCategoryEnum;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import jakarta.enterprise.context.ApplicationScoped;
-import org.jooq.DSLContext;
 
 import java.util.List;
+import java.util.Map;
 import static com.schotanus.nobel.Tables.NOBEL_PRIZE_CATEGORY;
+import static org.jooq.impl.DSL.param;
+import static org.jooq.impl.DSL.select;
 
 
 /**
@@ -18,10 +21,15 @@ import static com.schotanus.nobel.Tables.NOBEL_PRIZE_CATEGORY;
 @ApplicationScoped
 public class NobelPrizeCategoryRepository {
 
-    private final DSLContext dsl;
+    private final DslContextRouter router;
+    private final PrimaryKeyLookup primaryKeyLookup;
 
-    NobelPrizeCategoryRepository(DSLContext dsl) {
-        this.dsl = dsl;
+    NobelPrizeCategoryRepository(DslContextRouter router) {
+        this.router = router;
+        this.primaryKeyLookup = new PrimaryKeyLookup(
+            select(NOBEL_PRIZE_CATEGORY.ID)
+            .from(NOBEL_PRIZE_CATEGORY)
+            .where(NOBEL_PRIZE_CATEGORY.CODE.eq(param("code", String.class))));
     }
 
     /**
@@ -33,7 +41,7 @@ public class NobelPrizeCategoryRepository {
      */
     @Nullable
     public NobelPrizeCategory getNobelPrizeCategory(@Nonnull String code) {
-        return dsl.select(NOBEL_PRIZE_CATEGORY.fields())
+        return router.replica().select(NOBEL_PRIZE_CATEGORY.fields())
             .from(NOBEL_PRIZE_CATEGORY)
             .where(NOBEL_PRIZE_CATEGORY.CODE.eq(code))
             .fetchOneInto(NobelPrizeCategory.class);
@@ -47,10 +55,19 @@ public class NobelPrizeCategoryRepository {
      */
     @Nullable
     public Integer getPrimaryKey(@Nonnull NobelPrizeCategoryEnum nobelPrizeCategory) {
-        return dsl.select(NOBEL_PRIZE_CATEGORY.ID)
+        return primaryKeyLookup.fetch(router.replica(), nobelPrizeCategory.name());
+    }
+
+    /**
+     * Gets the primary keys of all Nobel Prize categories, from the primary database.
+     *
+     * @return The primary keys of all Nobel Prize categories, by code.
+     */
+    @Nonnull
+    public Map<String, Integer> getPrimaryKeys() {
+        return router.primary().select(NOBEL_PRIZE_CATEGORY.CODE, NOBEL_PRIZE_CATEGORY.ID)
             .from(NOBEL_PRIZE_CATEGORY)
-            .where(NOBEL_PRIZE_CATEGORY.CODE.eq(nobelPrizeCategory.name()))
-            .fetchOneInto(Integer.class);
+            .fetchMap(NOBEL_PRIZE_CATEGORY.CODE, NOBEL_PRIZE_CATEGORY.ID);
     }
 
     /**
@@ -59,7 +76,7 @@ public class NobelPrizeCategoryRepository {
      */
     @Nonnull
     public List<NobelPrizeCategory> getNobelPrizeCategories() {
-        return dsl.select(NOBEL_PRIZE_CATEGORY.CODE, NOBEL_PRIZE_CATEGORY.DESCRIPTION)
+        return router.replica().select(NOBEL_PRIZE_CATEGORY.CODE, NOBEL_PRIZE_CATEGORY.DESCRIPTION)
             .from(NOBEL_PRIZE_CATEGORY)
             .orderBy(NOBEL_PRIZE_CATEGORY.DESCRIPTION)
             .fetchInto(NobelPrizeCategory.class);
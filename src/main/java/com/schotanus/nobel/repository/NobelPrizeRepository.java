@@ -1,9 +1,11 @@
 package com.schotanus.nobel.repository;
 
+import com.schotanus.nobel.datasource.DslContextRouter;
 import com.schotanus.nobel.model.NobelPrize;
 import com.schotanus.nobel.model.NobelPrizeCreate;
 import com.schotanus.nobel.model.NobelPrizeLaureate;
 import com.schotanus.nobel.model.NobelPrizeLaureateCreate;
+import com.schotanus.nobel.model.Organization;
 import com.schotanus.nobel.model.Person;
 import com.schotanus.nobel.service.NobelPrizeCategoryService;
 import com.schotanus.nobel.service.OrganizationService;
@@ -15,10 +17,16 @@ import jakarta.persistence.EntityExistsException;
 import jakarta.transaction.Transactional;
 import org.jooq.Condition;
 import org.jooq.DSLContext;
-import org.jooq.exception.IntegrityConstraintViolationException;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Record1;
+import org.jooq.ResultQuery;
+import org.jooq.SelectField;
 import org.jooq.impl.DSL;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static com.schotanus.nobel.Tables.ORGANIZATION;
 import static com.schotanus.nobel.tables.NobelPrize.NOBEL_PRIZE;
@@ -34,14 +42,14 @@ import static org.jooq.impl.DSL.trueCondition;
 @ApplicationScoped
 public class NobelPrizeRepository {
 
-    private final DSLContext dsl;
+    private final DslContextRouter router;
     private final NobelPrizeCategoryService nobelPrizeCategoryService;
     private final PersonService personService;
     private final OrganizationService organizationService;
 
-    NobelPrizeRepository(DSLContext dsl, NobelPrizeCategoryService nobelPrizeCategoryService, PersonService personService,
+    NobelPrizeRepository(DslContextRouter router, NobelPrizeCategoryService nobelPrizeCategoryService, PersonService personService,
             OrganizationService organizationService) {
-        this.dsl = dsl;
+        this.router = router;
         this.nobelPrizeCategoryService = nobelPrizeCategoryService;
         this.personService = personService;
         this.organizationService = organizationService;
@@ -59,23 +67,20 @@ public class NobelPrizeRepository {
     public Integer createNobelPrize(final @Nonnull NobelPrizeCreate nobelPrize) {
         Integer nobelPrizeCategoryId = nobelPrizeCategoryService.getPrimaryKey(nobelPrize.getCategory());
 
-        // Insert the Nobel Prize
-        Integer nobelPrizeId;
-        try {
-            nobelPrizeId = dsl.insertInto(NOBEL_PRIZE)
-                .columns(
-                    NOBEL_PRIZE.CATEGORYID,
-                    NOBEL_PRIZE.YEAR,
-                    NOBEL_PRIZE.URL,
-                    NOBEL_PRIZE.CREATEDBYID,
-                    NOBEL_PRIZE.LASTMODIFIEDBYID)
-                .values(nobelPrizeCategoryId, nobelPrize.getYear(), nobelPrize.getUrl(), 1, 1)
-                .returningResult(NOBEL_PRIZE.ID)
-                .fetch().getFirst().value1();
-
-        } catch (IntegrityConstraintViolationException exception) {
-            throw new EntityExistsException("This Nobel Prize already exists");
-        }
+        // Insert the Nobel Prize, unless it already exists
+        final Integer nobelPrizeId = router.primary().insertInto(NOBEL_PRIZE)
+            .columns(
+                NOBEL_PRIZE.CATEGORYID,
+                NOBEL_PRIZE.YEAR,
+                NOBEL_PRIZE.URL,
+                NOBEL_PRIZE.CREATEDBYID,
+                NOBEL_PRIZE.LASTMODIFIEDBYID)
+            .values(nobelPrizeCategoryId, nobelPrize.getYear(), nobelPrize.getUrl(), 1, 1)
+            .onConflict(NOBEL_PRIZE.YEAR, NOBEL_PRIZE.CATEGORYID).doNothing()
+            .returningResult(NOBEL_PRIZE.ID)
+            .fetchOptional()
+            .map(Record1::value1)
+            .orElseThrow(() -> new EntityExistsException("This Nobel Prize already exists"));
 
         createNobelPrizeLaureates(nobelPrizeId, nobelPrize.getLaureates());
 
@@ -87,10 +92,109 @@ public class NobelPrizeRepository {
      *
      * @param year Year the Nobel Prize was awarded.
      * @param category Category in which the Nobel Prize was awarded.
+     * @param expansion How far the laureates are expanded.
+     * @param fromPrimary True to read from the primary database, for example right after a Nobel Prize changed.
      * @return All Nobel Prizes matching the supplied selection criteria.
      */
     @Nonnull
-    public List<NobelPrize> getNobelPrizes(@Nullable final Integer year, @Nullable final String category) {
+    public List<NobelPrize> getNobelPrizes(
+            @Nullable final Integer year,
+            @Nullable final String category,
+            @Nonnull final LaureateExpansion expansion,
+            final boolean fromPrimary) {
+        final DSLContext dsl = fromPrimary ? router.primary() : router.replica();
+        return selectNobelPrizes(dsl, condition(year, category), expansion);
+    }
+
+    /**
+     * Streams all Nobel Prizes, including their laureates, from a database cursor.
+     *
+     * @param year Year the Nobel Prize was awarded.
+     * @param category Category in which the Nobel Prize was awarded.
+     * @param consumer Consumer of the Nobel Prizes, ordered by year and category.
+     */
+    public void streamNobelPrizes(
+            @Nullable final Integer year,
+            @Nullable final String category,
+            @Nonnull final Consumer<NobelPrize> consumer) {
+        final DSLContext dsl = router.replica();
+        CursorReader.forEach(dsl, nobelPrizesSelect(dsl, condition(year, category), LaureateExpansion.LAUREATES),
+            NobelPrize.class, consumer);
+    }
+
+    /**
+     * Gets all Nobel Prizes awarded to a person.
+     *
+     * @param personIdentifier Person identifier.
+     * @return All Nobel Prizes awarded to the person, ordered by year.
+     */
+    @Nonnull
+    public List<NobelPrize> getNobelPrizesOfPerson(@Nonnull final String personIdentifier) {
+        return selectNobelPrizes(router.replica(), NOBEL_PRIZE.ID.in(
+            DSL.select(NOBEL_PRIZE_LAUREATE.NOBELPRIZEID)
+                .from(NOBEL_PRIZE_LAUREATE)
+                .join(PERSON).on(PERSON.ID.eq(NOBEL_PRIZE_LAUREATE.PERSONID))
+                .where(PERSON.PERSONIDENTIFIER.eq(personIdentifier))), LaureateExpansion.LAUREATES);
+    }
+
+    /**
+     * Gets all Nobel Prizes awarded to an organization.
+     *
+     * @param organizationIdentifier Organization identifier.
+     * @return All Nobel Prizes awarded to the organization, ordered by year.
+     */
+    @Nonnull
+    public List<NobelPrize> getNobelPrizesOfOrganization(@Nonnull final String organizationIdentifier) {
+        return selectNobelPrizes(router.replica(), NOBEL_PRIZE.ID.in(
+            DSL.select(NOBEL_PRIZE_LAUREATE.NOBELPRIZEID)
+                .from(NOBEL_PRIZE_LAUREATE)
+                .join(ORGANIZATION).on(ORGANIZATION.ID.eq(NOBEL_PRIZE_LAUREATE.ORGANIZATIONID))
+                .where(ORGANIZATION.ORGANIZATIONIDENTIFIER.eq(organizationIdentifier))), LaureateExpansion.LAUREATES);
+    }
+
+    /**
+     * Selects all Nobel Prizes, including their laureates, matching the supplied condition.
+     *
+     * @param dsl Database to select from.
+     * @param condition Condition on the Nobel Prize and its category.
+     * @param expansion How far the laureates are expanded.
+     * @return All Nobel Prizes matching the supplied condition, ordered by year and category.
+     */
+    @Nonnull
+    private static List<NobelPrize> selectNobelPrizes(
+            @Nonnull final DSLContext dsl,
+            @Nonnull final Condition condition,
+            @Nonnull final LaureateExpansion expansion) {
+        return nobelPrizesSelect(dsl, condition, expansion).fetchInto(NobelPrize.class);
+    }
+
+    /**
+     * Creates the select of all Nobel Prizes matching the supplied condition.
+     */
+    private static ResultQuery<Record> nobelPrizesSelect(
+            final DSLContext dsl,
+            final Condition condition,
+            final LaureateExpansion expansion) {
+        final List<SelectField<?>> fields = new ArrayList<>(List.of(
+            NOBEL_PRIZE_CATEGORY.CODE.as("category"),
+            NOBEL_PRIZE.YEAR,
+            NOBEL_PRIZE.URL));
+        switch (expansion) {
+            case LAUREATES -> fields.add(laureates(dsl));
+            case IDENTIFIERS -> fields.add(laureateIdentifiers(dsl));
+            case NONE -> {
+                // Laureates are not selected at all
+            }
+        }
+
+        return dsl.select(fields)
+            .from(NOBEL_PRIZE)
+            .join(NOBEL_PRIZE_CATEGORY).on(NOBEL_PRIZE_CATEGORY.ID.eq(NOBEL_PRIZE.CATEGORYID))
+            .where(condition)
+            .orderBy(NOBEL_PRIZE.YEAR, NOBEL_PRIZE.CATEGORYID);
+    }
+
+    private static Condition condition(@Nullable final Integer year, @Nullable final String category) {
         Condition condition = trueCondition();
         if (year != null) {
             condition = condition.and(NOBEL_PRIZE.YEAR.eq(year));
@@ -99,39 +203,73 @@ public class NobelPrizeRepository {
             condition = condition.and(NOBEL_PRIZE_CATEGORY.CODE.eq(category));
         }
 
-        return dsl.select(
-            NOBEL_PRIZE_CATEGORY.CODE.as("category"),
-            NOBEL_PRIZE.YEAR,
-            NOBEL_PRIZE.URL,
-            DSL.multiset(
-                dsl.select(
-                    NOBEL_PRIZE_LAUREATE.DESCRIPTION,
-                    NOBEL_PRIZE_LAUREATE.FRACTIONNOMINATOR,
-                    NOBEL_PRIZE_LAUREATE.FRACTIONDENOMINATOR,
-                    DSL.multiset(
-                        dsl.selectFrom(PERSON).where(PERSON.ID.eq(NOBEL_PRIZE_LAUREATE.PERSONID))
-                    ).convertFrom(personRecords -> personRecords.stream()
-                        .findFirst()
-                        .map(personRecord -> personRecord.into(Person.class))
-                        .orElse(null)
-                    ).as("person"),
-                    DSL.multiset(
-                        dsl.selectFrom(ORGANIZATION).where(ORGANIZATION.ID.eq(NOBEL_PRIZE_LAUREATE.ORGANIZATIONID))
-                    ).convertFrom(organizationRecords -> organizationRecords.stream()
-                        .findFirst()
-                        .map(organizationRecord -> organizationRecord.into(Person.class))
-                        .orElse(null)
-                    ).as("organization")
-                )
-                .from(NOBEL_PRIZE_LAUREATE)
-                .where(NOBEL_PRIZE_LAUREATE.NOBELPRIZEID.eq(NOBEL_PRIZE.ID))
-            ).convertFrom(laureateRecords -> laureateRecords.into(NobelPrizeLaureate.class)).as("laureates")
-        )
-        .from(NOBEL_PRIZE)
-        .join(NOBEL_PRIZE_CATEGORY).on(NOBEL_PRIZE_CATEGORY.ID.eq(NOBEL_PRIZE.CATEGORYID))
-        .where(condition)
-        .orderBy(NOBEL_PRIZE.YEAR, NOBEL_PRIZE.CATEGORYID)
-        .fetchInto(NobelPrize.class);
+        return condition;
+    }
+
+    /**
+     * Creates a nested select of the laureates of a Nobel Prize, including the complete persons and organizations.
+     */
+    private static Field<List<NobelPrizeLaureate>> laureates(final DSLContext dsl) {
+        return DSL.multiset(
+            dsl.select(
+                NOBEL_PRIZE_LAUREATE.DESCRIPTION,
+                NOBEL_PRIZE_LAUREATE.FRACTIONNOMINATOR,
+                NOBEL_PRIZE_LAUREATE.FRACTIONDENOMINATOR,
+                DSL.multiset(
+                    dsl.selectFrom(PERSON).where(PERSON.ID.eq(NOBEL_PRIZE_LAUREATE.PERSONID))
+                ).convertFrom(personRecords -> personRecords.stream()
+                    .findFirst()
+                    .map(personRecord -> personRecord.into(Person.class))
+                    .orElse(null)
+                ).as("person"),
+                DSL.multiset(
+                    dsl.selectFrom(ORGANIZATION).where(ORGANIZATION.ID.eq(NOBEL_PRIZE_LAUREATE.ORGANIZATIONID))
+                ).convertFrom(organizationRecords -> organizationRecords.stream()
+                    .findFirst()
+                    .map(organizationRecord -> organizationRecord.into(Organization.class))
+                    .orElse(null)
+                ).as("organization")
+            )
+            .from(NOBEL_PRIZE_LAUREATE)
+            .where(NOBEL_PRIZE_LAUREATE.NOBELPRIZEID.eq(NOBEL_PRIZE.ID))
+        ).convertFrom(laureateRecords -> laureateRecords.into(NobelPrizeLaureate.class)).as("laureates");
+    }
+
+    /**
+     * Creates a nested select of the laureates of a Nobel Prize,
+     * where persons and organizations only contain their identifier.
+     * The persons and organizations are (left) joined, instead of selected per laureate.
+     */
+    private static Field<List<NobelPrizeLaureate>> laureateIdentifiers(final DSLContext dsl) {
+        return DSL.multiset(
+            dsl.select(
+                NOBEL_PRIZE_LAUREATE.DESCRIPTION,
+                NOBEL_PRIZE_LAUREATE.FRACTIONNOMINATOR,
+                NOBEL_PRIZE_LAUREATE.FRACTIONDENOMINATOR,
+                PERSON.PERSONIDENTIFIER,
+                ORGANIZATION.ORGANIZATIONIDENTIFIER
+            )
+            .from(NOBEL_PRIZE_LAUREATE)
+            .leftJoin(PERSON).on(PERSON.ID.eq(NOBEL_PRIZE_LAUREATE.PERSONID))
+            .leftJoin(ORGANIZATION).on(ORGANIZATION.ID.eq(NOBEL_PRIZE_LAUREATE.ORGANIZATIONID))
+            .where(NOBEL_PRIZE_LAUREATE.NOBELPRIZEID.eq(NOBEL_PRIZE.ID))
+        ).convertFrom(laureateRecords -> laureateRecords.map(laureateRecord -> {
+            final NobelPrizeLaureate laureate = new NobelPrizeLaureate();
+            laureate.setDescription(laureateRecord.value1());
+            laureate.setFractionNominator(laureateRecord.value2());
+            laureate.setFractionDenominator(laureateRecord.value3());
+            if (laureateRecord.value4() != null) {
+                final Person person = new Person();
+                person.setPersonIdentifier(laureateRecord.value4());
+                laureate.setPerson(person);
+            }
+            if (laureateRecord.value5() != null) {
+                final Organization organization = new Organization();
+                organization.setOrganizationIdentifier(laureateRecord.value5());
+                laureate.setOrganization(organization);
+            }
+            return laureate;
+        })).as("laureates");
     }
 
     private void createNobelPrizeLaureates(
@@ -165,7 +303,7 @@ public class NobelPrizeRepository {
             @Nonnull final Integer nobelPrizeId,
             @Nullable final Integer personId,
             @Nullable final Integer organizationId) {
-        dsl.insertInto(NOBEL_PRIZE_LAUREATE)
+        router.primary().insertInto(NOBEL_PRIZE_LAUREATE)
             .columns(
                 NOBEL_PRIZE_LAUREATE.NOBELPRIZEID,
                 NOBEL_PRIZE_LAUREATE.PERSONID,
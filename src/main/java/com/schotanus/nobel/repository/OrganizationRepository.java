@@ -1,9 +1,13 @@
 package com.schotanus.nobel.repository;
 
 import static com.schotanus.nobel.Tables.ORGANIZATION;
+import static org.jooq.impl.DSL.any;
+import static org.jooq.impl.DSL.param;
+import static org.jooq.impl.DSL.select;
 import static org.jooq.impl.DSL.trueCondition;
 import static org.jooq.impl.DSL.upper;
 
+import com.schotanus.nobel.datasource.DslContextRouter;
 import com.schotanus.nobel.model.Organization;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
@@ -12,9 +16,12 @@ import jakarta.persistence.EntityExistsException;
 import org.jooq.Condition;
 import org.jooq.DSLContext;
 import org.jooq.Field;
-import org.jooq.exception.IntegrityConstraintViolationException;
+import org.jooq.Record1;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 
 /**
@@ -23,16 +30,24 @@ import java.util.List;
 @ApplicationScoped
 public class OrganizationRepository {
 
-    private final DSLContext dsl;
+    private final DslContextRouter router;
+    private final PrimaryKeyLookup primaryKeyLookup;
 
-    private final List<Field<?>> organizationFields = List.of(
+    /**
+     * All selectable fields, by the name of the corresponding property of the Organization model.
+     */
+    private final Map<String, Field<?>> organizationFields = SparseFieldset.byName(
         ORGANIZATION.ORGANIZATIONIDENTIFIER,
         ORGANIZATION.NAME,
         ORGANIZATION.DESCRIPTION,
         ORGANIZATION.URL);
 
-    OrganizationRepository(DSLContext dsl) {
-        this.dsl = dsl;
+    OrganizationRepository(DslContextRouter router) {
+        this.router = router;
+        this.primaryKeyLookup = new PrimaryKeyLookup(
+            select(ORGANIZATION.ID)
+            .from(ORGANIZATION)
+            .where(ORGANIZATION.ORGANIZATIONIDENTIFIER.eq(param("organizationIdentifier", String.class))));
     }
 
     /**
@@ -43,74 +58,136 @@ public class OrganizationRepository {
      */
     @Nonnull
     public Integer createOrganization(@Nonnull final Organization organization) {
-        try {
-            return dsl.insertInto(ORGANIZATION).columns(
-                ORGANIZATION.ORGANIZATIONIDENTIFIER,
-                ORGANIZATION.NAME,
-                ORGANIZATION.DESCRIPTION,
-                ORGANIZATION.URL,
-                ORGANIZATION.CREATEDBYID,
-                ORGANIZATION.LASTMODIFIEDBYID)
-            .values(
-                organization.getOrganizationIdentifier(),
-                organization.getName(),
-                organization.getDescription(),
-                organization.getUrl(),
-                1,
-                1)
-            .returningResult(ORGANIZATION.ID)
-            .fetch().getFirst().value1();
-        } catch (IntegrityConstraintViolationException exception) {
-            throw new EntityExistsException("This organization already exists");
-        }
+        return router.primary().insertInto(ORGANIZATION).columns(
+            ORGANIZATION.ORGANIZATIONIDENTIFIER,
+            ORGANIZATION.NAME,
+            ORGANIZATION.DESCRIPTION,
+            ORGANIZATION.URL,
+            ORGANIZATION.CREATEDBYID,
+            ORGANIZATION.LASTMODIFIEDBYID)
+        .values(
+            organization.getOrganizationIdentifier(),
+            organization.getName(),
+            organization.getDescription(),
+            organization.getUrl(),
+            1,
+            1)
+        .onConflict(ORGANIZATION.ORGANIZATIONIDENTIFIER).doNothing()
+        .returningResult(ORGANIZATION.ID)
+        .fetchOptional()
+        .map(Record1::value1)
+        .orElseThrow(() -> new EntityExistsException("This organization already exists"));
     }
 
     /**
      * Gets an organization by its unique organization identifier.
      *
      * @param organizationIdentifier Organization identifier.
+     * @param fromPrimary True to read from the primary database, for example right after the organization changed.
      * @return The Organization with the supplied identifier, or null when not found.
      */
     @Nullable
-    public Organization getOrganization(@Nonnull final String organizationIdentifier) {
-        return dsl.select(organizationFields)
+    public Organization getOrganization(@Nonnull final String organizationIdentifier, final boolean fromPrimary) {
+        return (fromPrimary ? router.primary() : router.replica()).select(organizationFields.values())
             .from(ORGANIZATION)
             .where(ORGANIZATION.ORGANIZATIONIDENTIFIER.eq(organizationIdentifier))
             .fetchOneInto(Organization.class);
     }
 
+    /**
+     * Gets organizations by their unique organization identifiers, using a single select.
+     *
+     * @param organizationIdentifiers Organization identifiers.
+     * @return The organizations that were found, by organization identifier.
+     */
+    @Nonnull
+    public Map<String, Organization> getOrganizations(@Nonnull final Collection<String> organizationIdentifiers) {
+        return router.replica().select(organizationFields.values())
+            .from(ORGANIZATION)
+            .where(ORGANIZATION.ORGANIZATIONIDENTIFIER.eq(any(organizationIdentifiers.toArray(String[]::new))))
+            .fetchMap(ORGANIZATION.ORGANIZATIONIDENTIFIER, Organization.class);
+    }
+
+    /**
+     * Counts all organizations.
+     * The primary database is used, so the count includes all organizations that were just created.
+     *
+     * @return The number of organizations.
+     */
+    public int countOrganizations() {
+        return router.primary().fetchCount(ORGANIZATION);
+    }
+
+    /**
+     * Gets the identifiers of all organizations.
+     * The primary database is used, so the identifiers include all organizations that were just created.
+     *
+     * @return The identifiers of all organizations.
+     */
+    @Nonnull
+    public List<String> getOrganizationIdentifiers() {
+        return router.primary().select(ORGANIZATION.ORGANIZATIONIDENTIFIER)
+            .from(ORGANIZATION)
+            .fetch(ORGANIZATION.ORGANIZATIONIDENTIFIER);
+    }
+
     /**
      * Gets the primary key of an organization by its unique organization identifier.
      *
      * @param organizationIdentifier Organization identifier.
+     * @param fromPrimary True to read from the primary database, to confirm the organization does not exist.
      * @return The primary key of the organization, or null when not found.
      */
     @Nullable
-    public Integer getPrimaryKey(@Nonnull final String organizationIdentifier) {
-        return dsl.select(ORGANIZATION.ID)
-            .from(ORGANIZATION)
-            .where(ORGANIZATION.ORGANIZATIONIDENTIFIER.eq(organizationIdentifier))
-            .fetchOneInto(Integer.class);
+    public Integer getPrimaryKey(@Nonnull final String organizationIdentifier, final boolean fromPrimary) {
+        return primaryKeyLookup.fetch(fromPrimary ? router.primary() : router.replica(), organizationIdentifier);
     }
 
     /**
      * Gets all organizations matching the supplied selection criteria.
      *
      * @param name Name (or first part of the name) of the organization.
+     * @param fields Names of the properties to select, or null to select all properties.
+     *   The organization identifier is always selected.
      * @return All Organizations matching the supplied selection criteria.
+     * @throws IllegalArgumentException When a property does not exist.
      */
     @Nonnull
-    public List<Organization> getOrganizations(@Nullable final String name) {
-        Condition condition = trueCondition();
-        if (name != null && !name.isBlank()) {
-            condition = condition.and(upper(ORGANIZATION.NAME).like(name.toUpperCase() + "%"));
-        }
+    public List<Organization> getOrganizations(@Nullable final String name, @Nullable final Set<String> fields) {
+        return getOrganizations(name, fields, null, false, false).items();
+    }
 
-        return dsl.select(organizationFields)
-            .from(ORGANIZATION)
-            .where(condition)
-            .orderBy(ORGANIZATION.NAME)
-            .fetchInto(Organization.class);
+    /**
+     * Gets the first organizations matching the supplied selection criteria and (optionally) the total number of them.
+     *
+     * @param name Name (or first part of the name) of the organization.
+     * @param fields Names of the properties to select, or null to select all properties.
+     *   The organization identifier is always selected.
+     * @param limit Maximum number of organizations to return, or null to return all organizations.
+     * @param count True to count the total number of organizations matching the selection criteria.
+     * @param exact True to count exactly, when there are no selection criteria.
+     * @return The organizations matching the supplied selection criteria and (optionally) the total number of them.
+     * @throws IllegalArgumentException When a property does not exist.
+     */
+    @Nonnull
+    public CountedList<Organization> getOrganizations(
+            @Nullable final String name,
+            @Nullable final Set<String> fields,
+            @Nullable final Integer limit,
+            final boolean count,
+            final boolean exact) {
+        final boolean filtered = name != null && !name.isBlank();
+        final Condition condition = filtered ? upper(ORGANIZATION.NAME).like(name.toUpperCase() + "%") : trueCondition();
+        final List<Field<?>> selectedFields =
+            SparseFieldset.select(organizationFields, fields, ORGANIZATION.ORGANIZATIONIDENTIFIER);
+
+        final DSLContext dsl = router.replica();
+        return CountedSelect.fetch(dsl, ORGANIZATION,
+            additionalFields -> dsl.select(selectedFields).select(additionalFields)
+                .from(ORGANIZATION)
+                .where(condition)
+                .orderBy(ORGANIZATION.NAME),
+            Organization.class, filtered, limit, count, exact);
     }
 
 }
@@ -0,0 +1,54 @@
+package com.schotanus.nobel.repository;
+
+import jakarta.annotation.Nullable;
+
+
+/**
+ * Selection criteria for persons. Null means: do not select on this criterion.
+ * Year ranges include both the from and the to year.
+ *
+ * @param name Name (or first part of the display name) of the person.
+ * @param countryCode Country where the person was born.
+ * @param birthYearFrom First year of birth.
+ * @param birthYearTo Last year of birth.
+ * @param deathYearFrom First year of death.
+ * @param deathYearTo Last year of death.
+ * @param living True for living persons only, false for deceased persons only.
+ */
+public record PersonCriteria(
+        @Nullable String name,
+        @Nullable String countryCode,
+        @Nullable Integer birthYearFrom,
+        @Nullable Integer birthYearTo,
+        @Nullable Integer deathYearFrom,
+        @Nullable Integer deathYearTo,
+        @Nullable Boolean living) {
+
+    /**
+     * Creates selection criteria with a single year of birth and death.
+     *
+     * @param name Name (or first part of the display name) of the person.
+     * @param countryCode Country where the person was born.
+     * @param yearOfBirth Year the person was born.
+     * @param yearOfDeath Year the person died.
+     * @return The selection criteria.
+     */
+    public static PersonCriteria of(
+            @Nullable final String name,
+            @Nullable final String countryCode,
+            @Nullable final Integer yearOfBirth,
+            @Nullable final Integer yearOfDeath) {
+        return new PersonCriteria(name, countryCode, yearOfBirth, yearOfBirth, yearOfDeath, yearOfDeath, null);
+    }
+
+    /**
+     * Determines if there are no selection criteria at all.
+     *
+     * @return True when all persons are selected.
+     */
+    public boolean isEmpty() {
+        return name == null && countryCode == null && birthYearFrom == null && birthYearTo == null
+            && deathYearFrom == null && deathYearTo == null && living == null;
+    }
+
+}
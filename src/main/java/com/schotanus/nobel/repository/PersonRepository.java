@@ -2,9 +2,13 @@ package com.schotanus.nobel.repository;
 
 import static com.schotanus.nobel.Tables.COUNTRY;
 import static com.schotanus.nobel.tables.Person.PERSON;
+import static org.jooq.impl.DSL.any;
+import static org.jooq.impl.DSL.param;
+import static org.jooq.impl.DSL.select;
 import static org.jooq.impl.DSL.trueCondition;
 import static org.jooq.impl.DSL.upper;
 
+import com.schotanus.nobel.datasource.DslContextRouter;
 import com.schotanus.nobel.model.Person;
 import com.schotanus.nobel.service.CountryService;
 import jakarta.annotation.Nonnull;
@@ -14,12 +18,20 @@ import jakarta.persistence.EntityExistsException;
 import org.jooq.Condition;
 import org.jooq.DSLContext;
 import org.jooq.Field;
-import org.jooq.exception.IntegrityConstraintViolationException;
+import org.jooq.Record;
+import org.jooq.Record1;
+import org.jooq.SelectLimitStep;
+import org.jooq.Table;
 
 import java.time.LocalDate;
 import java.time.Month;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 
 /**
@@ -28,24 +40,34 @@ import java.util.List;
 @ApplicationScoped
 public class PersonRepository {
 
-    private final DSLContext dsl;
+    private static final String BIRTH_COUNTRY_CODE = "birthCountryCode";
+
+    private final DslContextRouter router;
     private final CountryService countryService;
+    private final PrimaryKeyLookup primaryKeyLookup;
 
-    private final List<Field<?>> personFields = List.of(
+    /**
+     * All selectable fields, by the name of the corresponding property of the Person model.
+     */
+    private final Map<String, Field<?>> personFields = SparseFieldset.byName(
         PERSON.PERSONIDENTIFIER,
         PERSON.NAME,
         PERSON.DISPLAYNAME,
         PERSON.DESCRIPTION,
         PERSON.URL,
-        COUNTRY.CODE.as("birthCountryCode"),
+        COUNTRY.CODE.as(BIRTH_COUNTRY_CODE),
         PERSON.BIRTHDATE,
         PERSON.DEATHDATE,
         PERSON.CREATEDAT,
         PERSON.LASTMODIFIEDAT);
 
-    PersonRepository(DSLContext dsl, CountryService countryService) {
-        this.dsl = dsl;
+    PersonRepository(DslContextRouter router, CountryService countryService) {
+        this.router = router;
         this.countryService = countryService;
+        this.primaryKeyLookup = new PrimaryKeyLookup(
+            select(PERSON.ID)
+            .from(PERSON)
+            .where(PERSON.PERSONIDENTIFIER.eq(param("personIdentifier", String.class))));
     }
 
     /**
@@ -57,78 +79,160 @@ public class PersonRepository {
     public Integer createPerson(@Nonnull final Person person) {
         Integer countryId = countryService.getPrimaryKeyOfCountry(person.getBirthCountryCode());
 
-        try {
-            return dsl.insertInto(PERSON).columns(
-                PERSON.PERSONIDENTIFIER,
-                PERSON.NAME,
-                PERSON.DISPLAYNAME,
-                PERSON.DESCRIPTION,
-                PERSON.BIRTHDATE,
-                PERSON.BIRTHCOUNTRYID,
-                PERSON.DEATHDATE,
-                PERSON.URL,
-                PERSON.CREATEDBYID,
-                PERSON.LASTMODIFIEDBYID)
-            .values(
-                person.getPersonIdentifier(),
-                person.getName(),
-                person.getDisplayName(),
-                person.getDescription(),
-                person.getBirthDate(),
-                countryId,
-                person.getDeathDate(),
-                person.getUrl(),
-                1,
-                1)
-            .returningResult(PERSON.ID)
-            .fetch().getFirst().value1();
-        } catch (IntegrityConstraintViolationException exception) {
-            throw new EntityExistsException("This person already exists");
-        }
+        return router.primary().insertInto(PERSON).columns(
+            PERSON.PERSONIDENTIFIER,
+            PERSON.NAME,
+            PERSON.DISPLAYNAME,
+            PERSON.DESCRIPTION,
+            PERSON.BIRTHDATE,
+            PERSON.BIRTHCOUNTRYID,
+            PERSON.DEATHDATE,
+            PERSON.URL,
+            PERSON.CREATEDBYID,
+            PERSON.LASTMODIFIEDBYID)
+        .values(
+            person.getPersonIdentifier(),
+            person.getName(),
+            person.getDisplayName(),
+            person.getDescription(),
+            person.getBirthDate(),
+            countryId,
+            person.getDeathDate(),
+            person.getUrl(),
+            1,
+            1)
+        .onConflict(PERSON.PERSONIDENTIFIER).doNothing()
+        .returningResult(PERSON.ID)
+        .fetchOptional()
+        .map(Record1::value1)
+        .orElseThrow(() -> new EntityExistsException("This person already exists"));
     }
 
     /**
      * Gets a person by its unique person identifier.
      * @param personIdentifier Person identifier.
+     * @param fromPrimary True to read from the primary database, for example right after the person changed.
      * @return The person with the supplied identifier, or null when not found.
      */
     @Nullable
-    public Person getPerson(@Nonnull String personIdentifier) {
-        return dsl.select(personFields)
+    public Person getPerson(@Nonnull String personIdentifier, boolean fromPrimary) {
+        return (fromPrimary ? router.primary() : router.replica()).select(personFields.values())
             .from(PERSON)
             .join(COUNTRY).on(COUNTRY.ID.eq(PERSON.BIRTHCOUNTRYID))
             .where(PERSON.PERSONIDENTIFIER.eq(personIdentifier))
             .fetchOneInto(Person.class);
     }
 
+    /**
+     * Gets persons by their unique person identifiers, using a single select.
+     *
+     * @param personIdentifiers Person identifiers.
+     * @return The persons that were found, by person identifier.
+     */
+    @Nonnull
+    public Map<String, Person> getPersons(@Nonnull final Collection<String> personIdentifiers) {
+        return router.replica().select(personFields.values())
+            .from(PERSON)
+            .join(COUNTRY).on(COUNTRY.ID.eq(PERSON.BIRTHCOUNTRYID))
+            .where(PERSON.PERSONIDENTIFIER.eq(any(personIdentifiers.toArray(String[]::new))))
+            .fetchMap(PERSON.PERSONIDENTIFIER, Person.class);
+    }
+
+    /**
+     * Counts all persons.
+     * The primary database is used, so the count includes all persons that were just created.
+     *
+     * @return The number of persons.
+     */
+    public int countPersons() {
+        return router.primary().fetchCount(PERSON);
+    }
+
+    /**
+     * Gets the identifiers of all persons.
+     * The primary database is used, so the identifiers include all persons that were just created.
+     *
+     * @return The identifiers of all persons.
+     */
+    @Nonnull
+    public List<String> getPersonIdentifiers() {
+        return router.primary().select(PERSON.PERSONIDENTIFIER)
+            .from(PERSON)
+            .fetch(PERSON.PERSONIDENTIFIER);
+    }
+
     /**
      * Gets the primary key of a person by its unique person identifier.
      * @param personIdentifier Person identifier.
+     * @param fromPrimary True to read from the primary database, to confirm the person does not exist.
      * @return The primary key of the person, or null when not found.
      */
     @Nullable
-    public Integer getPrimaryKey(@Nonnull String personIdentifier) {
-        return dsl.select(PERSON.ID)
-            .from(PERSON)
-            .where(PERSON.PERSONIDENTIFIER.eq(personIdentifier))
-            .fetchOneInto(Integer.class);
+    public Integer getPrimaryKey(@Nonnull String personIdentifier, boolean fromPrimary) {
+        return primaryKeyLookup.fetch(fromPrimary ? router.primary() : router.replica(), personIdentifier);
     }
 
     /**
      * Gets all persons matching the supplied selection criteria.
      *
-     * @param name Name (or first part of the name) of the person.
-     * @param countryCode Country where the person was born.
-     * @param yearOfBirth Year the person was born.
-     * @param yearOfDeath Year the person died or NULL for living persons.
+     * @param criteria Selection criteria.
+     * @param fields Names of the properties to select, or null to select all properties.
+     *   The person identifier is always selected.
      * @return All Persons matching the supplied selection criteria.
+     * @throws IllegalArgumentException When a property does not exist.
+     */
+    @Nonnull
+    public List<Person> getPersons(@Nonnull PersonCriteria criteria, @Nullable Set<String> fields) {
+        return getPersons(criteria, fields, null, false, false).items();
+    }
+
+    /**
+     * Gets the first persons matching the supplied selection criteria and (optionally) the total number of them.
+     *
+     * @param criteria Selection criteria.
+     * @param fields Names of the properties to select, or null to select all properties.
+     *   The person identifier is always selected.
+     * @param limit Maximum number of persons to return, or null to return all persons.
+     * @param count True to count the total number of persons matching the selection criteria.
+     * @param exact True to count exactly, when there are no selection criteria.
+     * @return The persons matching the supplied selection criteria and (optionally) the total number of them.
+     * @throws IllegalArgumentException When a property does not exist.
      */
     @Nonnull
-    public List<Person> getPersons(
-            @Nullable String name,
-            @Nullable String countryCode,
-            @Nullable Integer yearOfBirth,
-            @Nullable Integer yearOfDeath) {
+    public CountedList<Person> getPersons(
+            @Nonnull PersonCriteria criteria,
+            @Nullable Set<String> fields,
+            @Nullable Integer limit,
+            boolean count,
+            boolean exact) {
+        final DSLContext dsl = router.replica();
+        return CountedSelect.fetch(dsl, PERSON,
+            additionalFields -> selectPersons(dsl, criteria, fields, additionalFields),
+            Person.class, !criteria.isEmpty(), limit, count, exact);
+    }
+
+    /**
+     * Streams all persons matching the supplied selection criteria from a database cursor.
+     *
+     * @param criteria Selection criteria.
+     * @param consumer Consumer of the persons, ordered by display name.
+     */
+    public void streamPersons(@Nonnull PersonCriteria criteria, @Nonnull Consumer<Person> consumer) {
+        final DSLContext dsl = router.replica();
+        CursorReader.forEach(dsl, selectPersons(dsl, criteria, null, List.of()), Person.class, consumer);
+    }
+
+    /**
+     * Creates the select of all persons matching the supplied selection criteria, including the additional fields.
+     * Years are selected as date ranges, so the indexes on the birth and death date can be used.
+     */
+    private SelectLimitStep<Record> selectPersons(
+            final DSLContext dsl,
+            final PersonCriteria criteria,
+            final Set<String> fields,
+            final List<Field<?>> additionalFields) {
+        final String name = criteria.name();
+        final String countryCode = criteria.countryCode();
         Condition condition = trueCondition();
         if (name != null && !name.isBlank()) {
             condition = condition.and(upper(PERSON.DISPLAYNAME).like(name.toUpperCase() + "%"));
@@ -136,20 +240,37 @@ public class PersonRepository {
         if (countryCode != null && !countryCode.isBlank()) {
             condition = condition.and(upper(COUNTRY.CODE).eq(countryCode.toUpperCase()));
         }
-        if (yearOfBirth != null) {
-            condition = condition.and(PERSON.BIRTHDATE.between(
-                LocalDate.of(yearOfBirth, Month.JANUARY, 1), LocalDate.of(yearOfBirth, Month.DECEMBER, 31)));
+        if (criteria.birthYearFrom() != null) {
+            condition = condition.and(PERSON.BIRTHDATE.ge(firstDayOf(criteria.birthYearFrom())));
         }
-        if (yearOfDeath != null) {
-            condition = condition.and(PERSON.DEATHDATE.between(
-                LocalDate.of(yearOfDeath, Month.JANUARY, 1), LocalDate.of(yearOfDeath, Month.DECEMBER, 31)));
+        if (criteria.birthYearTo() != null) {
+            condition = condition.and(PERSON.BIRTHDATE.lt(firstDayOf(criteria.birthYearTo() + 1)));
         }
-        return dsl.select(personFields)
-            .from(PERSON)
-            .join(COUNTRY).on(COUNTRY.ID.eq(PERSON.BIRTHCOUNTRYID))
+        if (criteria.deathYearFrom() != null) {
+            condition = condition.and(PERSON.DEATHDATE.ge(firstDayOf(criteria.deathYearFrom())));
+        }
+        if (criteria.deathYearTo() != null) {
+            condition = condition.and(PERSON.DEATHDATE.lt(firstDayOf(criteria.deathYearTo() + 1)));
+        }
+        if (criteria.living() != null) {
+            // Living persons with a birth date range use the partial index prs-living-birthDate-idx
+            condition = condition.and(criteria.living() ? PERSON.DEATHDATE.isNull() : PERSON.DEATHDATE.isNotNull());
+        }
+        final List<Field<?>> selectedFields = new ArrayList<>(
+            SparseFieldset.select(personFields, fields, PERSON.PERSONIDENTIFIER));
+        selectedFields.addAll(additionalFields);
+        // The country is only joined when it is needed
+        final boolean joinCountry = countryCode != null && !countryCode.isBlank()
+            || fields == null || fields.contains(BIRTH_COUNTRY_CODE);
+        final Table<?> table = joinCountry ? PERSON.join(COUNTRY).on(COUNTRY.ID.eq(PERSON.BIRTHCOUNTRYID)) : PERSON;
+        return dsl.select(selectedFields)
+            .from(table)
             .where(condition)
-            .orderBy(PERSON.DISPLAYNAME)
-            .fetchInto(Person.class);
+            .orderBy(PERSON.DISPLAYNAME);
+    }
+
+    private static LocalDate firstDayOf(final int year) {
+        return LocalDate.of(year, Month.JANUARY, 1);
     }
 
     /**
@@ -158,6 +279,7 @@ public class PersonRepository {
      * @return True when the person was updated.
      */
     public boolean updatePerson(@Nonnull Person person) {
+        final DSLContext dsl = router.primary();
         int records = dsl.update(PERSON)
             .set(PERSON.NAME, person.getName())
             .set(PERSON.DISPLAYNAME, person.getDisplayName())
@@ -169,6 +291,7 @@ public class PersonRepository {
             .set(PERSON.URL, person.getUrl())
             .set(PERSON.LASTMODIFIEDBYID, 1)
             .set(PERSON.LASTMODIFIEDAT, OffsetDateTime.now())
+            .set(PERSON.VERSION, PERSON.VERSION.plus(1))
             .where(PERSON.PERSONIDENTIFIER.eq(person.getPersonIdentifier()))
             .execute();
 
@@ -0,0 +1,45 @@
+package com.schotanus.nobel.repository;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.jooq.DSLContext;
+import org.jooq.Query;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+
+
+/**
+ * Looks up a primary key by a single (unique) value, using SQL that is rendered only once.
+ * The lookups of primary keys are executed very often (for example for every laureate of a Nobel Prize),
+ * so building and rendering a jOOQ query for every call is a waste.
+ * The rendered SQL has a single bind parameter, so the PostgreSQL driver can reuse
+ * the server-side prepared statement of a pooled connection.
+ * The SQL is executed as a plain SQL query of the supplied {@link DSLContext},
+ * so its ExecuteListeners (for example the request deadline) still apply.
+ */
+final class PrimaryKeyLookup {
+
+    private final String sql;
+
+    /**
+     * Renders the supplied query once.
+     *
+     * @param query Query selecting a single integer column, with a single bind parameter.
+     */
+    PrimaryKeyLookup(@Nonnull final Query query) {
+        this.sql = DSL.using(SQLDialect.POSTGRES).render(query);
+    }
+
+    /**
+     * Executes the lookup.
+     *
+     * @param dsl The context to execute the lookup with.
+     * @param value Value of the bind parameter.
+     * @return The primary key, or null when not found.
+     */
+    @Nullable
+    Integer fetch(@Nonnull final DSLContext dsl, @Nonnull final Object value) {
+        return dsl.resultQuery(sql, value).fetchOne(0, Integer.class);
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.schotanus.nobel.repository;
+
+import static com.schotanus.nobel.Tables.SCHEMA_MARKER;
+
+import com.schotanus.nobel.datasource.DslContextRouter;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.jooq.exception.DataAccessException;
+
+import java.time.OffsetDateTime;
+
+
+/**
+ * This repository is responsible for the marker of the migrated changelog.
+ * All statements are executed on the primary database, since that is the database Liquibase migrates.
+ */
+@ApplicationScoped
+public class SchemaMarkerRepository {
+
+    /**
+     * SQL state of a statement referring to a table that does not exist.
+     */
+    private static final String UNDEFINED_TABLE = "42P01";
+    private static final int MARKER_ID = 1;
+
+    private final DslContextRouter router;
+
+    SchemaMarkerRepository(DslContextRouter router) {
+        this.router = router;
+    }
+
+    /**
+     * Gets the hash of the changelog that was migrated last.
+     *
+     * @return The hash of the changelog, or null when no changelog has been marked,
+     *     or when the marker table does not exist (yet).
+     */
+    @Nullable
+    public String getChangeLogHash() {
+        try {
+            return router.primary().select(SCHEMA_MARKER.CHANGELOGHASH)
+                .from(SCHEMA_MARKER)
+                .where(SCHEMA_MARKER.ID.eq(MARKER_ID))
+                .fetchOne(SCHEMA_MARKER.CHANGELOGHASH);
+        } catch (DataAccessException exception) {
+            if (UNDEFINED_TABLE.equals(exception.sqlState())) {
+                return null;
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Marks the changelog with the supplied hash as migrated.
+     *
+     * @param changeLogHash Hash of the changelog.
+     */
+    public void setChangeLogHash(@Nonnull final String changeLogHash) {
+        final OffsetDateTime now = OffsetDateTime.now();
+        router.primary().insertInto(SCHEMA_MARKER)
+            .set(SCHEMA_MARKER.ID, MARKER_ID)
+            .set(SCHEMA_MARKER.CHANGELOGHASH, changeLogHash)
+            .set(SCHEMA_MARKER.MIGRATEDAT, now)
+            .onConflict(SCHEMA_MARKER.ID)
+            .doUpdate()
+            .set(SCHEMA_MARKER.CHANGELOGHASH, changeLogHash)
+            .set(SCHEMA_MARKER.MIGRATEDAT, now)
+            .execute();
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.schotanus.nobel.repository;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.jooq.Field;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Helps repositories to select only the fields a client asked for (the fields query parameter),
+ * so large columns like descriptions are not selected when nobody uses them.
+ */
+final class SparseFieldset {
+
+    private SparseFieldset() {
+    }
+
+    /**
+     * Maps fields by their name, which must be the name of the corresponding model property.
+     *
+     * @param fields The fields.
+     * @return The fields by name, in the supplied order.
+     */
+    @Nonnull
+    static Map<String, Field<?>> byName(@Nonnull final Field<?>... fields) {
+        final Map<String, Field<?>> fieldsByName = new LinkedHashMap<>();
+        for (Field<?> field : fields) {
+            fieldsByName.put(field.getName(), field);
+        }
+
+        return Collections.unmodifiableMap(fieldsByName);
+    }
+
+    /**
+     * Gets the fields to select.
+     *
+     * @param fields All selectable fields, by name.
+     * @param names Names of the fields to select, or null to select all fields.
+     * @param identifier Field that is always selected, since it identifies the entity.
+     * @return The fields to select, in the order of all selectable fields.
+     * @throws IllegalArgumentException When a name does not match any selectable field.
+     */
+    @Nonnull
+    static List<Field<?>> select(
+            @Nonnull final Map<String, Field<?>> fields,
+            @Nullable final Set<String> names,
+            @Nonnull final Field<?> identifier) {
+        if (names == null) {
+            return List.copyOf(fields.values());
+        }
+        for (String name : names) {
+            if (!fields.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown field: " + name + ", use one or more of: " + fields.keySet());
+            }
+        }
+
+        final List<Field<?>> selectedFields = new ArrayList<>(names.size() + 1);
+        fields.forEach((name, field) -> {
+            if (field == identifier || names.contains(name)) {
+                selectedFields.add(field);
+            }
+        });
+
+        return selectedFields;
+    }
+
+}
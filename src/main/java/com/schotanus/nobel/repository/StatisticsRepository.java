@@ -0,0 +1,73 @@
+package com.schotanus.nobel.repository;
+
+import static com.schotanus.nobel.Tables.CATEGORY_DECADE_STATISTIC;
+import static com.schotanus.nobel.Tables.COUNTRY_STATISTIC;
+
+import com.schotanus.nobel.datasource.DslContextRouter;
+import com.schotanus.nobel.model.CategoryStatistic;
+import com.schotanus.nobel.model.CountryStatistic;
+import jakarta.annotation.Nonnull;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.jooq.DSLContext;
+import org.jooq.Table;
+
+import java.util.List;
+
+
+/**
+ * This repository is responsible for selecting and refreshing statistics.
+ * Statistics are stored in materialized views (see Liquibase's changeLog.xml file).
+ */
+@ApplicationScoped
+public class StatisticsRepository {
+
+    private final DslContextRouter router;
+
+    StatisticsRepository(DslContextRouter router) {
+        this.router = router;
+    }
+
+    /**
+     * Gets the number of Nobel Prizes per category per decade.
+     *
+     * @return The number of Nobel Prizes per category per decade, ordered by category and decade.
+     */
+    @Nonnull
+    public List<CategoryStatistic> getCategoryStatistics() {
+        return router.replica().select(
+                CATEGORY_DECADE_STATISTIC.CATEGORYCODE.as("category"),
+                CATEGORY_DECADE_STATISTIC.DECADE,
+                CATEGORY_DECADE_STATISTIC.PRIZECOUNT)
+            .from(CATEGORY_DECADE_STATISTIC)
+            .orderBy(CATEGORY_DECADE_STATISTIC.CATEGORYID, CATEGORY_DECADE_STATISTIC.DECADE)
+            .fetchInto(CategoryStatistic.class);
+    }
+
+    /**
+     * Gets the number of laureates and their share of the Nobel Prizes per country of birth.
+     *
+     * @return The statistics per country, ordered by the share of the Nobel Prizes (highest first).
+     */
+    @Nonnull
+    public List<CountryStatistic> getCountryStatistics() {
+        return router.replica().select(
+                COUNTRY_STATISTIC.COUNTRYCODE,
+                COUNTRY_STATISTIC.LAUREATECOUNT,
+                COUNTRY_STATISTIC.PRIZESHARE)
+            .from(COUNTRY_STATISTIC)
+            .orderBy(COUNTRY_STATISTIC.PRIZESHARE.desc(), COUNTRY_STATISTIC.COUNTRYCODE)
+            .fetchInto(CountryStatistic.class);
+    }
+
+    /**
+     * Refreshes all statistics.
+     * The views are refreshed concurrently, so they can still be selected while being refreshed.
+     */
+    public void refresh() {
+        final DSLContext dsl = router.primary();
+        for (Table<?> view : List.of(CATEGORY_DECADE_STATISTIC, COUNTRY_STATISTIC)) {
+            dsl.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY {0}", view);
+        }
+    }
+
+}
@@ -1,8 +1,26 @@
 package com.schotanus.nobel.service;
 
+import com.schotanus.nobel.concurrent.SingleFlight;
+import com.schotanus.nobel.datasource.DslContextRouter;
+import com.schotanus.nobel.existence.ExistenceIndex;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
 
 /**
  * Base class for services.
@@ -13,6 +31,12 @@ public abstract class AbstractService {
     @ConfigProperty(name = "base.url")
     String baseUrl;
 
+    @ConfigProperty(name = "nobel.batch.max-size", defaultValue = "100")
+    int batchMaxSize;
+
+    @Inject
+    DslContextRouter router;
+
     /**
      * Gets the base url of the application from an application properties file.
      *
@@ -22,4 +46,120 @@ public abstract class AbstractService {
         return baseUrl == null ? "http://localhost:8080/nobel/" : baseUrl;
     }
 
+    /**
+     * Normalizes a text used to select entities case-insensitively,
+     * so selection criteria that select the same entities are equal.
+     *
+     * @param text Text to normalize.
+     * @return Null for a null or blank text, otherwise the upper-cased text.
+     */
+    @Nullable
+    protected static String normalize(@Nullable final String text) {
+        return text == null || text.isBlank() ? null : text.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Parses a comma separated list of property names (the fields query parameter of list endpoints).
+     *
+     * @param fields Comma separated list of property names.
+     * @return Null for a null or blank list, otherwise the sorted, distinct property names.
+     */
+    @Nullable
+    protected static SortedSet<String> parseFields(@Nullable final String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+
+        final SortedSet<String> names = new TreeSet<>();
+        for (String name : fields.split(",")) {
+            if (!name.isBlank()) {
+                names.add(name.trim());
+            }
+        }
+
+        return names;
+    }
+
+    /**
+     * Parses a comma separated list of identifiers (the ids query parameter of batch endpoints).
+     *
+     * @param ids Comma separated list of identifiers.
+     * @return The distinct identifiers, in the supplied order.
+     * @throws BadRequestException When there are no identifiers, or more than nobel.batch.max-size identifiers.
+     */
+    @Nonnull
+    protected List<String> parseIdentifiers(@Nullable final String ids) {
+        final Set<String> identifiers = new LinkedHashSet<>();
+        if (ids != null) {
+            for (String id : ids.split(",")) {
+                if (!id.isBlank()) {
+                    identifiers.add(id.trim());
+                }
+            }
+        }
+        if (identifiers.isEmpty()) {
+            throw new BadRequestException("At least one identifier is required");
+        }
+        if (identifiers.size() > batchMaxSize) {
+            throw new BadRequestException("At most " + batchMaxSize + " identifiers are allowed");
+        }
+
+        return List.copyOf(identifiers);
+    }
+
+    /**
+     * Checks whether an identifier might exist according to the supplied index.
+     * The client may have created the identifier on another instance, whose change notification has not arrived yet,
+     * so when the client must see its own writes, only the primary can confirm that the identifier does not exist.
+     *
+     * @param index Index of the identifiers.
+     * @param identifier The identifier to check.
+     * @return False when the identifier definitely does not exist, true when it might exist.
+     */
+    protected boolean mightExist(@Nonnull final ExistenceIndex index, @Nonnull final String identifier) {
+        return router.isPrimaryRequired() || index.mightExist(identifier);
+    }
+
+    /**
+     * Reads an entity, from the primary database when the replica does not find it.
+     * The replica may not have applied a create yet, so only the primary can confirm that an entity does not exist.
+     *
+     * @param fromPrimary True to read from the primary database right away.
+     * @param read Reads the entity, from the primary database when its argument is true.
+     * @param <V> Type of the entity.
+     * @return The entity, or null when the primary database does not contain it.
+     */
+    @Nullable
+    protected <V> V readConfirmingMissing(final boolean fromPrimary, @Nonnull final Function<Boolean, V> read) {
+        final V value = read.apply(fromPrimary);
+        if (value != null || fromPrimary || router.isReadingFromPrimary()) {
+            return value;
+        }
+
+        return read.apply(true);
+    }
+
+    /**
+     * Executes a read through the supplied single flight.
+     * The key consists of the datasource the read goes to and the supplied parameters,
+     * so a caller that must read from the primary never gets a result read from the replica.
+     * A caller waits for an identical read in flight at most until the deadline of its request.
+     *
+     * @param flight The single flight to execute the read through.
+     * @param read The read, returning an unmodifiable result.
+     * @param parameters All (normalized) parameters of the read.
+     * @param <V> Type of the result.
+     * @return Result of the read.
+     */
+    protected <V> V executeSingleFlight(
+            @Nonnull final SingleFlight<List<Object>, V> flight,
+            @Nonnull final Supplier<V> read,
+            @Nonnull final Object... parameters) {
+        final List<Object> key = new ArrayList<>(parameters.length + 1);
+        key.add(router.isReadingFromPrimary());
+        key.addAll(Arrays.asList(parameters));
+
+        return flight.execute(key, router.remainingDeadline(), read);
+    }
+
 }
@@ -0,0 +1,211 @@
+package com.schotanus.nobel.service;
+
+import com.schotanus.nobel.analytics.GroupBy;
+import com.schotanus.nobel.analytics.LaureateColumns;
+import com.schotanus.nobel.analytics.LaureateFilter;
+import com.schotanus.nobel.event.ChangeEvent;
+import com.schotanus.nobel.event.ChangeListenerConnected;
+import com.schotanus.nobel.event.EntityChanged;
+import com.schotanus.nobel.event.EntityType;
+import com.schotanus.nobel.model.LaureateAggregate;
+import com.schotanus.nobel.model.NobelPrizeCategoryEnum;
+import com.schotanus.nobel.repository.AnalyticsRepository;
+import com.schotanus.nobel.reference.ReferenceData;
+import com.schotanus.nobel.repository.AnalyticsRepository.LaureateRow;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.ws.rs.BadRequestException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * This service is responsible for ad-hoc aggregations of laureates.
+ * All laureates are loaded into an in memory {@link LaureateColumns} store at startup.
+ * After a Nobel Prize or person has changed, on any instance (see {@link ChangeEvent}),
+ * a new store is loaded in the background and replaces the current one.
+ * The reload starts once nothing has changed for the debounce period,
+ * so creating many Nobel Prizes or changing many persons results in a single reload.
+ * During a continuous stream of changes, the reload is postponed at most the maximum delay.
+ * When the change listener reconnects, notifications may have been missed, so the store is reloaded as well.
+ */
+@ApplicationScoped
+public class AnalyticsService {
+
+    private final AnalyticsRepository repository;
+    private final Duration reloadDebounce;
+    private final Duration reloadMaximumDelay;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("nobel-analytics").daemon().factory());
+    private volatile LaureateColumns laureates = new LaureateColumns();
+
+    private ScheduledFuture<?> pendingReload;
+    private long firstPendingChange;
+
+    AnalyticsService(
+            AnalyticsRepository repository,
+            @ConfigProperty(name = "nobel.analytics.reload-debounce", defaultValue = "1s") Duration reloadDebounce,
+            @ConfigProperty(name = "nobel.analytics.reload-maximum-delay", defaultValue = "10s")
+            Duration reloadMaximumDelay) {
+        this.repository = repository;
+        this.reloadDebounce = reloadDebounce;
+        this.reloadMaximumDelay = reloadMaximumDelay;
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        reload();
+    }
+
+    void onEntityChanged(@Observes EntityChanged event) {
+        scheduleReload(event.type());
+    }
+
+    void onChange(@Observes ChangeEvent event) {
+        scheduleReload(event.type());
+    }
+
+    void onChangeListenerConnected(@Observes ChangeListenerConnected event) {
+        if (event.reconnected()) {
+            scheduleReload();
+        }
+    }
+
+    /**
+     * A new Nobel Prize adds laureates, and the birth date or country of a laureate may have changed with a person.
+     * Organizations have no properties that are aggregated.
+     */
+    private void scheduleReload(@Nonnull final EntityType type) {
+        if (type == EntityType.NOBEL_PRIZE || type == EntityType.PERSON) {
+            scheduleReload();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Schedules a reload of all laureates one debounce period from now.
+     * A pending reload that has not started yet is postponed,
+     * but never beyond the maximum delay after the first change it is pending for.
+     * A reload that already started may not include the change, so another one is scheduled.
+     */
+    synchronized void scheduleReload() {
+        final long now = System.nanoTime();
+        if (pendingReload == null || !pendingReload.cancel(false)) {
+            firstPendingChange = now;
+        }
+        final long delay = Math.min(reloadDebounce.toNanos(), firstPendingChange + reloadMaximumDelay.toNanos() - now);
+        pendingReload = executor.schedule(this::reloadInBackground, Math.max(0, delay), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Reloads all laureates from the database.
+     */
+    public synchronized void reload() {
+        final LaureateColumns columns = new LaureateColumns();
+        repository.getLaureates(laureate -> append(columns, laureate));
+        laureates = columns;
+        Log.info("Analytics loaded " + columns.size() + " laureates");
+    }
+
+    private void reloadInBackground() {
+        try {
+            reload();
+        } catch (RuntimeException exception) {
+            Log.warn("Unable to reload analytics", exception);
+        }
+    }
+
+    /**
+     * Aggregates all laureates matching the supplied selection criteria.
+     *
+     * @param groupBy Property to group the laureates by.
+     * @param category Category in which the Nobel Prize was awarded.
+     * @param yearFrom First year (inclusive) the Nobel Prize was awarded.
+     * @param yearTo Last year (inclusive) the Nobel Prize was awarded.
+     * @param countryCode Code of the country where the laureate was born.
+     * @param ageFrom Minimum age of the laureate when the Nobel Prize was awarded.
+     * @param ageTo Maximum age of the laureate when the Nobel Prize was awarded.
+     * @param shared True for laureates that shared the Nobel Prize, false for laureates that did not.
+     * @return Number of laureates and their share of Nobel Prizes per group.
+     * @throws BadRequestException When the grouping, category or country does not exist.
+     */
+    @Nonnull
+    public List<LaureateAggregate> getLaureateAggregates(
+            @Nullable final String groupBy,
+            @Nullable final String category,
+            @Nullable final Integer yearFrom,
+            @Nullable final Integer yearTo,
+            @Nullable final String countryCode,
+            @Nullable final Integer ageFrom,
+            @Nullable final Integer ageTo,
+            @Nullable final Boolean shared) {
+        final LaureateFilter filter = new LaureateFilter(
+            category == null || category.isBlank() ? null : getCategory(category),
+            yearFrom,
+            yearTo,
+            countryCode == null || countryCode.isBlank() ? null : getCountryId(countryCode),
+            ageFrom,
+            ageTo,
+            shared);
+
+        return aggregate(filter, groupBy == null || groupBy.isBlank() ? GroupBy.CATEGORY : getGroupBy(groupBy));
+    }
+
+    /**
+     * Aggregates all laureates matching the supplied filter.
+     *
+     * @param filter Selection criteria.
+     * @param groupBy Property to group the laureates by.
+     * @return Number of laureates and their share of Nobel Prizes per group.
+     */
+    @Nonnull
+    public List<LaureateAggregate> aggregate(@Nonnull final LaureateFilter filter, @Nonnull final GroupBy groupBy) {
+        return laureates.aggregate(filter, groupBy);
+    }
+
+    private static GroupBy getGroupBy(final String groupBy) {
+        try {
+            return GroupBy.valueOf(groupBy.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException exception) {
+            throw new BadRequestException("Unsupported groupBy: " + groupBy);
+        }
+    }
+
+    private static NobelPrizeCategoryEnum getCategory(final String category) {
+        try {
+            return NobelPrizeCategoryEnum.valueOf(category);
+        } catch (IllegalArgumentException exception) {
+            throw new BadRequestException("Unknown category: " + category);
+        }
+    }
+
+    private static Integer getCountryId(final String countryCode) {
+        final Integer countryId = ReferenceData.getCountryId(countryCode);
+        if (countryId == null) {
+            throw new BadRequestException("Unknown country: " + countryCode);
+        }
+
+        return countryId;
+    }
+
+    private static void append(final LaureateColumns columns, final LaureateRow laureate) {
+        columns.append(laureate.year(), laureate.category(), laureate.countryId(), laureate.birthDate(),
+            laureate.fractionNominator(), laureate.fractionDenominator());
+    }
+
+}
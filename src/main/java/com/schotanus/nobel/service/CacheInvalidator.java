@@ -0,0 +1,134 @@
+package com.schotanus.nobel.service;
+
+import com.schotanus.nobel.event.ChangeEvent;
+import com.schotanus.nobel.event.ChangeListenerConnected;
+import com.schotanus.nobel.event.EntityChanged;
+import com.schotanus.nobel.event.EntityType;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.logging.Log;
+import jakarta.annotation.Nonnull;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Keeps the local caches of all instances of this application coherent.
+ * Every instance receives the change notifications sent by the database (see {@link ChangeEvent}),
+ * whichever instance made the change, and evicts the changed entity.
+ * The instance that made the change also evicts it immediately (see {@link EntityChanged}),
+ * so it never returns stale data to the client that made the change.
+ * When the change listener reconnects, notifications may have been missed, so all caches are flushed.
+ * A notification can arrive before the replica applied the change,
+ * so for a while after an eviction the entity is read from the primary database,
+ * instead of caching the stale replica row again.
+ */
+@ApplicationScoped
+public class CacheInvalidator {
+
+    static final String PERSON_CACHE = "person";
+    static final String ORGANIZATION_CACHE = "organization";
+    static final String NOBEL_PRIZES_CACHE = "nobel-prizes";
+
+    /**
+     * Number of recent evictions above which the expired ones are removed.
+     */
+    private static final int MAX_RECENT_EVICTIONS = 1000;
+
+    private final Cache personCache;
+    private final Cache organizationCache;
+    private final Cache nobelPrizesCache;
+    private final long primaryReadWindowNanos;
+    private final Map<String, Long> recentEvictions = new ConcurrentHashMap<>();
+    private volatile long nobelPrizesEvicted;
+    private volatile long allEvicted;
+
+    CacheInvalidator(
+            @CacheName(PERSON_CACHE) Cache personCache,
+            @CacheName(ORGANIZATION_CACHE) Cache organizationCache,
+            @CacheName(NOBEL_PRIZES_CACHE) Cache nobelPrizesCache,
+            @ConfigProperty(name = "nobel.cache.primary-read-window", defaultValue = "5s") Duration primaryReadWindow) {
+        this.personCache = personCache;
+        this.organizationCache = organizationCache;
+        this.nobelPrizesCache = nobelPrizesCache;
+        this.primaryReadWindowNanos = primaryReadWindow.toNanos();
+        this.nobelPrizesEvicted = System.nanoTime() - primaryReadWindowNanos;
+        this.allEvicted = nobelPrizesEvicted;
+    }
+
+    /**
+     * Tells whether an entity was evicted so recently, that the replica may not have applied the change yet.
+     *
+     * @param type Type of the entity.
+     * @param identifier Identifier of the entity.
+     * @return True when the entity should be read from the primary database.
+     */
+    public boolean isRecentlyEvicted(@Nonnull final EntityType type, @Nonnull final String identifier) {
+        final long now = System.nanoTime();
+        final Long evicted = recentEvictions.get(key(type, identifier));
+        return now - allEvicted < primaryReadWindowNanos
+            || evicted != null && now - evicted < primaryReadWindowNanos;
+    }
+
+    /**
+     * Tells whether the Nobel Prizes were evicted so recently, that the replica may not have applied the change yet.
+     *
+     * @return True when the Nobel Prizes should be read from the primary database.
+     */
+    public boolean areNobelPrizesRecentlyEvicted() {
+        return System.nanoTime() - nobelPrizesEvicted < primaryReadWindowNanos;
+    }
+
+    void onEntityChanged(@Observes EntityChanged event) {
+        invalidate(event.type(), event.identifier());
+    }
+
+    void onChange(@Observes ChangeEvent event) {
+        invalidate(event.type(), event.identifier());
+    }
+
+    void onChangeListenerConnected(@Observes ChangeListenerConnected event) {
+        if (event.reconnected()) {
+            Log.info("Change listener reconnected, flushing all caches");
+            allEvicted = System.nanoTime();
+            nobelPrizesEvicted = allEvicted;
+            personCache.invalidateAll().await().indefinitely();
+            organizationCache.invalidateAll().await().indefinitely();
+            nobelPrizesCache.invalidateAll().await().indefinitely();
+        }
+    }
+
+    /**
+     * Evicts a changed entity.
+     * Since Nobel Prizes contain their laureates, any change invalidates all cached Nobel Prizes.
+     * The time of the eviction is recorded before evicting, so a miss right after the eviction reads from the primary.
+     */
+    private void invalidate(@Nonnull final EntityType type, @Nonnull final String identifier) {
+        final long now = System.nanoTime();
+        if (recentEvictions.size() >= MAX_RECENT_EVICTIONS) {
+            recentEvictions.values().removeIf(evicted -> now - evicted >= primaryReadWindowNanos);
+        }
+        recentEvictions.put(key(type, identifier), now);
+        nobelPrizesEvicted = now;
+
+        switch (type) {
+            case PERSON -> personCache.invalidate(identifier).await().indefinitely();
+            case ORGANIZATION -> organizationCache.invalidate(identifier).await().indefinitely();
+            case NOBEL_PRIZE -> {
+                // Nothing else to evict
+            }
+        }
+        nobelPrizesCache.invalidateAll().await().indefinitely();
+    }
+
+    @Nonnull
+    private static String key(@Nonnull final EntityType type, @Nonnull final String identifier) {
+        return type + ":" + identifier;
+    }
+
+}
@@ -0,0 +1,216 @@
+package com.schotanus.nobel.service;
+
+import com.schotanus.nobel.event.ChangeEvent;
+import com.schotanus.nobel.event.ChangeListenerConnected;
+import io.quarkus.logging.Log;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * This service is responsible for sending change events to all subscribers of the change feed.
+ * The most recent change events are kept in a buffer, so a subscriber that reconnects can resume
+ * from the last event it received.
+ * Every subscriber has a bounded queue of events that still have to be sent.
+ * Events are sent one at a time, and a subscriber that can not keep up (its queue is full) is disconnected.
+ * It can then reconnect and resume, as long as the buffer still contains its last event
+ * and the events it missed fit in its queue; otherwise it is told to reset.
+ */
+@ApplicationScoped
+public class ChangeFeedService {
+
+    /**
+     * Name of the event telling a subscriber that it missed events and must reload all data.
+     */
+    public static final String RESET_EVENT = "reset";
+
+    private static final String CHANGE_EVENT = "change";
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ArrayDeque<ChangeEvent> buffer;
+    private final int bufferSize;
+    private final int subscriberQueueSize;
+
+    ChangeFeedService(
+            @ConfigProperty(name = "nobel.changes.buffer-size", defaultValue = "1000") int bufferSize,
+            @ConfigProperty(name = "nobel.changes.subscriber-queue-size", defaultValue = "256") int subscriberQueueSize) {
+        this.buffer = new ArrayDeque<>(bufferSize);
+        this.bufferSize = bufferSize;
+        this.subscriberQueueSize = subscriberQueueSize;
+    }
+
+    /**
+     * Adds a subscriber to the change feed.
+     *
+     * @param sink Sink to send the events to.
+     * @param sse Factory for the events.
+     * @param lastEventId Id of the last event the subscriber received, or null for a new subscriber.
+     */
+    public void subscribe(@Nonnull final SseEventSink sink, @Nonnull final Sse sse, @Nullable final String lastEventId) {
+        final Subscriber subscriber = new Subscriber(sink, sse, subscriberQueueSize);
+        synchronized (buffer) {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                final List<ChangeEvent> missedEvents = getEventsAfter(lastEventId);
+                if (missedEvents == null || missedEvents.size() > subscriberQueueSize) {
+                    // Replaying only the events that fit would silently skip the others
+                    subscriber.offer(sse.newEventBuilder().name(RESET_EVENT).data("").build());
+                } else {
+                    missedEvents.forEach(event -> subscriber.offer(toSseEvent(sse, event)));
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        subscriber.send();
+    }
+
+    /**
+     * Gets the number of subscribers.
+     *
+     * @return The number of subscribers.
+     */
+    public int getNumberOfSubscribers() {
+        return subscribers.size();
+    }
+
+    void onChange(@Observes ChangeEvent event) {
+        synchronized (buffer) {
+            if (buffer.size() == bufferSize) {
+                buffer.removeFirst();
+            }
+            buffer.addLast(event);
+
+            for (Iterator<Subscriber> iterator = subscribers.iterator(); iterator.hasNext(); ) {
+                final Subscriber subscriber = iterator.next();
+                if (subscriber.sink.isClosed()) {
+                    iterator.remove();
+                } else if (!subscriber.offer(toSseEvent(subscriber.sse, event))) {
+                    Log.info("Disconnecting slow change feed subscriber");
+                    iterator.remove();
+                    subscriber.sink.close();
+                }
+            }
+        }
+
+        subscribers.forEach(Subscriber::send);
+    }
+
+    /**
+     * After the change listener has reconnected, events may have been missed,
+     * so all subscribers are told to reset and no subscriber can resume from an earlier event.
+     */
+    void onChangeListenerConnected(@Observes ChangeListenerConnected event) {
+        if (!event.reconnected()) {
+            return;
+        }
+
+        synchronized (buffer) {
+            buffer.clear();
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.offer(subscriber.sse.newEventBuilder().name(RESET_EVENT).data("").build())) {
+                    subscribers.remove(subscriber);
+                    subscriber.sink.close();
+                }
+            }
+        }
+
+        subscribers.forEach(Subscriber::send);
+    }
+
+    /**
+     * Gets the buffered events after the event with the supplied id, in the order they were received.
+     * Events are compared by position, not by id, since ids are handed out before commit, not in commit order.
+     *
+     * @return The events after the supplied event, or null when the buffer no longer contains the supplied event.
+     */
+    @Nullable
+    private List<ChangeEvent> getEventsAfter(final String lastEventId) {
+        final List<ChangeEvent> events = new ArrayList<>();
+        final Iterator<ChangeEvent> iterator = buffer.descendingIterator();
+        while (iterator.hasNext()) {
+            final ChangeEvent event = iterator.next();
+            if (String.valueOf(event.id()).equals(lastEventId)) {
+                return events.reversed();
+            }
+            events.add(event);
+        }
+
+        return null;
+    }
+
+    private static OutboundSseEvent toSseEvent(final Sse sse, final ChangeEvent event) {
+        return sse.newEventBuilder()
+            .id(String.valueOf(event.id()))
+            .name(CHANGE_EVENT)
+            .mediaType(MediaType.APPLICATION_JSON_TYPE)
+            .data(ChangeEvent.class, event)
+            .build();
+    }
+
+    /**
+     * A subscriber, with its queue of events that still have to be sent.
+     */
+    private static final class Subscriber {
+        private final SseEventSink sink;
+        private final Sse sse;
+        private final Queue<OutboundSseEvent> queue;
+        private final int queueSize;
+        private boolean sending;
+
+        Subscriber(final SseEventSink sink, final Sse sse, final int queueSize) {
+            this.sink = sink;
+            this.sse = sse;
+            this.queue = new ArrayDeque<>(queueSize);
+            this.queueSize = queueSize;
+        }
+
+        synchronized boolean offer(final OutboundSseEvent event) {
+            if (queue.size() == queueSize) {
+                return false;
+            }
+
+            return queue.add(event);
+        }
+
+        /**
+         * Sends the next event, unless an event is being sent already.
+         * When the event has been sent, the next event is sent.
+         */
+        void send() {
+            final OutboundSseEvent event;
+            synchronized (this) {
+                if (sending || queue.isEmpty() || sink.isClosed()) {
+                    return;
+                }
+                sending = true;
+                event = queue.poll();
+            }
+
+            sink.send(event).whenComplete((result, exception) -> {
+                synchronized (this) {
+                    sending = false;
+                }
+                if (exception == null) {
+                    send();
+                } else {
+                    sink.close();
+                }
+            });
+        }
+    }
+
+}
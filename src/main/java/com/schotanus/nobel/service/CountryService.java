@@ -1,5 +1,7 @@
 package com.schotanus.nobel.service;
 
+import com.schotanus.nobel.exception.StacklessNotFoundException;
+import com.schotanus.nobel.reference.ReferenceData;
 import com.schotanus.nobel.repository.CountryRepository;
 import jakarta.annotation.Nonnull;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -9,6 +11,7 @@ import jakarta.ws.rs.NotFoundException;
 /**
  * This service is only responsible for selecting a single country.
  * To add or update a country, update Liquibase's changeLog.xml file.
+ * Countries are normally found in {@link ReferenceData}, without accessing the database.
  */
 @ApplicationScoped
 public class CountryService extends AbstractService {
@@ -21,6 +24,7 @@ public class CountryService extends AbstractService {
 
     /**
      * Gets the primary key of the country with the supplied code.
+     * Creating or updating a person looks up its countries this way, so the exception names the missing country.
      *
      * @param code The code (ISO-3166, alpha-2 code) of the country.
      * @return The primary key of the country with the supplied code.
@@ -28,10 +32,13 @@ public class CountryService extends AbstractService {
      */
     @Nonnull
     public Integer getPrimaryKeyOfCountry(@Nonnull final String code) {
-        Integer id = repository.getPrimaryKeyOfCountry(code);
+        Integer id = ReferenceData.getCountryId(code);
+        if (id == null) {
+            id = repository.getPrimaryKeyOfCountry(code);
+        }
 
         if (id == null) {
-            throw new NotFoundException("Country code: " + code + ", not found");
+            throw new StacklessNotFoundException("Country not found: " + code);
         }
 
         return id;
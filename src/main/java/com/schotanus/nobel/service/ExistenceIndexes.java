@@ -0,0 +1,143 @@
+package com.schotanus.nobel.service;
+
+import com.schotanus.nobel.event.ChangeEvent;
+import com.schotanus.nobel.event.ChangeListenerConnected;
+import com.schotanus.nobel.event.ChangeListenerDisconnected;
+import com.schotanus.nobel.event.EntityChanged;
+import com.schotanus.nobel.event.EntityType;
+import com.schotanus.nobel.existence.ExistenceIndex;
+import com.schotanus.nobel.repository.OrganizationRepository;
+import com.schotanus.nobel.repository.PersonRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.logging.Log;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.Nonnull;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+
+
+/**
+ * Maintains the {@link ExistenceIndex} of person identifiers and of organization identifiers,
+ * so lookups of identifiers that do not exist are rejected without a select.
+ * Identifiers created on any instance are added as soon as the change notification arrives (see {@link ChangeEvent}),
+ * and on this instance immediately (see {@link EntityChanged}).
+ * An index that misses a created identifier would reject it, so the indexes are only used while the change listener
+ * is connected: they are built once it has connected and invalidated when it loses its connection.
+ * When change notifications are disabled (nobel.changes.enabled=false), the indexes are not used at all.
+ * While connected, the indexes are rebuilt periodically (nobel.existence-index.rebuild-interval),
+ * which also removes identifiers that no longer exist.
+ */
+@ApplicationScoped
+public class ExistenceIndexes {
+
+    private final PersonRepository personRepository;
+    private final OrganizationRepository organizationRepository;
+    private final boolean enabled;
+    private final ExistenceIndex persons;
+    private final ExistenceIndex organizations;
+    private volatile boolean connected;
+
+    ExistenceIndexes(
+            PersonRepository personRepository,
+            OrganizationRepository organizationRepository,
+            MeterRegistry registry,
+            @ConfigProperty(name = "nobel.existence-index.enabled", defaultValue = "true") boolean enabled,
+            @ConfigProperty(name = "nobel.changes.enabled", defaultValue = "true") boolean changesEnabled,
+            @ConfigProperty(name = "nobel.existence-index.false-positive-probability", defaultValue = "0.01")
+            double falsePositiveProbability,
+            @ConfigProperty(name = "nobel.existence-index.negative-cache-size", defaultValue = "10000")
+            int negativeCacheSize,
+            @ConfigProperty(name = "nobel.existence-index.negative-cache-ttl", defaultValue = "60s")
+            Duration negativeCacheTtl) {
+        this.personRepository = personRepository;
+        this.organizationRepository = organizationRepository;
+        this.enabled = enabled && changesEnabled;
+        this.persons = new ExistenceIndex(
+            "person", registry, falsePositiveProbability, negativeCacheSize, negativeCacheTtl);
+        this.organizations = new ExistenceIndex(
+            "organization", registry, falsePositiveProbability, negativeCacheSize, negativeCacheTtl);
+    }
+
+    void onEntityChanged(@Observes EntityChanged event) {
+        add(event.type(), event.identifier());
+    }
+
+    void onChange(@Observes ChangeEvent event) {
+        add(event.type(), event.identifier());
+    }
+
+    void onChangeListenerConnected(@Observes ChangeListenerConnected event) {
+        // Notifications of identifiers created before the listener (re)connected were missed
+        connected = true;
+        rebuild();
+    }
+
+    void onChangeListenerDisconnected(@Observes ChangeListenerDisconnected event) {
+        connected = false;
+        invalidate();
+    }
+
+    /**
+     * Rebuilds both indexes from the database, but only while the change listener is connected.
+     * When a rebuild fails, the previous index remains in use.
+     */
+    @Scheduled(every = "${nobel.existence-index.rebuild-interval:1h}",
+        delayed = "${nobel.existence-index.rebuild-interval:1h}",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    synchronized void rebuild() {
+        if (!enabled || !connected) {
+            return;
+        }
+
+        try {
+            persons.rebuild(personRepository.countPersons(), personRepository::getPersonIdentifiers);
+            organizations.rebuild(organizationRepository.countOrganizations(),
+                organizationRepository::getOrganizationIdentifiers);
+            Log.info("Existence indexes of person and organization identifiers built");
+        } catch (RuntimeException exception) {
+            Log.warn("Unable to build existence indexes", exception);
+        }
+        if (!connected) {
+            // The connection was lost during the rebuild, which may have published an index missing identifiers
+            invalidate();
+        }
+    }
+
+    /**
+     * Gets the index of person identifiers.
+     *
+     * @return The index of person identifiers.
+     */
+    @Nonnull
+    public ExistenceIndex persons() {
+        return persons;
+    }
+
+    /**
+     * Gets the index of organization identifiers.
+     *
+     * @return The index of organization identifiers.
+     */
+    @Nonnull
+    public ExistenceIndex organizations() {
+        return organizations;
+    }
+
+    private void invalidate() {
+        persons.invalidate();
+        organizations.invalidate();
+    }
+
+    private void add(@Nonnull final EntityType type, @Nonnull final String identifier) {
+        switch (type) {
+            case PERSON -> persons.add(identifier);
+            case ORGANIZATION -> organizations.add(identifier);
+            case NOBEL_PRIZE -> {
+                // Not indexed
+            }
+        }
+    }
+}
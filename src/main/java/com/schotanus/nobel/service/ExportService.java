@@ -0,0 +1,82 @@
+package com.schotanus.nobel.service;
+
+import com.schotanus.nobel.repository.ExportFormat;
+import com.schotanus.nobel.repository.ExportRepository;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.BadRequestException;
+
+import java.io.OutputStream;
+import java.util.Locale;
+
+
+/**
+ * This service is responsible for exporting complete tables, for analytical purposes.
+ */
+@ApplicationScoped
+public class ExportService {
+
+    private final ExportRepository repository;
+
+    ExportService(ExportRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Gets the export format by its name.
+     *
+     * @param format Name of the format (case-insensitive), or null for the default format (CSV).
+     * @return The export format.
+     * @throws BadRequestException When the format does not exist.
+     */
+    @Nonnull
+    public ExportFormat getFormat(@Nullable final String format) {
+        if (format == null || format.isBlank()) {
+            return ExportFormat.CSV;
+        }
+
+        try {
+            return ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException exception) {
+            throw new BadRequestException("Export format: " + format + ", not supported");
+        }
+    }
+
+    /**
+     * Exports all persons.
+     *
+     * @param format Format of the export.
+     * @param snapshot When true, the export runs in a read-only, repeatable read transaction.
+     * @param outputStream Stream to write the export to.
+     */
+    public void exportPersons(
+            @Nonnull final ExportFormat format, final boolean snapshot, @Nonnull final OutputStream outputStream) {
+        repository.exportPersons(format, snapshot, outputStream);
+    }
+
+    /**
+     * Exports all organizations.
+     *
+     * @param format Format of the export.
+     * @param snapshot When true, the export runs in a read-only, repeatable read transaction.
+     * @param outputStream Stream to write the export to.
+     */
+    public void exportOrganizations(
+            @Nonnull final ExportFormat format, final boolean snapshot, @Nonnull final OutputStream outputStream) {
+        repository.exportOrganizations(format, snapshot, outputStream);
+    }
+
+    /**
+     * Exports all Nobel Prize laureates.
+     *
+     * @param format Format of the export.
+     * @param snapshot When true, the export runs in a read-only, repeatable read transaction.
+     * @param outputStream Stream to write the export to.
+     */
+    public void exportLaureates(
+            @Nonnull final ExportFormat format, final boolean snapshot, @Nonnull final OutputStream outputStream) {
+        repository.exportLaureates(format, snapshot, outputStream);
+    }
+
+}
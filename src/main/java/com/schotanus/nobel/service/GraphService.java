@@ -0,0 +1,149 @@
+package com.schotanus.nobel.service;
+
+import com.schotanus.nobel.model.NobelPrizeCategoryEnum;
+import com.schotanus.nobel.repository.GraphRepository;
+import com.schotanus.nobel.tables.records.CountryRecord;
+import com.schotanus.nobel.tables.records.NobelPrizeLaureateRecord;
+import com.schotanus.nobel.tables.records.NobelPrizeRecord;
+import com.schotanus.nobel.tables.records.OrganizationRecord;
+import com.schotanus.nobel.tables.records.PersonRecord;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+
+/**
+ * This service is responsible for selecting the entities of the GraphQL API.
+ * Batches contain the keys of all parents of a single level of the query,
+ * so every level costs at most a single select, however many parents there are.
+ * Empty batches (like the organizations of laureates that are all persons) do not cost a select at all.
+ */
+@ApplicationScoped
+public class GraphService extends AbstractService {
+
+    private final GraphRepository repository;
+    private final NobelPrizeCategoryService nobelPrizeCategoryService;
+
+    GraphService(GraphRepository repository, NobelPrizeCategoryService nobelPrizeCategoryService) {
+        this.repository = repository;
+        this.nobelPrizeCategoryService = nobelPrizeCategoryService;
+    }
+
+    /**
+     * Gets all Nobel Prizes matching the supplied selection criteria.
+     *
+     * @param year Year the Nobel Prize was awarded.
+     * @param category Category in which the Nobel Prize was awarded.
+     * @return All Nobel Prizes matching the supplied selection criteria.
+     */
+    @Nonnull
+    public List<NobelPrizeRecord> getNobelPrizes(
+            @Nullable final Integer year,
+            @Nullable final NobelPrizeCategoryEnum category) {
+        return repository.getNobelPrizes(year, category == null ? null : nobelPrizeCategoryService.getPrimaryKey(category));
+    }
+
+    /**
+     * Gets the Nobel Prizes of a batch of persons.
+     *
+     * @param personIds Primary keys of the persons.
+     * @return The Nobel Prizes by primary key of the person.
+     */
+    @Nonnull
+    public Map<Integer, List<NobelPrizeRecord>> getNobelPrizesOfPersons(@Nonnull final Collection<Integer> personIds) {
+        final Set<Integer> ids = distinct(personIds);
+        return ids.isEmpty() ? Map.of() : repository.getNobelPrizesOfPersons(ids);
+    }
+
+    /**
+     * Gets the laureates of a batch of Nobel Prizes.
+     *
+     * @param nobelPrizeIds Primary keys of the Nobel Prizes.
+     * @return The laureates by primary key of the Nobel Prize.
+     */
+    @Nonnull
+    public Map<Integer, List<NobelPrizeLaureateRecord>> getLaureates(@Nonnull final Collection<Integer> nobelPrizeIds) {
+        final Set<Integer> ids = distinct(nobelPrizeIds);
+        return ids.isEmpty() ? Map.of() : repository.getLaureates(ids);
+    }
+
+    /**
+     * Gets all persons with a display name starting with the supplied name.
+     *
+     * @param name Name (or first part of the name) of the person.
+     * @return All persons matching the supplied name.
+     */
+    @Nonnull
+    public List<PersonRecord> getPersons(@Nullable final String name) {
+        return repository.getPersons(normalize(name));
+    }
+
+    /**
+     * Gets a batch of persons.
+     *
+     * @param ids Primary keys of the persons, null elements are ignored.
+     * @return The persons by primary key.
+     */
+    @Nonnull
+    public Map<Integer, PersonRecord> getPersons(@Nonnull final Collection<Integer> ids) {
+        final Set<Integer> distinctIds = distinct(ids);
+        return distinctIds.isEmpty() ? Map.of() : repository.getPersons(distinctIds);
+    }
+
+    /**
+     * Gets all organizations with a name starting with the supplied name.
+     *
+     * @param name Name (or first part of the name) of the organization.
+     * @return All organizations matching the supplied name.
+     */
+    @Nonnull
+    public List<OrganizationRecord> getOrganizations(@Nullable final String name) {
+        return repository.getOrganizations(normalize(name));
+    }
+
+    /**
+     * Gets a batch of organizations.
+     *
+     * @param ids Primary keys of the organizations, null elements are ignored.
+     * @return The organizations by primary key.
+     */
+    @Nonnull
+    public Map<Integer, OrganizationRecord> getOrganizations(@Nonnull final Collection<Integer> ids) {
+        final Set<Integer> distinctIds = distinct(ids);
+        return distinctIds.isEmpty() ? Map.of() : repository.getOrganizations(distinctIds);
+    }
+
+    /**
+     * Gets all countries.
+     *
+     * @return All countries.
+     */
+    @Nonnull
+    public List<CountryRecord> getCountries() {
+        return repository.getCountries();
+    }
+
+    /**
+     * Gets a batch of countries.
+     *
+     * @param ids Primary keys of the countries.
+     * @return The countries by primary key.
+     */
+    @Nonnull
+    public Map<Integer, CountryRecord> getCountries(@Nonnull final Collection<Integer> ids) {
+        final Set<Integer> distinctIds = distinct(ids);
+        return distinctIds.isEmpty() ? Map.of() : repository.getCountries(distinctIds);
+    }
+
+    private static Set<Integer> distinct(final Collection<Integer> ids) {
+        return ids.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+}
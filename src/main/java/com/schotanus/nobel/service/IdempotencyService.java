@@ -0,0 +1,143 @@
+package com.schotanus.nobel.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schotanus.nobel.repository.IdempotencyRepository;
+import com.schotanus.nobel.repository.IdempotencyRepository.StoredResponse;
+import io.quarkus.logging.Log;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.ClientErrorException;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+
+/**
+ * This service is responsible for handling create requests with an Idempotency-Key header.
+ * The key is reserved before the entity is created and the location of the created entity is stored under it,
+ * so a retry of the request returns the same location, without creating the entity again
+ * and without running into a conflict.
+ * A request with a key that is reserved by a request that is still in progress results in a 409.
+ * A reservation is a lease: when storing the location or removing the reservation failed,
+ * for example because the request passed its deadline, the reservation would remain in progress.
+ * Once the lease has expired, a retry of the same request takes the reservation over.
+ * Stored responses are deleted by a scheduled job, once the retention period has passed.
+ */
+@ApplicationScoped
+public class IdempotencyService {
+
+    private static final int MAXIMUM_KEY_LENGTH = 255;
+    private static final int UNPROCESSABLE_CONTENT = 422;
+
+    private final IdempotencyRepository repository;
+    private final ObjectMapper objectMapper;
+    private final Duration retention;
+    private final Duration lease;
+
+    IdempotencyService(
+            IdempotencyRepository repository,
+            ObjectMapper objectMapper,
+            @ConfigProperty(name = "nobel.idempotency.retention", defaultValue = "24h") Duration retention,
+            @ConfigProperty(name = "nobel.idempotency.lease", defaultValue = "10m") Duration lease) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.retention = retention;
+        this.lease = lease;
+    }
+
+    /**
+     * Executes a create operation, unless it has already been executed with the supplied idempotency key.
+     *
+     * @param idempotencyKey Idempotency key, as supplied by the client, or null to always execute the operation.
+     * @param operation Name of the operation, like: createPerson.
+     * @param request Request body.
+     * @param create The create operation, returning the location of the created entity.
+     * @return The location of the created entity.
+     * @throws BadRequestException When the idempotency key is too long.
+     * @throws ClientErrorException (422) When the idempotency key was used for a different request.
+     * @throws ClientErrorException (409) When a request with the same idempotency key is still in progress.
+     */
+    @Nonnull
+    public String create(
+            @Nullable final String idempotencyKey,
+            @Nonnull final String operation,
+            @Nonnull final Object request,
+            @Nonnull final Supplier<String> create) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return create.get();
+        }
+        if (idempotencyKey.length() > MAXIMUM_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must not exceed " + MAXIMUM_KEY_LENGTH + " characters");
+        }
+
+        final String requestHash = hash(request);
+        final OffsetDateTime reservedAt =
+            repository.reserve(idempotencyKey, operation, requestHash, OffsetDateTime.now().minus(lease));
+        if (reservedAt == null) {
+            return replay(repository.getResponse(idempotencyKey), operation, requestHash);
+        }
+
+        final String location;
+        try {
+            location = create.get();
+        } catch (RuntimeException exception) {
+            // Nothing was created, so the request may be retried with the same key
+            repository.deleteResponse(idempotencyKey, reservedAt);
+            throw exception;
+        }
+        repository.storeLocation(idempotencyKey, reservedAt, location);
+
+        return location;
+    }
+
+    /**
+     * Deletes all stored responses older than the retention period.
+     */
+    @Scheduled(every = "${nobel.idempotency.purge-interval:1h}",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void purge() {
+        final int deleted = repository.deleteResponses(OffsetDateTime.now().minus(retention));
+        if (deleted > 0) {
+            Log.info("Deleted " + deleted + " idempotency keys");
+        }
+    }
+
+    private static String replay(
+            @Nullable final StoredResponse storedResponse, final String operation, final String requestHash) {
+        if (storedResponse == null) {
+            // The request that reserved the key failed in the meantime
+            throw new ClientErrorException("A request with this Idempotency-Key is in progress",
+                Response.Status.CONFLICT);
+        }
+        if (!storedResponse.operation().equals(operation) || !storedResponse.requestHash().equals(requestHash)) {
+            throw new ClientErrorException("Idempotency-Key was already used for a different request",
+                UNPROCESSABLE_CONTENT);
+        }
+        if (storedResponse.location() == null) {
+            throw new ClientErrorException("A request with this Idempotency-Key is in progress",
+                Response.Status.CONFLICT);
+        }
+
+        return storedResponse.location();
+    }
+
+    private String hash(final Object request) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("Unable to hash request", exception);
+        }
+    }
+
+}
@@ -1,7 +1,9 @@
 package com.schotanus.nobel.service;
 
+import com.schotanus.nobel.exception.StacklessNotFoundException;
 import com.schotanus.nobel.model.NobelPrizeCategory;
 import com.schotanus.nobel.model.NobelPrizeCategoryEnum;
+import com.schotanus.nobel.reference.ReferenceData;
 import com.schotanus.nobel.repository.NobelPrizeCategoryRepository;
 import jakarta.annotation.Nonnull;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -12,10 +14,14 @@ import java.util.List;
 /**
  * This service is responsible for selecting Nobel Prize categories.
  * Since it is not expected that these categories will chang often, updates have to be done on the database.
+ * Categories are normally found in {@link ReferenceData}, without accessing the database.
  */
 @ApplicationScoped
 public class NobelPrizeCategoryService {
 
+    private static final NotFoundException CATEGORY_NOT_FOUND =
+        new StacklessNotFoundException("Nobel Prize category not found");
+
     private final NobelPrizeCategoryRepository repository;
 
     NobelPrizeCategoryService(NobelPrizeCategoryRepository repository) {
@@ -31,9 +37,12 @@ public class NobelPrizeCategoryService {
      */
     @Nonnull
     public NobelPrizeCategory getNobelPrizeCategory(@Nonnull final String code) {
-        NobelPrizeCategory category = repository.getNobelPrizeCategory(code);
+        NobelPrizeCategory category = ReferenceData.getCategory(code);
+        if (category == null) {
+            category = repository.getNobelPrizeCategory(code);
+        }
         if (category == null) {
-            throw new NotFoundException("Nobel Prize category: " + code + ", not found");
+            throw CATEGORY_NOT_FOUND;
         }
         
         return category;
@@ -48,9 +57,12 @@ public class NobelPrizeCategoryService {
      */
     @Nonnull
     public Integer getPrimaryKey(@Nonnull final NobelPrizeCategoryEnum nobelPrizeCategory) {
-        final Integer primaryKey = repository.getPrimaryKey(nobelPrizeCategory);
+        Integer primaryKey = ReferenceData.getCategoryId(nobelPrizeCategory);
         if (primaryKey == null) {
-            throw new NotFoundException("Nobel prize category: " + nobelPrizeCategory + ", not found");
+            primaryKey = repository.getPrimaryKey(nobelPrizeCategory);
+        }
+        if (primaryKey == null) {
+            throw CATEGORY_NOT_FOUND;
         }
 
         return primaryKey;
@@ -62,7 +74,9 @@ public class NobelPrizeCategoryService {
      */
     @Nonnull
     public List<NobelPrizeCategory> getNobelPrizeCategories() {
-        return repository.getNobelPrizeCategories();
+        final List<NobelPrizeCategory> categories = ReferenceData.getCategories();
+
+        return categories.isEmpty() ? repository.getNobelPrizeCategories() : categories;
     }
 
 }
@@ -1,18 +1,30 @@
 package com.schotanus.nobel.service;
 
+import com.schotanus.nobel.concurrent.SingleFlight;
+import com.schotanus.nobel.datasource.RequestDeadline;
+import com.schotanus.nobel.event.EntityChanged;
+import com.schotanus.nobel.event.EntityType;
+import com.schotanus.nobel.exception.StacklessConflictException;
 import com.schotanus.nobel.model.NobelPrize;
 import com.schotanus.nobel.model.NobelPrizeCreate;
+import com.schotanus.nobel.repository.LaureateExpansion;
 import com.schotanus.nobel.repository.NobelPrizeRepository;
 import com.schotanus.nobel.validation.NobelPrizeValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.cache.CacheResult;
 import io.quarkus.logging.Log;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.persistence.EntityExistsException;
+import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.ClientErrorException;
-import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.NotFoundException;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 
 /**
@@ -20,10 +32,30 @@ import java.util.List;
  */
 @ApplicationScoped
 public class NobelPrizeService extends AbstractService {
+
+    private static final ClientErrorException NOBEL_PRIZE_EXISTS =
+        new StacklessConflictException("This Nobel Prize already exists");
+
     private final NobelPrizeRepository repository;
+    private final PersonService personService;
+    private final OrganizationService organizationService;
+    private final Event<EntityChanged> entityChanged;
+    private final CacheInvalidator cacheInvalidator;
+    private final SingleFlight<List<Object>, List<NobelPrize>> getNobelPrizesFlight;
 
-    NobelPrizeService(NobelPrizeRepository nobelPrizeRepository) {
+    NobelPrizeService(
+            NobelPrizeRepository nobelPrizeRepository,
+            PersonService personService,
+            OrganizationService organizationService,
+            Event<EntityChanged> entityChanged,
+            CacheInvalidator cacheInvalidator,
+            MeterRegistry registry) {
         this.repository = nobelPrizeRepository;
+        this.personService = personService;
+        this.organizationService = organizationService;
+        this.entityChanged = entityChanged;
+        this.cacheInvalidator = cacheInvalidator;
+        this.getNobelPrizesFlight = new SingleFlight<>("getNobelPrizes", registry, RequestDeadline::isDeadlineExceeded);
     }
 
     /**
@@ -37,21 +69,93 @@ public class NobelPrizeService extends AbstractService {
         try {
             Integer id = repository.createNobelPrize(nobelPrize);
             Log.info("Nobel Prize created with id:" + id);
+            entityChanged.fire(new EntityChanged(EntityType.NOBEL_PRIZE, nobelPrize.getYear() + "/" + nobelPrize.getCategory()));
             return getBaseUrl() + "nobelprizes/" + nobelPrize.getYear()  + "/" + nobelPrize.getCategory();
         } catch(EntityExistsException exception) {
-            throw new ClientErrorException("This Nobel Prize already exists", Response.Status.CONFLICT);
+            throw NOBEL_PRIZE_EXISTS;
         }
     }
 
     /**
-     * Gets all Nobel Prizes matching the supplied selection criteria
+     * Gets all Nobel Prizes matching the supplied selection criteria.
+     * Results are cached until any Nobel Prize, person or organization changes (see {@link CacheInvalidator}),
+     * so all callers share the returned list and Nobel Prizes, which must not be modified.
+     * Identical concurrent calls share a single select.
      *
      * @param year Year the Nobel Prize was awarded.
      * @param categoryCode Category in which the Nobel Prize was awarded.
+     * @param expand How far laureates are expanded (laureates, identifiers or none), null means laureates.
      * @return All Nobel Prizes matching the supplied selection criteria.
+     * @throws BadRequestException When expand has an unsupported value.
+     */
+    @Nonnull
+    @CacheResult(cacheName = CacheInvalidator.NOBEL_PRIZES_CACHE)
+    public List<NobelPrize> getNobelPrizes(@Nullable Integer year, @Nullable String categoryCode, @Nullable String expand) {
+        final String category = categoryCode == null || categoryCode.isBlank() ? null : categoryCode;
+        final LaureateExpansion expansion = parseExpansion(expand);
+        final boolean fromPrimary = cacheInvalidator.areNobelPrizesRecentlyEvicted();
+        return executeSingleFlight(getNobelPrizesFlight,
+            () -> Collections.unmodifiableList(repository.getNobelPrizes(year, category, expansion, fromPrimary)),
+            year, category, expansion, fromPrimary);
+    }
+
+    /**
+     * Streams all Nobel Prizes matching the supplied selection criteria, without selecting them all into memory.
+     *
+     * @param year Year the Nobel Prize was awarded.
+     * @param categoryCode Category in which the Nobel Prize was awarded.
+     * @param consumer Consumer of the Nobel Prizes, that may block to apply back pressure.
+     */
+    public void streamNobelPrizes(@Nullable Integer year, @Nullable String categoryCode, @Nonnull Consumer<NobelPrize> consumer) {
+        repository.streamNobelPrizes(year, categoryCode == null || categoryCode.isBlank() ? null : categoryCode, consumer);
+    }
+
+    /**
+     * Gets all Nobel Prizes awarded to a person.
+     *
+     * @param personIdentifier Person identifier.
+     * @return All Nobel Prizes awarded to the person.
+     * @throws NotFoundException when no person with the supplied identifier exists.
      */
     @Nonnull
-    public List<NobelPrize> getNobelPrizes(@Nullable Integer year, @Nullable String categoryCode) {
-        return repository.getNobelPrizes(year, categoryCode);
+    public List<NobelPrize> getNobelPrizesOfPerson(@Nonnull String personIdentifier) {
+        final List<NobelPrize> nobelPrizes = repository.getNobelPrizesOfPerson(personIdentifier);
+        if (nobelPrizes.isEmpty()) {
+            // Distinguish between a person without Nobel Prizes and a non-existing person
+            personService.getPrimaryKey(personIdentifier);
+        }
+
+        return nobelPrizes;
+    }
+
+    /**
+     * Gets all Nobel Prizes awarded to an organization.
+     *
+     * @param organizationIdentifier Organization identifier.
+     * @return All Nobel Prizes awarded to the organization.
+     * @throws NotFoundException when no organization with the supplied identifier exists.
+     */
+    @Nonnull
+    public List<NobelPrize> getNobelPrizesOfOrganization(@Nonnull String organizationIdentifier) {
+        final List<NobelPrize> nobelPrizes = repository.getNobelPrizesOfOrganization(organizationIdentifier);
+        if (nobelPrizes.isEmpty()) {
+            // Distinguish between an organization without Nobel Prizes and a non-existing organization
+            organizationService.getPrimaryKey(organizationIdentifier);
+        }
+
+        return nobelPrizes;
+    }
+
+    @Nonnull
+    private static LaureateExpansion parseExpansion(@Nullable final String expand) {
+        final String normalizedExpand = normalize(expand);
+        if (normalizedExpand == null) {
+            return LaureateExpansion.LAUREATES;
+        }
+        try {
+            return LaureateExpansion.valueOf(normalizedExpand);
+        } catch (IllegalArgumentException exception) {
+            throw new BadRequestException("Unsupported expand: " + expand + ", use laureates, identifiers or none");
+        }
     }
 }
@@ -1,17 +1,32 @@
 package com.schotanus.nobel.service;
 
+import com.schotanus.nobel.concurrent.SingleFlight;
+import com.schotanus.nobel.datasource.RequestDeadline;
+import com.schotanus.nobel.event.EntityChanged;
+import com.schotanus.nobel.event.EntityType;
+import com.schotanus.nobel.exception.StacklessConflictException;
+import com.schotanus.nobel.exception.StacklessNotFoundException;
+import com.schotanus.nobel.existence.ExistenceIndex;
 import com.schotanus.nobel.model.Organization;
+import com.schotanus.nobel.model.OrganizationBatchResult;
+import com.schotanus.nobel.repository.CountedList;
 import com.schotanus.nobel.repository.OrganizationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.cache.CacheResult;
 import io.quarkus.logging.Log;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.persistence.EntityExistsException;
+import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.ClientErrorException;
 import jakarta.ws.rs.NotFoundException;
-import jakarta.ws.rs.core.Response;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 
 /**
@@ -20,10 +35,29 @@ import java.util.List;
 @ApplicationScoped
 public class OrganizationService extends AbstractService {
 
+    private static final NotFoundException ORGANIZATION_NOT_FOUND =
+        new StacklessNotFoundException("Organization not found");
+    private static final ClientErrorException ORGANIZATION_EXISTS =
+        new StacklessConflictException("This organization already exists");
+
     private final OrganizationRepository repository;
+    private final Event<EntityChanged> entityChanged;
+    private final ExistenceIndex existenceIndex;
+    private final CacheInvalidator cacheInvalidator;
+    private final SingleFlight<List<Object>, CountedList<Organization>> getOrganizationsFlight;
 
-    OrganizationService(OrganizationRepository repository) {
+    OrganizationService(
+            OrganizationRepository repository,
+            Event<EntityChanged> entityChanged,
+            ExistenceIndexes existenceIndexes,
+            CacheInvalidator cacheInvalidator,
+            MeterRegistry registry) {
         this.repository = repository;
+        this.entityChanged = entityChanged;
+        this.existenceIndex = existenceIndexes.organizations();
+        this.cacheInvalidator = cacheInvalidator;
+        this.getOrganizationsFlight =
+            new SingleFlight<>("getOrganizations", registry, RequestDeadline::isDeadlineExceeded);
     }
 
     /**
@@ -37,24 +71,36 @@ public class OrganizationService extends AbstractService {
         try {
             Integer id = repository.createOrganization(organization);
             Log.info("Organization created with id:" + id);
+            entityChanged.fire(new EntityChanged(EntityType.ORGANIZATION, organization.getOrganizationIdentifier()));
             return getBaseUrl() + "organizations/" + organization.getOrganizationIdentifier();
         } catch(EntityExistsException exception) {
-            throw new ClientErrorException("This organization already exists", Response.Status.CONFLICT);
+            throw ORGANIZATION_EXISTS;
         }
     }
 
     /**
      * Gets an organization by its unique organization identifier.
+     * Organizations are cached until they change (see {@link CacheInvalidator}),
+     * so all callers share the returned organization, which must not be modified.
+     * Identifiers that definitely do not exist are rejected without a select (see {@link ExistenceIndexes}).
      *
      * @param organizationIdentifier Organization identifier.
      * @return The organization with the supplied identifier.
      * @throws NotFoundException when no organization with the supplied identifier exists.
      */
     @Nonnull
+    @CacheResult(cacheName = CacheInvalidator.ORGANIZATION_CACHE)
     public Organization getOrganization(@Nonnull String organizationIdentifier) {
-        Organization organization = repository.getOrganization(organizationIdentifier);
+        if (!mightExist(existenceIndex, organizationIdentifier)) {
+            throw ORGANIZATION_NOT_FOUND;
+        }
+        final long lookup = existenceIndex.startLookup();
+        final Organization organization = readConfirmingMissing(
+            cacheInvalidator.isRecentlyEvicted(EntityType.ORGANIZATION, organizationIdentifier),
+            fromPrimary -> repository.getOrganization(organizationIdentifier, fromPrimary));
         if (organization == null) {
-            throw new NotFoundException("Organization with identifier: " + organizationIdentifier + ", not found");
+            existenceIndex.recordMissing(organizationIdentifier, lookup);
+            throw ORGANIZATION_NOT_FOUND;
         }
 
         return organization;
@@ -62,17 +108,52 @@ public class OrganizationService extends AbstractService {
 
     /**
      * Gets all organizations matching the supplied selection criteria.
+     * Identical concurrent calls share a single select, so the returned list must not be modified.
      *
      * @param name Name (or first part of the name) of the organization.
+     * @param fields Comma separated list of the properties to select, or null to select all properties.
      * @return All organizations matching the supplied selection criteria.
+     * @throws BadRequestException When one of the fields is not a property of an organization.
      */
     @Nonnull
-    public List<Organization> getOrganizations(@Nullable String name) {
-        return repository.getOrganizations(name);
+    public List<Organization> getOrganizations(@Nullable String name, @Nullable String fields) {
+        return getOrganizations(name, fields, null, false, false).items();
+    }
+
+    /**
+     * Gets the first organizations matching the supplied selection criteria and (optionally) the total number of them.
+     * Identical concurrent calls share a single select, so the returned list must not be modified.
+     *
+     * @param name Name (or first part of the name) of the organization.
+     * @param fields Comma separated list of the properties to select, or null to select all properties.
+     * @param limit Maximum number of organizations to return, or null to return all organizations.
+     * @param count True to count the total number of organizations matching the selection criteria.
+     * @param exact True to count exactly, instead of estimating the total number of organizations without a name.
+     * @return The organizations matching the supplied selection criteria and (optionally) the total number of them.
+     * @throws BadRequestException When one of the fields is not a property of an organization.
+     */
+    @Nonnull
+    public CountedList<Organization> getOrganizations(
+            @Nullable String name,
+            @Nullable String fields,
+            @Nullable Integer limit,
+            boolean count,
+            boolean exact) {
+        final String normalizedName = normalize(name);
+        final Set<String> fieldNames = parseFields(fields);
+        try {
+            return executeSingleFlight(getOrganizationsFlight,
+                () -> repository.getOrganizations(normalizedName, fieldNames, limit, count, exact),
+                normalizedName, fieldNames, limit, count, exact);
+        } catch (IllegalArgumentException exception) {
+            throw new BadRequestException(exception.getMessage());
+        }
     }
 
     /**
      * Gets the primary key of an organization by its unique organization identifier.
+     * Identifiers that definitely do not exist are rejected without a select (see {@link ExistenceIndexes}).
+     * Creating a Nobel Prize looks up its laureates this way, so the exception names the missing organization.
      *
      * @param organizationIdentifier Organization identifier.
      * @return The primary key of the organization.
@@ -80,12 +161,53 @@ public class OrganizationService extends AbstractService {
      */
     @Nonnull
     public Integer getPrimaryKey(@Nonnull final String organizationIdentifier) {
-        final Integer primaryKey = repository.getPrimaryKey(organizationIdentifier);
+        if (!mightExist(existenceIndex, organizationIdentifier)) {
+            throw notFound(organizationIdentifier);
+        }
+        final long lookup = existenceIndex.startLookup();
+        final Integer primaryKey = readConfirmingMissing(false,
+            fromPrimary -> repository.getPrimaryKey(organizationIdentifier, fromPrimary));
         if (primaryKey == null) {
-            throw new NotFoundException("Organization with identifier: " + organizationIdentifier + ", not found");
+            existenceIndex.recordMissing(organizationIdentifier, lookup);
+            throw notFound(organizationIdentifier);
         }
 
         return primaryKey;
     }
 
+    /**
+     * Gets several organizations by their unique organization identifiers, using a single select.
+     *
+     * @param ids Comma separated list of organization identifiers.
+     * @return A result per distinct organization identifier, in the supplied order.
+     * @throws BadRequestException When there are no identifiers, or too many identifiers.
+     */
+    @Nonnull
+    public List<OrganizationBatchResult> getOrganizationsByIdentifiers(@Nullable String ids) {
+        final List<String> organizationIdentifiers = parseIdentifiers(ids);
+        final List<String> existingIdentifiers =
+            organizationIdentifiers.stream().filter(identifier -> mightExist(existenceIndex, identifier)).toList();
+        final Map<String, Organization> organizations = existingIdentifiers.isEmpty() ? Map.of()
+            : repository.getOrganizations(existingIdentifiers);
+
+        final List<OrganizationBatchResult> results = new ArrayList<>(organizationIdentifiers.size());
+        for (String organizationIdentifier : organizationIdentifiers) {
+            final OrganizationBatchResult result = new OrganizationBatchResult();
+            result.setId(organizationIdentifier);
+            result.setOrganization(organizations.get(organizationIdentifier));
+            result.setFound(result.getOrganization() != null);
+            results.add(result);
+        }
+
+        return results;
+    }
+
+    /**
+     * Creates the exception for an organization that was not found, naming the organization,
+     * unlike the shared exception of a GET, where the request already names it.
+     */
+    @Nonnull
+    private static NotFoundException notFound(@Nonnull final String organizationIdentifier) {
+        return new StacklessNotFoundException("Organization not found: " + organizationIdentifier);
+    }
 }
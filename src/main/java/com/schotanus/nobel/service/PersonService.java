@@ -1,18 +1,35 @@
 package com.schotanus.nobel.service;
 
+import com.schotanus.nobel.concurrent.SingleFlight;
+import com.schotanus.nobel.datasource.RequestDeadline;
+import com.schotanus.nobel.event.EntityChanged;
+import com.schotanus.nobel.event.EntityType;
+import com.schotanus.nobel.exception.StacklessConflictException;
+import com.schotanus.nobel.exception.StacklessNotFoundException;
+import com.schotanus.nobel.existence.ExistenceIndex;
 import com.schotanus.nobel.model.Person;
+import com.schotanus.nobel.model.PersonBatchResult;
+import com.schotanus.nobel.repository.CountedList;
+import com.schotanus.nobel.repository.PersonCriteria;
 import com.schotanus.nobel.repository.PersonRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.cache.CacheResult;
 import io.quarkus.logging.Log;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.persistence.EntityExistsException;
 import jakarta.validation.Valid;
+import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.ClientErrorException;
 import jakarta.ws.rs.NotFoundException;
-import jakarta.ws.rs.core.Response;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 
 /**
@@ -22,10 +39,29 @@ import java.util.List;
 @ApplicationScoped
 public class PersonService extends AbstractService {
 
+    private static final int MIN_YEAR = 1;
+    private static final int MAX_YEAR = 9999;
+    private static final NotFoundException PERSON_NOT_FOUND = new StacklessNotFoundException("Person not found");
+    private static final ClientErrorException PERSON_EXISTS =
+        new StacklessConflictException("This person already exists");
+
     private final PersonRepository repository;
+    private final Event<EntityChanged> entityChanged;
+    private final ExistenceIndex existenceIndex;
+    private final CacheInvalidator cacheInvalidator;
+    private final SingleFlight<List<Object>, CountedList<Person>> getPersonsFlight;
 
-    PersonService(PersonRepository repository) {
+    PersonService(
+            PersonRepository repository,
+            Event<EntityChanged> entityChanged,
+            ExistenceIndexes existenceIndexes,
+            CacheInvalidator cacheInvalidator,
+            MeterRegistry registry) {
         this.repository = repository;
+        this.entityChanged = entityChanged;
+        this.existenceIndex = existenceIndexes.persons();
+        this.cacheInvalidator = cacheInvalidator;
+        this.getPersonsFlight = new SingleFlight<>("getPersons", registry, RequestDeadline::isDeadlineExceeded);
     }
 
     /**
@@ -39,24 +75,36 @@ public class PersonService extends AbstractService {
         try {
             Integer id = repository.createPerson(person);
             Log.info("Person created with id:" + id);
+            entityChanged.fire(new EntityChanged(EntityType.PERSON, person.getPersonIdentifier()));
             return getBaseUrl() + "persons/" + person.getPersonIdentifier();
         } catch(EntityExistsException exception) {
-            throw new ClientErrorException("This person already exists", Response.Status.CONFLICT);
+            throw PERSON_EXISTS;
         }
     }
 
     /**
      * Gets a person by its unique person identifier.
+     * Persons are cached until they change (see {@link CacheInvalidator}),
+     * so all callers share the returned person, which must not be modified.
+     * Identifiers that definitely do not exist are rejected without a select (see {@link ExistenceIndexes}).
      *
      * @param personIdentifier Person identifier.
      * @return The Person with the supplied identifier.
      * @throws NotFoundException when no person with the supplied identifier exists.
      */
     @Nonnull
+    @CacheResult(cacheName = CacheInvalidator.PERSON_CACHE)
     public Person getPerson(@Nonnull final String personIdentifier) {
-        Person person = repository.getPerson(personIdentifier);
+        if (!mightExist(existenceIndex, personIdentifier)) {
+            throw PERSON_NOT_FOUND;
+        }
+        final long lookup = existenceIndex.startLookup();
+        final Person person = readConfirmingMissing(
+            cacheInvalidator.isRecentlyEvicted(EntityType.PERSON, personIdentifier),
+            fromPrimary -> repository.getPerson(personIdentifier, fromPrimary));
         if (person == null) {
-            throw new NotFoundException("Person wih identifier: " + personIdentifier + ", not found");
+            existenceIndex.recordMissing(personIdentifier, lookup);
+            throw PERSON_NOT_FOUND;
         }
 
         return person;
@@ -64,6 +112,8 @@ public class PersonService extends AbstractService {
 
     /**
      * Gets the primary key of a person by its unique person identifier.
+     * Identifiers that definitely do not exist are rejected without a select (see {@link ExistenceIndexes}).
+     * Creating a Nobel Prize looks up its laureates this way, so the exception names the missing person.
      *
      * @param personIdentifier Person identifier.
      * @return The primary key of the person.
@@ -71,9 +121,15 @@ public class PersonService extends AbstractService {
      */
     @Nonnull
     public Integer getPrimaryKey(@Nonnull final String personIdentifier) {
-        final Integer primaryKey = repository.getPrimaryKey(personIdentifier);
+        if (!mightExist(existenceIndex, personIdentifier)) {
+            throw notFound(personIdentifier);
+        }
+        final long lookup = existenceIndex.startLookup();
+        final Integer primaryKey =
+            readConfirmingMissing(false, fromPrimary -> repository.getPrimaryKey(personIdentifier, fromPrimary));
         if (primaryKey == null) {
-            throw new NotFoundException("Person wih identifier: " + personIdentifier + ", not found");
+            existenceIndex.recordMissing(personIdentifier, lookup);
+            throw notFound(personIdentifier);
         }
 
         return primaryKey;
@@ -81,20 +137,101 @@ public class PersonService extends AbstractService {
 
     /**
      * Gets all persons matching the supplied selection criteria.
+     * Identical concurrent calls share a single select, so the returned list must not be modified.
      *
      * @param name Name (or first part of the name) of the person.
      * @param countryCode Country where the person was born.
      * @param yearOfBirth Year the person was born.
      * @param yearOfDeath Year the person died or NULL for living persons.
+     * @param fields Comma separated list of the properties to select, or null to select all properties.
      * @return All persons matching the supplied selection criteria.
+     * @throws BadRequestException When one of the fields is not a property of a person.
      */
     @Nonnull
     public List<Person> getPersons(
             @Nullable String name,
             @Nullable String countryCode,
             @Nullable Integer yearOfBirth,
-            @Nullable Integer yearOfDeath) {
-        return repository.getPersons(name, countryCode, yearOfBirth, yearOfDeath);
+            @Nullable Integer yearOfDeath,
+            @Nullable String fields) {
+        return getPersons(PersonCriteria.of(name, countryCode, yearOfBirth, yearOfDeath), fields, null, false, false)
+            .items();
+    }
+
+    /**
+     * Gets the first persons matching the supplied selection criteria and (optionally) the total number of them.
+     * Identical concurrent calls share a single select, so the returned list must not be modified.
+     *
+     * @param criteria Selection criteria.
+     * @param fields Comma separated list of the properties to select, or null to select all properties.
+     * @param limit Maximum number of persons to return, or null to return all persons.
+     * @param count True to count the total number of persons matching the selection criteria.
+     * @param exact True to count exactly, instead of estimating the total number of persons without selection criteria.
+     * @return The persons matching the supplied selection criteria and (optionally) the total number of them.
+     * @throws BadRequestException When one of the fields is not a property of a person,
+     *   or when a year range ends before it starts.
+     */
+    @Nonnull
+    public CountedList<Person> getPersons(
+            @Nonnull PersonCriteria criteria,
+            @Nullable String fields,
+            @Nullable Integer limit,
+            boolean count,
+            boolean exact) {
+        final PersonCriteria normalizedCriteria = normalize(criteria);
+        final Set<String> fieldNames = parseFields(fields);
+        try {
+            return executeSingleFlight(getPersonsFlight,
+                () -> repository.getPersons(normalizedCriteria, fieldNames, limit, count, exact),
+                normalizedCriteria, fieldNames, limit, count, exact);
+        } catch (IllegalArgumentException exception) {
+            throw new BadRequestException(exception.getMessage());
+        }
+    }
+
+    /**
+     * Streams all persons matching the supplied selection criteria, without selecting them all into memory.
+     *
+     * @param name Name (or first part of the name) of the person.
+     * @param countryCode Country where the person was born.
+     * @param yearOfBirth Year the person was born.
+     * @param yearOfDeath Year the person died or NULL for living persons.
+     * @param consumer Consumer of the persons, that may block to apply back pressure.
+     */
+    public void streamPersons(
+            @Nullable String name,
+            @Nullable String countryCode,
+            @Nullable Integer yearOfBirth,
+            @Nullable Integer yearOfDeath,
+            @Nonnull Consumer<Person> consumer) {
+        repository.streamPersons(normalize(PersonCriteria.of(name, countryCode, yearOfBirth, yearOfDeath)), consumer);
+    }
+
+    /**
+     * Gets several persons by their unique person identifiers, using a single select.
+     *
+     * @param ids Comma separated list of person identifiers.
+     * @return A result per distinct person identifier, in the supplied order.
+     * @throws BadRequestException When there are no identifiers, or too many identifiers.
+     */
+    @Nonnull
+    public List<PersonBatchResult> getPersonsByIdentifiers(@Nullable String ids) {
+        final List<String> personIdentifiers = parseIdentifiers(ids);
+        final List<String> existingIdentifiers =
+            personIdentifiers.stream().filter(identifier -> mightExist(existenceIndex, identifier)).toList();
+        final Map<String, Person> persons = existingIdentifiers.isEmpty() ? Map.of()
+            : repository.getPersons(existingIdentifiers);
+
+        final List<PersonBatchResult> results = new ArrayList<>(personIdentifiers.size());
+        for (String personIdentifier : personIdentifiers) {
+            final PersonBatchResult result = new PersonBatchResult();
+            result.setId(personIdentifier);
+            result.setPerson(persons.get(personIdentifier));
+            result.setFound(result.getPerson() != null);
+            results.add(result);
+        }
+
+        return results;
     }
 
     /**
@@ -107,10 +244,47 @@ public class PersonService extends AbstractService {
     public Person updatePerson(@Nonnull @Valid final Person person) {
         boolean updated = repository.updatePerson(person);
         if (!updated) {
-            throw new NotFoundException("Person wih identifier: " + person.getPersonIdentifier() + ", not found");
+            throw PERSON_NOT_FOUND;
+        }
+        entityChanged.fire(new EntityChanged(EntityType.PERSON, person.getPersonIdentifier()));
+
+        return repository.getPerson(person.getPersonIdentifier(), true);
+    }
+
+    @Nonnull
+    private static PersonCriteria normalize(@Nonnull final PersonCriteria criteria) {
+        validateRange("yearOfBirth", criteria.birthYearFrom(), criteria.birthYearTo());
+        validateRange("yearOfDeath", criteria.deathYearFrom(), criteria.deathYearTo());
+        return new PersonCriteria(normalize(criteria.name()), normalize(criteria.countryCode()),
+            criteria.birthYearFrom(), criteria.birthYearTo(), criteria.deathYearFrom(), criteria.deathYearTo(),
+            criteria.living());
+    }
+
+    private static void validateRange(final String name, final Integer from, final Integer to) {
+        validateYear(name, from);
+        validateYear(name, to);
+        if (from != null && to != null && from > to) {
+            throw new BadRequestException(name + " range ends (" + to + ") before it starts (" + from + ")");
+        }
+    }
+
+    /**
+     * Validates a year the same way the REST API does (see nobel.yml), for callers like the gRPC API,
+     * since a year outside these bounds can not be converted into a date.
+     */
+    private static void validateYear(final String name, final Integer year) {
+        if (year != null && (year < MIN_YEAR || year > MAX_YEAR)) {
+            throw new BadRequestException(name + " must be between " + MIN_YEAR + " and " + MAX_YEAR);
         }
+    }
 
-        return repository.getPerson(person.getPersonIdentifier());
+    /**
+     * Creates the exception for a person that was not found, naming the person,
+     * unlike the shared exception of a GET, where the request already names it.
+     */
+    @Nonnull
+    private static NotFoundException notFound(@Nonnull final String personIdentifier) {
+        return new StacklessNotFoundException("Person not found: " + personIdentifier);
     }
 
 }
@@ -0,0 +1,50 @@
+package com.schotanus.nobel.service;
+
+import com.schotanus.nobel.reference.ReferenceData;
+import com.schotanus.nobel.repository.CountryRepository;
+import com.schotanus.nobel.repository.NobelPrizeCategoryRepository;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.interceptor.Interceptor;
+
+import java.util.Map;
+
+
+/**
+ * Verifies at startup that the primary keys {@link ReferenceData} derives from the Liquibase files
+ * equal the primary keys in the database.
+ * They differ when a sequence skipped a value or the rows were inserted in another order,
+ * in which case the primary keys of the database are used instead, so no row refers to the wrong country.
+ */
+@ApplicationScoped
+public class ReferenceDataVerifier {
+
+    private final CountryRepository countryRepository;
+    private final NobelPrizeCategoryRepository categoryRepository;
+
+    ReferenceDataVerifier(CountryRepository countryRepository, NobelPrizeCategoryRepository categoryRepository) {
+        this.countryRepository = countryRepository;
+        this.categoryRepository = categoryRepository;
+    }
+
+    /**
+     * Verifies after the schema is migrated, but before any other startup observer uses the reference data.
+     */
+    void onStart(@Observes @Priority(Interceptor.Priority.APPLICATION) StartupEvent event) {
+        try {
+            final Map<String, Integer> countryIds = countryRepository.getPrimaryKeysOfCountries();
+            final Map<String, Integer> categoryIds = categoryRepository.getPrimaryKeys();
+            if (!ReferenceData.hasIds(countryIds, categoryIds)) {
+                Log.error("Primary keys of the reference data differ from the Liquibase files,"
+                    + " using the primary keys of the database");
+                ReferenceData.useIds(countryIds, categoryIds);
+            }
+        } catch (RuntimeException exception) {
+            Log.warn("Unable to verify the primary keys of the reference data", exception);
+        }
+    }
+
+}
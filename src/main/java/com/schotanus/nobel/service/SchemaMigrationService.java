@@ -0,0 +1,111 @@
+package com.schotanus.nobel.service;
+
+import com.schotanus.nobel.repository.SchemaMarkerRepository;
+import io.quarkus.liquibase.LiquibaseFactory;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.Nullable;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.interceptor.Interceptor;
+import liquibase.Liquibase;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Migrates the database schema at startup, but only when the changelog changed since the last migration.
+ * Parsing the changelog (including all countries) and computing the checksums of all changesets takes Liquibase
+ * a noticeable part of the startup time, even when there is nothing to migrate.
+ * <p>
+ * While building, the hash of all changelog files is stored in {@value #HASH_RESOURCE}.
+ * At startup it is compared to the hash in the schema-marker table: when they are equal, Liquibase is skipped.
+ * Otherwise, Liquibase migrates the schema (under its own lock, so instances starting at the same time
+ * do not migrate concurrently) and the hash is marked.
+ * <p>
+ * Enable with nobel.liquibase.fast-start=true instead of quarkus.liquibase.migrate-at-start=true.
+ * Do not enable it in dev mode, since the hash is only computed by a Maven build.
+ */
+@ApplicationScoped
+public class SchemaMigrationService {
+
+    static final String HASH_RESOURCE = "db/changelog.sha256";
+
+    private final LiquibaseFactory liquibaseFactory;
+    private final SchemaMarkerRepository repository;
+    private final boolean enabled;
+    private final boolean migrateAtStart;
+
+    SchemaMigrationService(
+            LiquibaseFactory liquibaseFactory,
+            SchemaMarkerRepository repository,
+            @ConfigProperty(name = "nobel.liquibase.fast-start", defaultValue = "false") boolean enabled,
+            @ConfigProperty(name = "quarkus.liquibase.migrate-at-start", defaultValue = "false") boolean migrateAtStart) {
+        this.liquibaseFactory = liquibaseFactory;
+        this.repository = repository;
+        this.enabled = enabled;
+        this.migrateAtStart = migrateAtStart;
+    }
+
+    /**
+     * Migrates before any other startup observer selects data.
+     */
+    void onStart(@Observes @Priority(Interceptor.Priority.LIBRARY_BEFORE) StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (migrateAtStart) {
+            Log.warn("nobel.liquibase.fast-start has no effect, since quarkus.liquibase.migrate-at-start is enabled");
+            return;
+        }
+
+        migrate();
+    }
+
+    /**
+     * Migrates the database schema, unless the marked hash equals the hash of the changelog.
+     */
+    public void migrate() {
+        final long start = System.nanoTime();
+        final String changeLogHash = readChangeLogHash();
+        if (changeLogHash != null && changeLogHash.equals(repository.getChangeLogHash())) {
+            Log.info("Schema is current, Liquibase skipped in " + millisSince(start) + " ms");
+            return;
+        }
+
+        try (Liquibase liquibase = liquibaseFactory.createLiquibase()) {
+            liquibase.update(liquibaseFactory.createContexts(), liquibaseFactory.createLabels());
+        } catch (Exception exception) {
+            throw new IllegalStateException("Unable to migrate the database schema", exception);
+        }
+        if (changeLogHash != null) {
+            repository.setChangeLogHash(changeLogHash);
+        }
+        Log.info("Schema migrated by Liquibase in " + millisSince(start) + " ms");
+    }
+
+    @Nullable
+    private static String readChangeLogHash() {
+        try (InputStream inputStream = Thread.currentThread().getContextClassLoader()
+                .getResourceAsStream(HASH_RESOURCE)) {
+            if (inputStream == null) {
+                Log.warn(HASH_RESOURCE + " not found, Liquibase always migrates");
+                return null;
+            }
+            final String hash = new String(inputStream.readAllBytes(), StandardCharsets.US_ASCII).trim();
+            return hash.isEmpty() ? null : hash;
+        } catch (IOException exception) {
+            Log.warn("Unable to read " + HASH_RESOURCE + ", Liquibase always migrates", exception);
+            return null;
+        }
+    }
+
+    private static long millisSince(final long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
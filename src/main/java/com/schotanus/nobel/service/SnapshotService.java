@@ -0,0 +1,219 @@
+package com.schotanus.nobel.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schotanus.nobel.event.ChangeEvent;
+import com.schotanus.nobel.event.ChangeListenerConnected;
+import com.schotanus.nobel.event.EntityChanged;
+import com.schotanus.nobel.model.Snapshot;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+
+/**
+ * This service is responsible for a snapshot of all Nobel Prizes, persons and organizations.
+ * The snapshot is stored as a gzip compressed JSON file, so it can be sent to clients without
+ * selecting and serializing all data again.
+ * After data has changed, the snapshot is regenerated in the background.
+ * The regeneration starts once no data has changed for the debounce period,
+ * so a burst of changes results in a single regeneration that includes all of them.
+ * During a continuous stream of changes, the regeneration is postponed at most the maximum delay.
+ * Changes made on other instances are followed through their change notifications (see {@link ChangeEvent}),
+ * and when the change listener reconnects, notifications may have been missed, so the snapshot is regenerated.
+ * Snapshot files left behind by a previous run are deleted at startup.
+ */
+@ApplicationScoped
+public class SnapshotService {
+
+    private static final String FILE_PREFIX = "snapshot-";
+    private static final String FILE_SUFFIX = ".json.gz";
+
+    private final NobelPrizeService nobelPrizeService;
+    private final PersonService personService;
+    private final OrganizationService organizationService;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final Duration debounce;
+    private final Duration maximumDelay;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("nobel-snapshot").daemon().factory());
+
+    private ScheduledFuture<?> pendingRegeneration;
+    private long firstPendingChange;
+    private volatile GeneratedSnapshot current;
+
+    /**
+     * A generated snapshot file.
+     *
+     * @param file The gzip compressed file.
+     * @param eTag Entity tag of the file (unquoted).
+     * @param length Length of the file in bytes.
+     * @param generatedAt Time the snapshot was generated.
+     */
+    public record GeneratedSnapshot(Path file, String eTag, long length, Instant generatedAt) {
+    }
+
+    SnapshotService(
+            NobelPrizeService nobelPrizeService,
+            PersonService personService,
+            OrganizationService organizationService,
+            ObjectMapper objectMapper,
+            @ConfigProperty(name = "nobel.snapshot.directory") Optional<String> directory,
+            @ConfigProperty(name = "nobel.snapshot.debounce", defaultValue = "10s") Duration debounce,
+            @ConfigProperty(name = "nobel.snapshot.maximum-delay", defaultValue = "1m") Duration maximumDelay) {
+        this.nobelPrizeService = nobelPrizeService;
+        this.personService = personService;
+        this.organizationService = organizationService;
+        this.objectMapper = objectMapper;
+        this.directory = directory.map(Path::of)
+            .orElse(Path.of(System.getProperty("java.io.tmpdir"), "nobel-snapshot"));
+        this.debounce = debounce;
+        this.maximumDelay = maximumDelay;
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        executor.execute(() -> {
+            deleteStaleFiles();
+            regenerate();
+        });
+    }
+
+    void onEntityChanged(@Observes EntityChanged event) {
+        scheduleRegeneration();
+    }
+
+    void onChange(@Observes ChangeEvent event) {
+        scheduleRegeneration();
+    }
+
+    void onChangeListenerConnected(@Observes ChangeListenerConnected event) {
+        if (event.reconnected()) {
+            scheduleRegeneration();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Gets the most recently generated snapshot.
+     *
+     * @return The most recently generated snapshot, or null when no snapshot has been generated yet.
+     */
+    @Nullable
+    public GeneratedSnapshot getSnapshot() {
+        return current;
+    }
+
+    /**
+     * Schedules the regeneration of the snapshot one debounce period from now.
+     * A pending regeneration that has not started yet is postponed,
+     * but never beyond the maximum delay after the first change it is pending for.
+     * A regeneration that already started may not include the change, so another one is scheduled.
+     */
+    public synchronized void scheduleRegeneration() {
+        final long now = System.nanoTime();
+        if (pendingRegeneration == null || !pendingRegeneration.cancel(false)) {
+            firstPendingChange = now;
+        }
+        final long delay = Math.min(debounce.toNanos(), firstPendingChange + maximumDelay.toNanos() - now);
+        pendingRegeneration = executor.schedule(this::regenerate, Math.max(0, delay), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Generates a new snapshot file and removes the previous one.
+     * The previous file is removed one debounce period later, so downloads that already started can complete.
+     * When the generation fails, the temporary file is removed and the previous snapshot remains in use.
+     */
+    private void regenerate() {
+        Path temporaryFile = null;
+        try {
+            Files.createDirectories(directory);
+            temporaryFile = Files.createTempFile(directory, FILE_PREFIX, ".tmp");
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (OutputStream outputStream = new GZIPOutputStream(
+                    new DigestOutputStream(Files.newOutputStream(temporaryFile), digest))) {
+                objectMapper.writeValue(outputStream, createSnapshot());
+            }
+
+            final String eTag = HexFormat.of().formatHex(digest.digest(), 0, 16);
+            final Path file = directory.resolve(FILE_PREFIX + eTag + FILE_SUFFIX);
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            temporaryFile = null;
+
+            final GeneratedSnapshot previous = current;
+            current = new GeneratedSnapshot(file, eTag, Files.size(file), Instant.now());
+            Log.info("Snapshot generated: " + file);
+
+            if (previous != null && !previous.file().equals(file)) {
+                executor.schedule(() -> deleteFile(previous.file()), debounce.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        } catch (IOException | NoSuchAlgorithmException | RuntimeException exception) {
+            Log.warn("Unable to generate snapshot", exception);
+            if (temporaryFile != null) {
+                deleteFile(temporaryFile);
+            }
+        }
+    }
+
+    /**
+     * Deletes the snapshot files (and temporary files) of a previous run, since only the current one is ever served.
+     */
+    private void deleteStaleFiles() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*")) {
+            for (Path file : files) {
+                deleteFile(file);
+            }
+        } catch (IOException exception) {
+            Log.warn("Unable to delete stale snapshots in: " + directory, exception);
+        }
+    }
+
+    @Nonnull
+    private Snapshot createSnapshot() {
+        final Snapshot snapshot = new Snapshot();
+        snapshot.setNobelPrizes(nobelPrizeService.getNobelPrizes(null, null, null));
+        snapshot.setPersons(personService.getPersons(null, null, null, null, null));
+        snapshot.setOrganizations(organizationService.getOrganizations(null, null));
+
+        return snapshot;
+    }
+
+    private static void deleteFile(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException exception) {
+            Log.warn("Unable to delete snapshot: " + file, exception);
+        }
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.schotanus.nobel.service;
+
+import com.schotanus.nobel.event.EntityChanged;
+import com.schotanus.nobel.model.CategoryStatistic;
+import com.schotanus.nobel.model.CountryStatistic;
+import com.schotanus.nobel.repository.StatisticsRepository;
+import io.quarkus.logging.Log;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.Nonnull;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+
+/**
+ * This service is responsible for statistics about Nobel Prizes and laureates.
+ * The statistics are precalculated, so selecting them is cheap.
+ * After data has changed, the statistics are marked dirty and refreshed by a scheduled job.
+ */
+@ApplicationScoped
+public class StatisticsService {
+
+    private final StatisticsRepository repository;
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    StatisticsService(StatisticsRepository repository) {
+        this.repository = repository;
+    }
+
+    void onEntityChanged(@Observes EntityChanged event) {
+        dirty.set(true);
+    }
+
+    /**
+     * Refreshes the statistics, but only when data has changed since the last refresh.
+     */
+    @Scheduled(every = "${nobel.statistics.refresh-interval:30s}",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void refreshWhenDirty() {
+        if (dirty.getAndSet(false)) {
+            try {
+                repository.refresh();
+                Log.info("Statistics refreshed");
+            } catch (RuntimeException exception) {
+                dirty.set(true);
+                Log.warn("Unable to refresh statistics", exception);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of Nobel Prizes per category per decade.
+     *
+     * @return The number of Nobel Prizes per category per decade.
+     */
+    @Nonnull
+    public List<CategoryStatistic> getCategoryStatistics() {
+        return repository.getCategoryStatistics();
+    }
+
+    /**
+     * Gets the number of laureates and their share of the Nobel Prizes per country of birth.
+     *
+     * @return The statistics per country of birth.
+     */
+    @Nonnull
+    public List<CountryStatistic> getCountryStatistics() {
+        return repository.getCountryStatistics();
+    }
+
+}
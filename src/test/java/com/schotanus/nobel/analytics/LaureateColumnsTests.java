@@ -0,0 +1,90 @@
+package com.schotanus.nobel.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.schotanus.nobel.model.LaureateAggregate;
+import com.schotanus.nobel.model.NobelPrizeCategoryEnum;
+import com.schotanus.nobel.reference.ReferenceData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+
+/**
+ * Tests {@link LaureateColumns}.
+ */
+class LaureateColumnsTests {
+
+    private static final int NL = ReferenceData.getCountryId("NL");
+    private static final int DE = ReferenceData.getCountryId("DE");
+
+    private LaureateColumns laureates;
+
+    @BeforeEach
+    void setUp() {
+        laureates = new LaureateColumns();
+        // Physics 1902, shared by Lorentz and Zeeman
+        laureates.append(1902, NobelPrizeCategoryEnum.P, NL, LocalDate.of(1853, 7, 18), 1, 2);
+        laureates.append(1902, NobelPrizeCategoryEnum.P, NL, LocalDate.of(1865, 5, 25), 1, 2);
+        // Physics 1921, Einstein
+        laureates.append(1921, NobelPrizeCategoryEnum.P, DE, LocalDate.of(1879, 3, 14), 1, 1);
+        // Peace 1917, an organization
+        laureates.append(1917, NobelPrizeCategoryEnum.PC, null, null, 1, 1);
+    }
+
+    @Test
+    void allLaureatesShouldBeGroupedByCategory() {
+        final List<LaureateAggregate> aggregates = laureates.aggregate(LaureateFilter.ALL, GroupBy.CATEGORY);
+
+        assertEquals(2, aggregates.size());
+        assertAggregate(aggregates.get(0), "P", 3, 2.0);
+        assertAggregate(aggregates.get(1), "PC", 1, 1.0);
+    }
+
+    @Test
+    void filteredLaureatesShouldBeGroupedByCountry() {
+        final LaureateFilter filter = new LaureateFilter(NobelPrizeCategoryEnum.P, 1900, 1910, null, null, null, null);
+        final List<LaureateAggregate> aggregates = laureates.aggregate(filter, GroupBy.COUNTRY);
+
+        assertEquals(1, aggregates.size());
+        assertAggregate(aggregates.getFirst(), "NL", 2, 1.0);
+    }
+
+    @Test
+    void laureatesShouldBeFilteredByAgeAndShared() {
+        // Lorentz was 49, Zeeman 37 and Einstein 42
+        final LaureateFilter filter = new LaureateFilter(null, null, null, null, 40, 45, null);
+        final List<LaureateAggregate> byAge = laureates.aggregate(filter, GroupBy.AGE);
+        assertEquals(1, byAge.size());
+        assertAggregate(byAge.getFirst(), "42", 1, 1.0);
+
+        final LaureateFilter solo = new LaureateFilter(null, null, null, null, null, null, false);
+        final List<LaureateAggregate> bySolo = laureates.aggregate(solo, GroupBy.SHARED);
+        assertEquals(1, bySolo.size());
+        assertAggregate(bySolo.getFirst(), "solo", 2, 2.0);
+    }
+
+    @Test
+    void largeStoresShouldBeAggregatedInParallel() {
+        final LaureateColumns large = new LaureateColumns();
+        for (int index = 0; index < LaureateColumns.PARALLEL_THRESHOLD * 2 + 1; index++) {
+            large.append(1901 + index % 100, NobelPrizeCategoryEnum.values()[index % 6], NL, null, 1, 3);
+        }
+
+        final List<LaureateAggregate> aggregates = large.aggregate(LaureateFilter.ALL, GroupBy.DECADE);
+        assertEquals(11, aggregates.size());
+        assertEquals(large.size(), aggregates.stream().mapToInt(LaureateAggregate::getLaureateCount).sum());
+        assertTrue(large.aggregate(new LaureateFilter(null, null, null, null, 0, null, null), GroupBy.AGE).isEmpty());
+    }
+
+    private static void assertAggregate(
+            final LaureateAggregate aggregate, final String key, final int laureateCount, final double prizeShare) {
+        assertEquals(key, aggregate.getKey());
+        assertEquals(laureateCount, aggregate.getLaureateCount());
+        assertEquals(prizeShare, aggregate.getPrizeShare(), 1e-9);
+    }
+
+}
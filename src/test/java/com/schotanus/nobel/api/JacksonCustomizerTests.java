@@ -0,0 +1,68 @@
+package com.schotanus.nobel.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.schotanus.nobel.model.NobelPrize;
+import com.schotanus.nobel.model.NobelPrizeCategoryEnum;
+import com.schotanus.nobel.model.NobelPrizeLaureate;
+import com.schotanus.nobel.model.Organization;
+import com.schotanus.nobel.model.Person;
+import com.schotanus.nobel.util.PersonBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+
+/**
+ * Tests {@link JacksonCustomizer}.
+ * The customized object mapper must produce exactly the same JSON as the default one.
+ */
+class JacksonCustomizerTests {
+
+    @Test
+    void customizedJsonShouldEqualDefaultJson() throws JsonProcessingException {
+        final ObjectMapper defaultMapper = createObjectMapper();
+        final ObjectMapper customizedMapper = createObjectMapper();
+        new JacksonCustomizer().customize(customizedMapper);
+
+        final List<NobelPrize> nobelPrizes = List.of(createNobelPrize());
+
+        assertEquals(defaultMapper.writeValueAsString(nobelPrizes), customizedMapper.writeValueAsString(nobelPrizes));
+        assertEquals(nobelPrizes, List.of(customizedMapper.readValue(
+            customizedMapper.writeValueAsString(nobelPrizes.getFirst()), NobelPrize.class)));
+    }
+
+    private static ObjectMapper createObjectMapper() {
+        return new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static NobelPrize createNobelPrize() {
+        final Person person = new PersonBuilder().description("Physicist").url("https://example.com").build();
+        final NobelPrizeLaureate personLaureate = new NobelPrizeLaureate();
+        personLaureate.setPerson(person);
+        personLaureate.setFractionNominator(1);
+        personLaureate.setFractionDenominator(2);
+
+        final Organization organization = new Organization();
+        organization.setOrganizationIdentifier("test-organization");
+        organization.setName("Organization");
+        final NobelPrizeLaureate organizationLaureate = new NobelPrizeLaureate();
+        organizationLaureate.setOrganization(organization);
+        organizationLaureate.setFractionNominator(1);
+        organizationLaureate.setFractionDenominator(2);
+
+        final NobelPrize nobelPrize = new NobelPrize();
+        nobelPrize.setCategory(NobelPrizeCategoryEnum.P);
+        nobelPrize.setYear(1901);
+        nobelPrize.setLaureates(List.of(personLaureate, organizationLaureate));
+
+        return nobelPrize;
+    }
+
+}
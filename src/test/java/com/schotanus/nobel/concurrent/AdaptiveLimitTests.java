@@ -0,0 +1,93 @@
+package com.schotanus.nobel.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * Tests {@link AdaptiveLimit}.
+ */
+class AdaptiveLimitTests {
+
+    private static final long RTT = 10_000_000;
+
+    private final AdaptiveLimit limit = new AdaptiveLimit(10, 2, 100);
+
+    @Test
+    void callsBeyondTheLimitShouldBeRejected() {
+        for (int call = 0; call < 10; call++) {
+            assertTrue(limit.tryAcquire());
+        }
+        assertFalse(limit.tryAcquire());
+        assertEquals(10, limit.getInFlight());
+
+        limit.release(RTT, false);
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    void limitShouldGrowWhileLatencyIsStable() {
+        runFullyUtilized(RTT, 50);
+
+        assertTrue(limit.getLimit() > 10);
+    }
+
+    @Test
+    void limitShouldShrinkWhenLatencyIncreases() {
+        runFullyUtilized(RTT, 50);
+        final int stableLimit = limit.getLimit();
+
+        runFullyUtilized(RTT * 10, 20);
+
+        assertTrue(limit.getLimit() < stableLimit);
+    }
+
+    @Test
+    void limitShouldStayWithinBounds() {
+        runFullyUtilized(RTT, 1000);
+        assertEquals(100, limit.getLimit());
+
+        for (int call = 0; call < 100; call++) {
+            limit.tryAcquire();
+            limit.release(RTT, true);
+        }
+        assertEquals(2, limit.getLimit());
+    }
+
+    @Test
+    void limitShouldNotGrowWhenIdle() {
+        for (int call = 0; call < 100; call++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(RTT, false);
+        }
+
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    void invalidLimitsShouldBeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveLimit(1, 2, 100));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveLimit(10, 0, 100));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveLimit(10, 20, 5));
+    }
+
+    /**
+     * Starts as many calls as the limit allows and completes them all with the supplied latency, several rounds.
+     */
+    private void runFullyUtilized(final long rttNanos, final int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int calls = 0;
+            while (limit.tryAcquire()) {
+                calls++;
+            }
+            for (int call = 0; call < calls; call++) {
+                limit.release(rttNanos, false);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,182 @@
+package com.schotanus.nobel.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Tests {@link SingleFlight}.
+ */
+class SingleFlightTests {
+
+    private static final int FOLLOWERS = 8;
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final SingleFlight<String, Object> singleFlight = new SingleFlight<>("test", registry);
+
+    @Test
+    void concurrentCallsWithTheSameKeyShouldBeCoalesced() throws Exception {
+        final AtomicInteger executions = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+        final Object result = new Object();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final Future<Object> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                executions.incrementAndGet();
+                await(release);
+                return result;
+            }));
+            awaitInFlight();
+
+            final List<Future<Object>> followers = new ArrayList<>();
+            for (int follower = 0; follower < FOLLOWERS; follower++) {
+                followers.add(executor.submit(() -> singleFlight.execute("key", () -> {
+                    executions.incrementAndGet();
+                    return new Object();
+                })));
+            }
+            awaitCount("coalesced", FOLLOWERS);
+            release.countDown();
+
+            assertSame(result, leader.get());
+            for (Future<Object> follower : followers) {
+                assertSame(result, follower.get());
+            }
+        }
+
+        assertEquals(1, executions.get());
+        assertEquals(1, count("executed"));
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    void sequentialCallsShouldAllBeExecuted() {
+        final AtomicInteger executions = new AtomicInteger();
+
+        singleFlight.execute("key", executions::incrementAndGet);
+        singleFlight.execute("key", executions::incrementAndGet);
+        singleFlight.execute("other", executions::incrementAndGet);
+
+        assertEquals(3, executions.get());
+        assertEquals(0, count("coalesced"));
+    }
+
+    @Test
+    void exceptionShouldBeSharedWithCoalescedCalls() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final Future<Object> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                await(release);
+                throw new IllegalStateException("Failed");
+            }));
+            awaitInFlight();
+            final Future<Object> follower = executor.submit(() -> singleFlight.execute("key", Object::new));
+            awaitCount("coalesced", 1);
+            release.countDown();
+
+            final ExecutionException leaderException = assertThrows(ExecutionException.class, leader::get);
+            final ExecutionException followerException = assertThrows(ExecutionException.class, follower::get);
+            assertSame(leaderException.getCause(), followerException.getCause());
+        }
+
+        // The failed call is no longer in flight
+        assertEquals("ok", singleFlight.execute("key", () -> "ok"));
+    }
+
+    @Test
+    void callerShouldNotWaitBeyondItsMaximumWait() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final Future<Object> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                await(release);
+                return "leader";
+            }));
+            awaitInFlight();
+
+            // The follower executes the call itself, instead of waiting for the leader
+            assertEquals("follower", singleFlight.execute("key", Duration.ofMillis(10), () -> "follower"));
+            assertEquals(2, count("executed"));
+
+            release.countDown();
+            assertEquals("leader", leader.get());
+        }
+    }
+
+    @Test
+    void callerSpecificFailureShouldNotBeShared() throws Exception {
+        final SingleFlight<String, Object> deadlineAware = new SingleFlight<>("test", registry,
+            exception -> exception instanceof CallerSpecificException);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final Future<Object> leader = executor.submit(() -> deadlineAware.execute("key", () -> {
+                await(release);
+                throw new CallerSpecificException();
+            }));
+            while (deadlineAware.inFlight() == 0) {
+                Thread.sleep(1);
+            }
+            final Future<Object> follower = executor.submit(() -> deadlineAware.execute("key", () -> "follower"));
+            awaitCount("coalesced", 1);
+            release.countDown();
+
+            assertThrows(ExecutionException.class, leader::get);
+            // The follower executes the call itself, instead of failing with the leader
+            assertEquals("follower", follower.get());
+        }
+        assertEquals(0, deadlineAware.inFlight());
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (singleFlight.inFlight() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private void awaitCount(final String type, final int expected) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (count(type) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private long count(final String type) {
+        return (long) registry.get("nobel.single.flight.calls").tag("operation", "test").tag("type", type)
+            .counter().count();
+    }
+
+    /**
+     * A failure of the caller that executed the call only, like its deadline passing.
+     */
+    private static final class CallerSpecificException extends RuntimeException {
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+    }
+
+}
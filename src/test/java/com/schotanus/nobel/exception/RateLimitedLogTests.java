@@ -0,0 +1,38 @@
+package com.schotanus.nobel.exception;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Tests {@link RateLimitedLog}.
+ */
+class RateLimitedLogTests {
+
+    private long now = TimeUnit.SECONDS.toNanos(100);
+
+    private final RateLimitedLog log = new RateLimitedLog(2, () -> now);
+
+    @Test
+    void messagesBeyondTheLimitShouldBeSuppressed() {
+        assertEquals(0, log.tryAcquire());
+        assertEquals(0, log.tryAcquire());
+        assertEquals(-1, log.tryAcquire());
+        assertEquals(-1, log.tryAcquire());
+    }
+
+    @Test
+    void suppressedMessagesShouldBeReportedInTheNextSecond() {
+        for (int message = 0; message < 5; message++) {
+            log.tryAcquire();
+        }
+
+        now += TimeUnit.SECONDS.toNanos(1);
+        assertEquals(3, log.tryAcquire());
+        assertEquals(0, log.tryAcquire());
+        assertEquals(-1, log.tryAcquire());
+    }
+}
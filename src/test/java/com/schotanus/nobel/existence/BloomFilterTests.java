@@ -0,0 +1,62 @@
+package com.schotanus.nobel.existence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * Tests {@link BloomFilter}.
+ */
+class BloomFilterTests {
+
+    private static final int VALUES = 10_000;
+
+    @Test
+    void addedValuesShouldAlwaysBeFound() {
+        final BloomFilter filter = new BloomFilter(VALUES, 0.01);
+        for (int value = 0; value < VALUES; value++) {
+            filter.add("person" + value);
+        }
+
+        for (int value = 0; value < VALUES; value++) {
+            assertTrue(filter.mightContain("person" + value));
+        }
+    }
+
+    @Test
+    void falsePositiveRateShouldBeCloseToTheConfiguredProbability() {
+        final BloomFilter filter = new BloomFilter(VALUES, 0.01);
+        for (int value = 0; value < VALUES; value++) {
+            filter.add("person" + value);
+        }
+
+        int falsePositives = 0;
+        for (int value = 0; value < VALUES; value++) {
+            if (filter.mightContain("organization" + value)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < VALUES * 0.02, "False positives: " + falsePositives);
+        assertEquals(0.01, filter.estimateFalsePositiveProbability(), 0.005);
+    }
+
+    @Test
+    void emptyFilterShouldContainNothing() {
+        final BloomFilter filter = new BloomFilter(VALUES, 0.01);
+
+        assertFalse(filter.mightContain("person"));
+        assertEquals(0, filter.estimateFalsePositiveProbability());
+        assertEquals(7, filter.getNumberOfHashes());
+    }
+
+    @Test
+    void invalidParametersShouldFail() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(VALUES, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(VALUES, 1));
+    }
+}
@@ -0,0 +1,121 @@
+package com.schotanus.nobel.existence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+
+/**
+ * Tests {@link ExistenceIndex}.
+ */
+class ExistenceIndexTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private long now;
+
+    private final ExistenceIndex index = new ExistenceIndex(
+        "person", registry, 0.01, 2, Duration.ofSeconds(60), () -> now);
+
+    @Test
+    void everyIdentifierShouldExistUntilTheIndexIsBuilt() {
+        assertFalse(index.isBuilt());
+        assertTrue(index.mightExist("unknown"));
+
+        index.recordMissing("unknown", index.startLookup());
+        assertTrue(index.mightExist("unknown"));
+    }
+
+    @Test
+    void unknownIdentifiersShouldBeRejected() {
+        index.rebuild(2, () -> List.of("einstein", "curie"));
+
+        assertTrue(index.mightExist("einstein"));
+        assertTrue(index.mightExist("curie"));
+        assertFalse(index.mightExist("unknown"));
+        assertEquals(1, registry.get("nobel.existence.rejected").tag("index", "person").counter().count());
+    }
+
+    @Test
+    void addedIdentifiersShouldExist() {
+        index.rebuild(0, List::of);
+        index.add("einstein");
+
+        assertTrue(index.mightExist("einstein"));
+    }
+
+    @Test
+    void missingIdentifiersShouldBeCachedUntilTheyExpire() {
+        index.rebuild(0, List::of);
+        index.add("einstein");
+        index.recordMissing("einstein", index.startLookup());
+
+        assertFalse(index.mightExist("einstein"));
+        now += Duration.ofSeconds(61).toNanos();
+        assertTrue(index.mightExist("einstein"));
+    }
+
+    @Test
+    void everyIdentifierShouldExistOnceTheIndexIsInvalidated() {
+        index.rebuild(1, () -> List.of("einstein"));
+        index.invalidate();
+
+        assertFalse(index.isBuilt());
+        assertTrue(index.mightExist("unknown"));
+
+        index.rebuild(1, () -> List.of("einstein"));
+        assertFalse(index.mightExist("unknown"));
+    }
+
+    @Test
+    void missingIdentifiersShouldNoLongerBeCachedOnceAdded() {
+        index.rebuild(0, List::of);
+        index.add("einstein");
+        index.recordMissing("einstein", index.startLookup());
+        index.add("einstein");
+
+        assertTrue(index.mightExist("einstein"));
+    }
+
+    @Test
+    void identifiersAddedDuringALookupShouldNotBeCachedAsMissing() {
+        index.rebuild(0, List::of);
+        final long lookup = index.startLookup();
+        index.add("einstein");
+        index.recordMissing("einstein", lookup);
+
+        assertTrue(index.mightExist("einstein"));
+    }
+
+    @Test
+    void negativeCacheShouldBeBounded() {
+        index.rebuild(0, List::of);
+        for (String identifier : List.of("einstein", "curie", "bohr")) {
+            index.add(identifier);
+            index.recordMissing(identifier, index.startLookup());
+        }
+
+        assertTrue(index.mightExist("einstein"));
+        assertFalse(index.mightExist("curie"));
+        assertFalse(index.mightExist("bohr"));
+        assertEquals(0.6, registry.get("nobel.existence.false.positive.rate").tag("index", "person").gauge().value());
+    }
+
+    @Test
+    void identifiersAddedDuringARebuildShouldExist() {
+        index.rebuild(0, List::of);
+        index.rebuild(1, () -> {
+            index.add("curie");
+            return List.of("einstein");
+        });
+
+        assertTrue(index.mightExist("einstein"));
+        assertTrue(index.mightExist("curie"));
+    }
+}
@@ -0,0 +1,142 @@
+package com.schotanus.nobel.grpc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Tests {@link FlowControlledSender}.
+ */
+class FlowControlledSenderTests {
+
+    private final TestObserver observer = new TestObserver();
+
+    @Test
+    void messageShouldBeSentWhenTheClientIsReady() {
+        observer.ready = true;
+        new FlowControlledSender<>(observer, Duration.ofSeconds(10), Duration.ofSeconds(10)).send("message");
+
+        assertEquals(List.of("message"), observer.messages);
+    }
+
+    @Test
+    void messageShouldBeSentOnceTheClientBecomesReady() throws InterruptedException {
+        final FlowControlledSender<String> sender =
+            new FlowControlledSender<>(observer, Duration.ofSeconds(10), Duration.ofSeconds(10));
+        final Thread client = Thread.ofVirtual().start(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            observer.ready = true;
+            observer.onReadyHandler.run();
+        });
+        sender.send("message");
+        client.join();
+
+        assertEquals(List.of("message"), observer.messages);
+    }
+
+    @Test
+    void stalledClientShouldEndTheStream() {
+        final FlowControlledSender<String> sender =
+            new FlowControlledSender<>(observer, Duration.ofMillis(50), Duration.ofSeconds(10));
+
+        final StatusRuntimeException exception =
+            assertThrows(StatusRuntimeException.class, () -> sender.send("message"));
+        assertEquals(Status.Code.DEADLINE_EXCEEDED, exception.getStatus().getCode());
+        assertEquals(List.of(), observer.messages);
+    }
+
+    @Test
+    void streamShouldEndAtItsDeadline() {
+        observer.ready = true;
+        final FlowControlledSender<String> sender =
+            new FlowControlledSender<>(observer, Duration.ofSeconds(10), Duration.ZERO);
+
+        final StatusRuntimeException exception =
+            assertThrows(StatusRuntimeException.class, () -> sender.send("message"));
+        assertEquals(Status.Code.DEADLINE_EXCEEDED, exception.getStatus().getCode());
+    }
+
+    @Test
+    void cancelledCallShouldEndTheStream() {
+        observer.cancelled = true;
+        final FlowControlledSender<String> sender =
+            new FlowControlledSender<>(observer, Duration.ofSeconds(10), Duration.ofSeconds(10));
+
+        final StatusRuntimeException exception =
+            assertThrows(StatusRuntimeException.class, () -> sender.send("message"));
+        assertEquals(Status.Code.CANCELLED, exception.getStatus().getCode());
+    }
+
+    /**
+     * Observer of a call, of which the test controls readiness and cancellation.
+     */
+    private static final class TestObserver extends ServerCallStreamObserver<String> {
+
+        private final List<String> messages = new ArrayList<>();
+        private volatile boolean ready;
+        private volatile boolean cancelled;
+        private Runnable onReadyHandler;
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void setOnCancelHandler(Runnable onCancelHandler) {
+        }
+
+        @Override
+        public void setCompression(String compression) {
+        }
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void setOnReadyHandler(Runnable onReadyHandler) {
+            this.onReadyHandler = onReadyHandler;
+        }
+
+        @Override
+        public void disableAutoInboundFlowControl() {
+        }
+
+        @Override
+        public void request(int count) {
+        }
+
+        @Override
+        public void setMessageCompression(boolean enable) {
+        }
+
+        @Override
+        public void onNext(String message) {
+            messages.add(message);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onCompleted() {
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.schotanus.nobel.reference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.schotanus.nobel.model.NobelPrizeCategory;
+import com.schotanus.nobel.model.NobelPrizeCategoryEnum;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+
+/**
+ * Tests {@link ReferenceData}.
+ * The expected primary keys are the ones used by the Liquibase csv files.
+ */
+class ReferenceDataTests {
+
+    @Test
+    void existingCountriesShouldBeFound() {
+        assertEquals(60, ReferenceData.getCountryId("DE"));
+        assertEquals(173, ReferenceData.getCountryId("NL"));
+        assertEquals("NL", ReferenceData.getCountryCode(173));
+    }
+
+    @Test
+    void nonExistingCountriesShouldNotBeFound() {
+        assertNull(ReferenceData.getCountryId("QQ"));
+        assertNull(ReferenceData.getCountryCode(0));
+        assertNull(ReferenceData.getCountryCode(ReferenceData.getMaxCountryId() + 1));
+    }
+
+    @Test
+    void allCategoriesShouldBeFound() {
+        assertEquals(1, ReferenceData.getCategoryId(NobelPrizeCategoryEnum.P));
+        assertEquals(6, ReferenceData.getCategoryId(NobelPrizeCategoryEnum.E));
+        assertEquals(NobelPrizeCategoryEnum.E, ReferenceData.getCategoryCode(6));
+        assertNull(ReferenceData.getCategoryCode(0));
+
+        final List<NobelPrizeCategory> categories = ReferenceData.getCategories();
+        assertEquals(NobelPrizeCategoryEnum.values().length, categories.size());
+        assertEquals("Chemistry", categories.getFirst().getDescription());
+    }
+
+    @Test
+    void categoryShouldBeFoundByCode() {
+        final NobelPrizeCategory category = ReferenceData.getCategory("PC");
+        assertEquals(NobelPrizeCategoryEnum.PC, category.getCode());
+        assertEquals("Peace", category.getDescription());
+        assertNull(ReferenceData.getCategory("X"));
+    }
+
+}